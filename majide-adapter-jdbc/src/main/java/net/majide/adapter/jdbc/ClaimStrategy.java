@@ -0,0 +1,10 @@
+package net.majide.adapter.jdbc;
+
+/** 단건 선점(claim) SQL 전략 */
+public enum ClaimStrategy {
+    /** 락 SELECT → UPDATE (→ 재조회): 순수 SQL, 라운드트립 2~3회 */
+    SELECT_THEN_UPDATE,
+
+    /** PL/SQL 익명 블록(SKIP LOCKED 커서 + UPDATE ... RETURNING INTO): 라운드트립 1회 */
+    PLSQL_RETURNING
+}
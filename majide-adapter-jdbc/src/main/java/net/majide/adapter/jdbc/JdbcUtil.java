@@ -1,7 +1,13 @@
 package net.majide.adapter.jdbc;
 
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.Optional;
 
 public final class JdbcUtil {
     private JdbcUtil() {}
@@ -9,4 +15,26 @@ public final class JdbcUtil {
     public static Timestamp ts(Instant i) { return i == null ? null : Timestamp.from(i); }
 
     public static Instant toInstant(Timestamp ts) { return ts == null ? null : ts.toInstant(); }
-}
\ No newline at end of file
+
+    /** IN 절 바인드 자리표시자: placeholders(3) → "?,?,?" */
+    public static String placeholders(int n) {
+        if (n <= 0) throw new IllegalArgumentException("n must be positive: " + n);
+        return String.join(",", Collections.nCopies(n, "?"));
+    }
+
+    /**
+     * 시각 식까지 남은 밀리초(NUMBER)를 구하는 SQL 식. 뺄셈을 DB 안에서 해 노드/DB 시계 차이와 세션 타임존 영향을 없앰.
+     * 식이 NULL이면 결과도 NULL
+     */
+    public static String millisUntil(String timestampExpr) {
+        String d = "(" + timestampExpr + " - CURRENT_TIMESTAMP)";
+        return "(EXTRACT(DAY FROM " + d + ") * 86400000 + EXTRACT(HOUR FROM " + d + ") * 3600000"
+                + " + EXTRACT(MINUTE FROM " + d + ") * 60000 + EXTRACT(SECOND FROM " + d + ") * 1000)";
+    }
+
+    /** millisUntil 컬럼 → Duration (NULL이면 empty) */
+    public static Optional<Duration> toDurationMillis(ResultSet rs, int col) throws SQLException {
+        BigDecimal ms = rs.getBigDecimal(col);
+        return ms == null ? Optional.empty() : Optional.of(Duration.ofMillis(ms.longValue()));
+    }
+}
@@ -0,0 +1,10 @@
+package net.majide.adapter.jdbc;
+
+/** JobRun 준비 시 TaskRun 일괄 생성 SQL 전략 */
+public enum MaterializeStrategy {
+    /** MERGE ... USING (SELECT FROM TB_TASK): 태스크 수와 무관하게 라운드트립 1회 */
+    SET_BASED,
+
+    /** 태스크/선행 수 조회 1회 + 행 단위 MERGE를 JDBC 배치로 1회 전송 (MERGE USING 서브쿼리가 안 되는 방언용) */
+    JDBC_BATCH
+}
@@ -3,6 +3,7 @@ package net.majide.adapter.jdbc.mapper;
 import net.majide.adapter.jdbc.JdbcUtil;
 import net.majide.core.model.*;
 import java.sql.*;
+import java.util.List;
 
 public final class RowMappers {
     private RowMappers() {}
@@ -18,12 +19,34 @@ public final class RowMappers {
                 JdbcUtil.toInstant(rs.getTimestamp("LEASE_UNTIL")),
                 "Y".equals(rs.getString("ENABLED")),
                 rs.getTimestamp("CREATED_AT").toInstant(),
-                rs.getTimestamp("UPDATED_AT").toInstant()
+                rs.getTimestamp("UPDATED_AT").toInstant(),
+                Job.OverlapPolicy.from(rs.getString("OVERLAP_POLICY")),
+                rs.getInt("MAX_CONCURRENT_RUNS")
+        );
+    }
+
+    // --- Job (PL/SQL OUT 바인드: ID..UPDATED_AT, OVERLAP_POLICY, MAX_CONCURRENT_RUNS 순서, from부터 11개) ---
+    public static Job toJob(CallableStatement cs, int from) throws SQLException {
+        int i = from;
+        return new Job(
+                cs.getLong(i++),
+                cs.getString(i++),
+                cs.getString(i++),
+                cs.getString(i++),
+                cs.getTimestamp(i++).toInstant(),
+                JdbcUtil.toInstant(cs.getTimestamp(i++)),
+                "Y".equals(cs.getString(i++)),
+                cs.getTimestamp(i++).toInstant(),
+                cs.getTimestamp(i++).toInstant(),
+                Job.OverlapPolicy.from(cs.getString(i++)),
+                cs.getInt(i)
         );
     }
 
     // --- JobRun ---
     public static JobRun toJobRun(ResultSet rs) throws SQLException {
+        Integer priority = rs.getInt("PRIORITY");
+        if (rs.wasNull()) priority = null;
         return new JobRun(
                 rs.getLong("ID"),
                 rs.getLong("JOB_ID"),
@@ -33,7 +56,8 @@ public final class RowMappers {
                 rs.getTimestamp("UPDATED_AT").toInstant(),
                 rs.getTimestamp("DEADLINE_AT").toInstant(),
                 JdbcUtil.toInstant(rs.getTimestamp("STARTED_AT")),
-                JdbcUtil.toInstant(rs.getTimestamp("FINISHED_AT"))
+                JdbcUtil.toInstant(rs.getTimestamp("FINISHED_AT")),
+                priority
         );
     }
 
@@ -51,12 +75,17 @@ public final class RowMappers {
                 rs.getString("DESCRIPTION"),
                 indegree,
                 rs.getTimestamp("CREATED_AT").toInstant(),
-                rs.getTimestamp("UPDATED_AT").toInstant()
+                rs.getTimestamp("UPDATED_AT").toInstant(),
+                rs.getInt("PRIORITY"),
+                rs.getString("RESOURCE_POOL"),
+                rs.getString("ORDERING_KEY")
         );
     }
 
     // --- TaskRun
     public static TaskRun toTaskRun(ResultSet rs) throws SQLException {
+        Integer workerId = rs.getInt("WORKER_ID"); // 슬롯 0도 유효 → NULL 구분
+        if (rs.wasNull()) workerId = null;
         return new TaskRun(
                 rs.getLong("ID"),
                 rs.getLong("JOB_RUN_ID"),
@@ -65,14 +94,57 @@ public final class RowMappers {
                 rs.getLong("ATTEMPT"),
                 rs.getInt("PRE_CNT"),
                 rs.getInt("DONE_CNT"),
-                rs.getInt("WORKER_ID"),
+                workerId,
                 JdbcUtil.toInstant(rs.getTimestamp("AVAILABLE_AT")),
                 JdbcUtil.toInstant(rs.getTimestamp("LEASE_UNTIL")),
                 JdbcUtil.toInstant(rs.getTimestamp("STARTED_AT")),
                 JdbcUtil.toInstant(rs.getTimestamp("FINISHED_AT")),
                 rs.getTimestamp("CREATED_AT").toInstant(),
                 rs.getTimestamp("UPDATED_AT").toInstant(),
-                rs.getString("LAST_ERROR")
+                rs.getString("LAST_ERROR"),
+                rs.getString("ORDERING_KEY")
+        );
+    }
+
+    // --- TaskRun (PL/SQL OUT 바인드: TASK_RUN_OUT 순서, from부터) ---
+    /** RETURNING/OUT 바인드 컬럼 목록 — toTaskRun(cs, from)이 읽는 순서와 같음 (선점 경로는 이 목록으로 SQL 조립) */
+    public static final List<String> TASK_RUN_OUT = List.of(
+            "ID", "JOB_RUN_ID", "TASK_ID", "STATUS", "ATTEMPT", "PRE_CNT", "DONE_CNT", "WORKER_ID",
+            "AVAILABLE_AT", "LEASE_UNTIL", "STARTED_AT", "FINISHED_AT", "CREATED_AT", "UPDATED_AT", "LAST_ERROR",
+            "ORDERING_KEY");
+
+    private static final int[] TASK_RUN_OUT_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR,
+            Types.VARCHAR
+    };
+
+    /** TASK_RUN_OUT 순서로 from부터 OUT 파라미터 등록 */
+    public static void registerTaskRunOut(CallableStatement cs, int from) throws SQLException {
+        for (int k = 0; k < TASK_RUN_OUT_TYPES.length; k++) cs.registerOutParameter(from + k, TASK_RUN_OUT_TYPES[k]);
+    }
+
+    public static TaskRun toTaskRun(CallableStatement cs, int from) throws SQLException {
+        Integer workerId = cs.getInt(from + 7); // 슬롯 0도 유효 → NULL 구분
+        if (cs.wasNull()) workerId = null;
+        int i = from + 8;
+        return new TaskRun(
+                cs.getLong(from),
+                cs.getLong(from + 1),
+                cs.getLong(from + 2),
+                TaskRun.Status.from(cs.getString(from + 3)),
+                cs.getLong(from + 4),
+                cs.getInt(from + 5),
+                cs.getInt(from + 6),
+                workerId,
+                JdbcUtil.toInstant(cs.getTimestamp(i++)),
+                JdbcUtil.toInstant(cs.getTimestamp(i++)),
+                JdbcUtil.toInstant(cs.getTimestamp(i++)),
+                JdbcUtil.toInstant(cs.getTimestamp(i++)),
+                cs.getTimestamp(i++).toInstant(),
+                cs.getTimestamp(i++).toInstant(),
+                cs.getString(i++),
+                cs.getString(i)
         );
     }
 
@@ -89,4 +161,13 @@ public final class RowMappers {
                 rs.getTimestamp("UPDATED_AT").toInstant()
         );
     }
+
+    // --- RateLimit ---
+    public static RateLimit toRateLimit(ResultSet rs) throws SQLException {
+        return new RateLimit(
+                rs.getString("HANDLER_KEY"),
+                rs.getDouble("RATE_PER_SEC"),
+                rs.getInt("BURST")
+        );
+    }
 }
@@ -1,5 +1,7 @@
 package net.majide.adapter.jdbc.repo;
 
+import net.majide.adapter.jdbc.ClaimStrategy;
+import net.majide.adapter.jdbc.JdbcUtil;
 import net.majide.adapter.jdbc.TxContext;
 import net.majide.adapter.jdbc.mapper.RowMappers;
 import net.majide.core.model.Job;
@@ -9,15 +11,80 @@ import javax.sql.DataSource;
 import java.sql.*;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public final class JdbcJobRepository implements JobRepository {
     private final DataSource ds;
+    private final ClaimStrategy claimStrategy;
 
-    public JdbcJobRepository(DataSource ds) { this.ds = ds; }
+    public JdbcJobRepository(DataSource ds) { this(ds, ClaimStrategy.PLSQL_RETURNING); }
+
+    public JdbcJobRepository(DataSource ds, ClaimStrategy claimStrategy) {
+        this.ds = ds;
+        this.claimStrategy = claimStrategy;
+    }
 
     @Override
     public Optional<Job> claimDueJob(Duration lease, String owner) throws Exception {
+        return switch (claimStrategy) {
+            case PLSQL_RETURNING -> claimDueJobReturning(lease);
+            case SELECT_THEN_UPDATE -> claimDueJobSelectThenUpdate(lease);
+        };
+    }
+
+    /** 단일 라운드트립 선점: SKIP LOCKED 커서 fetch + UPDATE ... RETURNING INTO (OUT 바인드) */
+    private Optional<Job> claimDueJobReturning(Duration lease) throws Exception {
+        try (CallableStatement cs = mustConn().prepareCall("""
+            DECLARE
+                CURSOR c_due IS
+                    SELECT  j.ROWID
+                    FROM    TB_JOB j
+                    WHERE   j.ENABLED = 'Y'
+                      AND   j.NEXT_DUE_AT <= CURRENT_TIMESTAMP
+                      AND  (j.LEASE_UNTIL IS NULL OR j.LEASE_UNTIL <= CURRENT_TIMESTAMP)
+                    ORDER BY j.NEXT_DUE_AT ASC, j.ID ASC
+                    FOR UPDATE SKIP LOCKED;
+                v_rid ROWID;
+                r     TB_JOB%ROWTYPE;
+            BEGIN
+                OPEN c_due;
+                FETCH c_due INTO v_rid;
+                IF c_due%FOUND THEN
+                    UPDATE TB_JOB
+                       SET LEASE_UNTIL = CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'),
+                           UPDATED_AT  = CURRENT_TIMESTAMP
+                     WHERE ROWID = v_rid
+                    RETURNING ID, NAME, DESCRIPTION, CRON_EXPR, NEXT_DUE_AT, LEASE_UNTIL, ENABLED, CREATED_AT, UPDATED_AT,
+                              OVERLAP_POLICY, MAX_CONCURRENT_RUNS
+                         INTO r.ID, r.NAME, r.DESCRIPTION, r.CRON_EXPR, r.NEXT_DUE_AT, r.LEASE_UNTIL, r.ENABLED, r.CREATED_AT, r.UPDATED_AT,
+                              r.OVERLAP_POLICY, r.MAX_CONCURRENT_RUNS;
+                END IF;
+                CLOSE c_due;
+                ? := r.ID;          ? := r.NAME;        ? := r.DESCRIPTION;
+                ? := r.CRON_EXPR;   ? := r.NEXT_DUE_AT; ? := r.LEASE_UNTIL;
+                ? := r.ENABLED;     ? := r.CREATED_AT;  ? := r.UPDATED_AT;
+                ? := r.OVERLAP_POLICY;                  ? := r.MAX_CONCURRENT_RUNS;
+            END;
+        """)) {
+            cs.setInt(1, (int) lease.toSeconds());
+            int[] types = {
+                    Types.BIGINT, Types.VARCHAR, Types.VARCHAR,
+                    Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP,
+                    Types.CHAR, Types.TIMESTAMP, Types.TIMESTAMP,
+                    Types.VARCHAR, Types.INTEGER
+            };
+            for (int k = 0; k < types.length; k++) cs.registerOutParameter(2 + k, types[k]);
+            cs.execute();
+            cs.getLong(2);
+            if (cs.wasNull()) return Optional.empty();
+            return Optional.of(RowMappers.toJob(cs, 2));
+        }
+    }
+
+    /** 레거시 경로: 락 SELECT → UPDATE (라운드트립 2회) */
+    private Optional<Job> claimDueJobSelectThenUpdate(Duration lease) throws Exception {
         Connection c = TxContext.get();
         if (c == null) throw new IllegalStateException("TxContext required");
 
@@ -57,6 +124,89 @@ public final class JdbcJobRepository implements JobRepository {
         }
     }
 
+    /**
+     * 배치 선점: 라운드트립 2회(락 SELECT / 집합 UPDATE)로 due Job 최대 limit개에 lease 설정.
+     * 반환 행의 LEASE_UNTIL은 갱신 전 값 (claimDueJob 레거시 경로와 동일)
+     */
+    @Override
+    public List<Job> claimDueJobs(int limit, Duration lease, String owner) throws Exception {
+        if (limit <= 0) return List.of();
+        Connection c = mustConn();
+
+        List<Job> picked = new ArrayList<>(limit);
+        try (var ps = c.prepareStatement("""
+            SELECT  j.*
+            FROM    TB_JOB j
+            WHERE   j.ROWID IN (
+                SELECT rid
+                FROM (
+                    SELECT  j2.ROWID AS rid
+                    FROM    TB_JOB j2
+                    WHERE   j2.ENABLED = 'Y'
+                      AND   j2.NEXT_DUE_AT <= CURRENT_TIMESTAMP
+                      AND  (j2.LEASE_UNTIL IS NULL OR j2.LEASE_UNTIL <= CURRENT_TIMESTAMP)
+                    ORDER BY j2.NEXT_DUE_AT ASC, j2.ID ASC
+                    FETCH FIRST ? ROWS ONLY
+                )
+            )
+            FOR UPDATE OF j.LEASE_UNTIL SKIP LOCKED
+        """)) {
+            ps.setInt(1, limit);
+            try (var rs = ps.executeQuery()) {
+                while (rs.next()) picked.add(RowMappers.toJob(rs));
+            }
+        }
+        if (picked.isEmpty()) return List.of();
+
+        try (var up = c.prepareStatement("""
+            UPDATE TB_JOB
+               SET LEASE_UNTIL = CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'),
+                   UPDATED_AT  = CURRENT_TIMESTAMP
+             WHERE ID IN (%s)
+        """.formatted(JdbcUtil.placeholders(picked.size())))) {
+            int i = 1;
+            up.setInt(i++, (int) lease.toSeconds());
+            for (Job j : picked) up.setLong(i++, j.id());
+            up.executeUpdate();
+        }
+        return picked;
+    }
+
+    /** 인덱스(ENABLED, NEXT_DUE_AT) 범위 1회. 선점 중이면 lease 만료 전에는 다시 잡을 수 없으므로 늦은 쪽 기준 */
+    @Override
+    public Optional<Duration> timeUntilNextDue() throws Exception {
+        try (var ps = mustConn().prepareStatement("""
+            SELECT %s
+            FROM (
+                SELECT MIN(CASE WHEN LEASE_UNTIL > NEXT_DUE_AT THEN LEASE_UNTIL ELSE NEXT_DUE_AT END) AS next_at
+                FROM   TB_JOB
+                WHERE  ENABLED = 'Y'
+            )
+        """.formatted(JdbcUtil.millisUntil("next_at")));
+             var rs = ps.executeQuery()) {
+            rs.next();
+            return JdbcUtil.toDurationMillis(rs, 1);
+        }
+    }
+
+    /** IX_TB_JOB_UPDATED 범위 스캔 (변경 없으면 빈 결과 1회) */
+    @Override
+    public List<Job> findUpdatedSince(Instant since) throws Exception {
+        List<Job> out = new ArrayList<>();
+        try (var ps = mustConn().prepareStatement("""
+            SELECT *
+            FROM   TB_JOB
+            WHERE  UPDATED_AT >= ?
+            ORDER BY UPDATED_AT, ID
+        """)) {
+            ps.setTimestamp(1, JdbcUtil.ts(since));
+            try (var rs = ps.executeQuery()) {
+                while (rs.next()) out.add(RowMappers.toJob(rs));
+            }
+        }
+        return out;
+    }
+
     @Override
     public void advanceCursor(long jobId, Instant nextDueAt) throws Exception {
         Connection c = TxContext.get();
@@ -72,6 +222,21 @@ public final class JdbcJobRepository implements JobRepository {
         }
     }
 
+    /** UPDATED_AT도 갱신 → 타이밍 휠 증분이 새 LEASE_UNTIL을 만기로 다시 등록 */
+    @Override
+    public void deferClaim(long jobId, Duration recheck) throws Exception {
+        try (var ps = mustConn().prepareStatement("""
+            UPDATE TB_JOB
+               SET LEASE_UNTIL = CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'),
+                   UPDATED_AT  = CURRENT_TIMESTAMP
+             WHERE ID = ?
+        """)) {
+            ps.setDouble(1, recheck.toMillis() / 1000.0);
+            ps.setLong(2, jobId);
+            ps.executeUpdate();
+        }
+    }
+
     @Override
     public Optional<Job> findById(long id) throws Exception {
         final Connection c = TxContext.get();
@@ -146,7 +311,8 @@ public final class JdbcJobRepository implements JobRepository {
     }
 
     @Override
-    public Job upsert(String name, String description, String cronExpr, Instant nextDueAt, boolean enabled) throws Exception {
+    public Job upsert(String name, String description, String cronExpr, Instant nextDueAt, boolean enabled,
+                      Integer priority) throws Exception {
         // Oracle MERGE (name 유니크 기준)
         var sql = """
             MERGE INTO TB_JOB d
@@ -157,10 +323,11 @@ public final class JdbcJobRepository implements JobRepository {
                  CRON_EXPR   = ?,
                  NEXT_DUE_AT = ?,
                  ENABLED     = ?,
+                 PRIORITY    = COALESCE(?, PRIORITY),
                  UPDATED_AT  = SYSTIMESTAMP
             WHEN NOT MATCHED THEN INSERT
-                 (NAME, DESCRIPTION, CRON_EXPR, NEXT_DUE_AT, ENABLED, CREATED_AT, UPDATED_AT)
-            VALUES (?,    ?,           ?,         ?,          ?,       SYSTIMESTAMP, SYSTIMESTAMP)
+                 (NAME, DESCRIPTION, CRON_EXPR, NEXT_DUE_AT, ENABLED, PRIORITY,       CREATED_AT,   UPDATED_AT)
+            VALUES (?,    ?,           ?,         ?,          ?,       COALESCE(?, 0), SYSTIMESTAMP, SYSTIMESTAMP)
             """;
 
         try (var ps = mustConn().prepareStatement(sql)) {
@@ -170,17 +337,55 @@ public final class JdbcJobRepository implements JobRepository {
             ps.setString(i++, cronExpr);
             ps.setTimestamp(i++, Timestamp.from(nextDueAt));
             ps.setString(i++, enabled ? "Y" : "N");
+            if (priority == null) ps.setNull(i++, Types.INTEGER); else ps.setInt(i++, priority);
             ps.setString(i++, name);
             ps.setString(i++, description);
             ps.setString(i++, cronExpr);
             ps.setTimestamp(i++, Timestamp.from(nextDueAt));
             ps.setString(i++, enabled ? "Y" : "N");
+            if (priority == null) ps.setNull(i++, Types.INTEGER); else ps.setInt(i++, priority);
             ps.executeUpdate();
         }
         // 갱신된 행을 다시 로드해서 반환
         return findByName(name).orElseThrow(() -> new IllegalStateException("upsert failed to load job: " + name));
     }
 
+    /** SHARE_GROUP/SHARE_WEIGHT 갱신 (UPDATED_AT도 올림 → 휠 증분이 한 번 더 읽지만 만기는 그대로) */
+    @Override
+    public void updateShare(long jobId, String shareGroup, int shareWeight) throws Exception {
+        if (shareWeight <= 0) throw new IllegalArgumentException("shareWeight must be positive: " + shareWeight);
+        try (PreparedStatement ps = mustConn().prepareStatement("""
+                UPDATE TB_JOB
+                   SET SHARE_GROUP  = ?,
+                       SHARE_WEIGHT = ?,
+                       UPDATED_AT   = CURRENT_TIMESTAMP
+                 WHERE ID = ?
+                """)) {
+            ps.setString(1, shareGroup);
+            ps.setInt(2, shareWeight);
+            ps.setLong(3, jobId);
+            ps.executeUpdate();
+        }
+    }
+
+    /** OVERLAP_POLICY/MAX_CONCURRENT_RUNS 갱신 (다음 틱부터 반영) */
+    @Override
+    public void updateOverlap(long jobId, Job.OverlapPolicy policy, int maxConcurrentRuns) throws Exception {
+        if (maxConcurrentRuns <= 0) throw new IllegalArgumentException("maxConcurrentRuns must be positive: " + maxConcurrentRuns);
+        try (PreparedStatement ps = mustConn().prepareStatement("""
+                UPDATE TB_JOB
+                   SET OVERLAP_POLICY      = ?,
+                       MAX_CONCURRENT_RUNS = ?,
+                       UPDATED_AT          = CURRENT_TIMESTAMP
+                 WHERE ID = ?
+                """)) {
+            ps.setString(1, policy.code());
+            ps.setInt(2, maxConcurrentRuns);
+            ps.setLong(3, jobId);
+            ps.executeUpdate();
+        }
+    }
+
     private Connection mustConn() {
         var c = TxContext.get();
         if (c == null) throw new IllegalStateException("TxContext required (wrap with JdbcTxRunner)");
@@ -7,6 +7,9 @@ import net.majide.core.spi.JobRunRepository;
 
 import javax.sql.DataSource;
 import java.sql.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public final class JdbcJobRunRepository implements JobRunRepository {
@@ -33,20 +36,24 @@ public final class JdbcJobRunRepository implements JobRunRepository {
      * - 반환은 최신 행을 SELECT해서 매핑.
      */
     @Override
-    public JobRun upsert(long jobId, String runKey, JobRun.Status initialStatus) throws Exception {
+    public JobRun upsert(long jobId, String runKey, JobRun.Status initialStatus, Integer priority) throws Exception {
         try (PreparedStatement ps = mustConn().prepareStatement(
                 """
                 MERGE INTO TB_JOB_RUN d
-                USING (SELECT ? JOB_ID, ? RUN_KEY FROM dual) s
+                USING (SELECT ? JOB_ID, ? RUN_KEY, CAST(? AS NUMBER(5,0)) PRIORITY FROM dual) s
                    ON (d.JOB_ID = s.JOB_ID AND d.RUN_KEY = s.RUN_KEY)
+                 WHEN MATCHED THEN
+                   UPDATE SET d.PRIORITY = s.PRIORITY, d.UPDATED_AT = CURRENT_TIMESTAMP
+                    WHERE s.PRIORITY IS NOT NULL
                  WHEN NOT MATCHED THEN
-                   INSERT (JOB_ID, RUN_KEY, STATUS, CREATED_AT, UPDATED_AT, DEADLINE_AT)
-                   VALUES (s.JOB_ID, s.RUN_KEY, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP + NUMTODSINTERVAL(3600,'SECOND'))
+                   INSERT (JOB_ID, RUN_KEY, STATUS, PRIORITY, CREATED_AT, UPDATED_AT, DEADLINE_AT)
+                   VALUES (s.JOB_ID, s.RUN_KEY, ?, s.PRIORITY, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP + NUMTODSINTERVAL(3600,'SECOND'))
                 """
         )) {
             ps.setLong(1, jobId);
             ps.setString(2, runKey);
-            ps.setString(3, initialStatus.code());
+            if (priority == null) ps.setNull(3, Types.INTEGER); else ps.setInt(3, priority);
+            ps.setString(4, initialStatus.code());
             ps.executeUpdate();
         }
         // 멱등 결과 읽어오기
@@ -103,4 +110,101 @@ public final class JdbcJobRunRepository implements JobRunRepository {
             ps.executeUpdate();
         }
     }
+
+    @Override
+    public List<JobRun> claimUnprepared(Duration grace, int limit) throws Exception {
+        try (PreparedStatement ps = mustConn().prepareStatement(
+                """
+                SELECT  jr.*
+                FROM    TB_JOB_RUN jr
+                WHERE   jr.ROWID IN (
+                    SELECT rid
+                    FROM (
+                        SELECT  jr2.ROWID AS rid
+                        FROM    TB_JOB_RUN jr2
+                        WHERE   jr2.STATUS = 'CREATED'
+                          AND   jr2.CREATED_AT <= CURRENT_TIMESTAMP - NUMTODSINTERVAL(?, 'SECOND')
+                          AND   NOT EXISTS (SELECT 1 FROM TB_TASK_RUN tr WHERE tr.JOB_RUN_ID = jr2.ID)
+                          AND   EXISTS (SELECT 1 FROM TB_TASK t WHERE t.JOB_ID = jr2.JOB_ID)
+                        ORDER BY jr2.CREATED_AT ASC, jr2.ID ASC
+                        FETCH FIRST ? ROWS ONLY
+                    )
+                )
+                FOR UPDATE OF jr.STATUS SKIP LOCKED
+                """
+        )) {
+            ps.setLong(1, grace.toSeconds());
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<JobRun> list = new ArrayList<>();
+                while (rs.next()) list.add(RowMappers.toJobRun(rs));
+                return list;
+            }
+        }
+    }
+
+    /**
+     * IX_JOB_RUN_JOB_STATUS 범위 + JobRun별 TaskRun 존재 확인.
+     * TaskRun이 없는 JobRun은 DEADLINE_AT 전까지만 준비 중으로 봄 (아카이브로 TaskRun이 지워진 옛 실행 제외)
+     */
+    @Override
+    public List<JobRun> findActive(long jobId, String exceptRunKey) throws Exception {
+        try (PreparedStatement ps = mustConn().prepareStatement(
+                """
+                SELECT  jr.*
+                FROM    TB_JOB_RUN jr
+                WHERE   jr.JOB_ID = ?
+                  AND   jr.STATUS IN ('CREATED','RUNNING')
+                  AND   jr.RUN_KEY <> ?
+                  AND  (EXISTS (SELECT 1 FROM TB_TASK_RUN tr
+                                 WHERE tr.JOB_RUN_ID = jr.ID AND tr.STATUS IN ('BLOCKED','READY','RUNNING'))
+                        OR (jr.DEADLINE_AT > CURRENT_TIMESTAMP
+                            AND NOT EXISTS (SELECT 1 FROM TB_TASK_RUN tr WHERE tr.JOB_RUN_ID = jr.ID)
+                            AND EXISTS (SELECT 1 FROM TB_TASK t WHERE t.JOB_ID = jr.JOB_ID)))
+                ORDER BY jr.CREATED_AT ASC, jr.ID ASC
+                """
+        )) {
+            ps.setLong(1, jobId);
+            ps.setString(2, exceptRunKey);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<JobRun> list = new ArrayList<>();
+                while (rs.next()) list.add(RowMappers.toJobRun(rs));
+                return list;
+            }
+        }
+    }
+
+    /** TaskRun 먼저 정리 (RUNNING이던 것도 heartbeat 연장/완료 전파 대상에서 빠짐) 후 JobRun 종료 */
+    @Override
+    public int cancel(long jobRunId) throws Exception {
+        int cancelled;
+        try (PreparedStatement ps = mustConn().prepareStatement(
+                """
+                UPDATE TB_TASK_RUN
+                   SET STATUS      = 'CANCELLED',
+                       LEASE_UNTIL = NULL,
+                       FINISHED_AT = CURRENT_TIMESTAMP,
+                       UPDATED_AT  = CURRENT_TIMESTAMP
+                 WHERE JOB_RUN_ID = ?
+                   AND STATUS IN ('BLOCKED','READY','RUNNING')
+                """
+        )) {
+            ps.setLong(1, jobRunId);
+            cancelled = ps.executeUpdate();
+        }
+        try (PreparedStatement ps = mustConn().prepareStatement(
+                """
+                UPDATE TB_JOB_RUN
+                   SET STATUS      = 'CANCELLED',
+                       FINISHED_AT = CURRENT_TIMESTAMP,
+                       UPDATED_AT  = CURRENT_TIMESTAMP
+                 WHERE ID = ?
+                   AND STATUS IN ('CREATED','RUNNING')
+                """
+        )) {
+            ps.setLong(1, jobRunId);
+            ps.executeUpdate();
+        }
+        return cancelled;
+    }
 }
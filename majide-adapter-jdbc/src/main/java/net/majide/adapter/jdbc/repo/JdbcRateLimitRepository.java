@@ -0,0 +1,115 @@
+package net.majide.adapter.jdbc.repo;
+
+import net.majide.adapter.jdbc.JdbcUtil;
+import net.majide.adapter.jdbc.TxContext;
+import net.majide.adapter.jdbc.mapper.RowMappers;
+import net.majide.core.model.RateLimit;
+import net.majide.core.spi.RateLimitRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class JdbcRateLimitRepository implements RateLimitRepository {
+    private final DataSource ds;
+
+    public JdbcRateLimitRepository(DataSource ds) {
+        this.ds = ds;
+    }
+
+    private Connection mustConn() {
+        Connection c = TxContext.get();
+        if (c == null) throw new IllegalStateException("TxContext required (wrap with JdbcTxRunner)");
+        return c;
+    }
+
+    @Override
+    public void define(String handlerKey, double permitsPerSecond, int burst) throws Exception {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be > 0: " + permitsPerSecond);
+        if (burst < 1) throw new IllegalArgumentException("burst must be >= 1: " + burst);
+        try (var ps = mustConn().prepareStatement("""
+            MERGE INTO TB_RATE_LIMIT d
+            USING (SELECT ? AS HANDLER_KEY, ? AS RATE_PER_SEC, ? AS BURST FROM dual) s
+               ON (d.HANDLER_KEY = s.HANDLER_KEY)
+             WHEN MATCHED THEN UPDATE SET
+                   RATE_PER_SEC = s.RATE_PER_SEC,
+                   BURST        = s.BURST,
+                   TOKENS       = LEAST(d.TOKENS, s.BURST),
+                   UPDATED_AT   = CURRENT_TIMESTAMP
+             WHEN NOT MATCHED THEN
+               INSERT (HANDLER_KEY, RATE_PER_SEC, BURST, TOKENS, REFILLED_AT, CREATED_AT, UPDATED_AT)
+               VALUES (s.HANDLER_KEY, s.RATE_PER_SEC, s.BURST, s.BURST, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+        """)) {
+            ps.setString(1, handlerKey);
+            ps.setDouble(2, permitsPerSecond);
+            ps.setInt(3, burst);
+            ps.executeUpdate();
+        }
+    }
+
+    @Override
+    public List<RateLimit> findAll() throws Exception {
+        try (var ps = mustConn().prepareStatement("SELECT * FROM TB_RATE_LIMIT ORDER BY HANDLER_KEY");
+             var rs = ps.executeQuery()) {
+            List<RateLimit> out = new ArrayList<>();
+            while (rs.next()) out.add(RowMappers.toRateLimit(rs));
+            return out;
+        }
+    }
+
+    /**
+     * 한 블록에서: 행 락 → 경과 시간만큼 보충(BURST에서 자름) → 정수 토큰 최대 wanted개 차감.
+     * 경과 시간은 DB 시계로 계산 (노드 시계 차이 무관)
+     */
+    @Override
+    public int take(String handlerKey, int wanted) throws Exception {
+        if (wanted <= 0) return 0;
+        try (var cs = mustConn().prepareCall("""
+            DECLARE
+                v_tokens  NUMBER;
+                v_granted PLS_INTEGER := 0;
+            BEGIN
+                BEGIN
+                    SELECT LEAST(BURST, TOKENS + RATE_PER_SEC * GREATEST(-%s, 0) / 1000)
+                      INTO v_tokens
+                      FROM TB_RATE_LIMIT
+                     WHERE HANDLER_KEY = ?
+                       FOR UPDATE;
+                    v_granted := LEAST(?, FLOOR(v_tokens));
+                    UPDATE TB_RATE_LIMIT
+                       SET TOKENS      = v_tokens - v_granted,
+                           REFILLED_AT = CURRENT_TIMESTAMP,
+                           UPDATED_AT  = CURRENT_TIMESTAMP
+                     WHERE HANDLER_KEY = ?;
+                EXCEPTION
+                    WHEN NO_DATA_FOUND THEN NULL;
+                END;
+                ? := v_granted;
+            END;
+        """.formatted(JdbcUtil.millisUntil("REFILLED_AT")))) {
+            cs.setString(1, handlerKey);
+            cs.setInt(2, wanted);
+            cs.setString(3, handlerKey);
+            cs.registerOutParameter(4, Types.INTEGER);
+            cs.execute();
+            return cs.getInt(4);
+        }
+    }
+
+    @Override
+    public void refund(String handlerKey, int tokens) throws Exception {
+        if (tokens <= 0) return;
+        try (var ps = mustConn().prepareStatement("""
+            UPDATE TB_RATE_LIMIT
+               SET TOKENS     = LEAST(BURST, TOKENS + ?),
+                   UPDATED_AT = CURRENT_TIMESTAMP
+             WHERE HANDLER_KEY = ?
+        """)) {
+            ps.setInt(1, tokens);
+            ps.setString(2, handlerKey);
+            ps.executeUpdate();
+        }
+    }
+}
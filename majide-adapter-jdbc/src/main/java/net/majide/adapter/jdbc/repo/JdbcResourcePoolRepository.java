@@ -0,0 +1,103 @@
+package net.majide.adapter.jdbc.repo;
+
+import net.majide.adapter.jdbc.TxContext;
+import net.majide.core.spi.ResourcePoolRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+public final class JdbcResourcePoolRepository implements ResourcePoolRepository {
+    private final DataSource ds;
+
+    public JdbcResourcePoolRepository(DataSource ds) {
+        this.ds = ds;
+    }
+
+    private Connection mustConn() {
+        Connection c = TxContext.get();
+        if (c == null) throw new IllegalStateException("TxContext required (wrap with JdbcTxRunner)");
+        return c;
+    }
+
+    /**
+     * 퍼밋 보유 조건 (alias = TB_RESOURCE_PERMIT 별칭): 보유 TaskRun이 있고, lease가 살아 있고, 그 TaskRun이 RUNNING.
+     * LEASE_UNTIL NULL = TaskRun이 슬롯 lease를 상속한 경우 → RUNNING인 동안 유효.
+     * 완료/재시도/회수로 RUNNING을 벗어나면 반납 없이도 빈 자리 (NOT held = 임차 가능)
+     */
+    static String held(String alias) {
+        return ("(%1$s.TASK_RUN_ID IS NOT NULL AND (%1$s.LEASE_UNTIL IS NULL OR %1$s.LEASE_UNTIL > CURRENT_TIMESTAMP)"
+                + " AND EXISTS (SELECT 1 FROM TB_TASK_RUN pr WHERE pr.ID = %1$s.TASK_RUN_ID AND pr.STATUS = 'RUNNING'))")
+                .formatted(alias);
+    }
+
+    /**
+     * 임차 가능한 퍼밋 (alias = TB_RESOURCE_PERMIT 별칭): 보유 중이 아니고 현재 한도 안의 번호.
+     * 한도를 줄일 때 보유 중이던 초과 번호(은퇴 퍼밋)는 끝날 때까지 남지만 다시 임차되지 않음
+     */
+    static String free(String alias) {
+        return ("(NOT %2$s AND %1$s.PERMIT_NO < (SELECT rp.MAX_PERMITS FROM TB_RESOURCE_POOL rp WHERE rp.POOL_NAME = %1$s.POOL_NAME))")
+                .formatted(alias, held(alias));
+    }
+
+    /** 풀의 남은 자리 = 한도 - 보유 중(은퇴 퍼밋 포함), 0 미만이면 0 (poolExpr = 풀 이름 SQL 식) */
+    static String freeCount(String poolExpr) {
+        return ("GREATEST(NVL((SELECT rp.MAX_PERMITS FROM TB_RESOURCE_POOL rp WHERE rp.POOL_NAME = %1$s), 0)"
+                + " - (SELECT COUNT(*) FROM TB_RESOURCE_PERMIT hp WHERE hp.POOL_NAME = %1$s AND %2$s), 0)")
+                .formatted(poolExpr, held("hp"));
+    }
+
+    @Override
+    public void define(String pool, int maxPermits) throws Exception {
+        if (maxPermits < 0) throw new IllegalArgumentException("maxPermits must be >= 0: " + maxPermits);
+        Connection c = mustConn();
+        try (var ps = c.prepareStatement("""
+            MERGE INTO TB_RESOURCE_POOL d
+            USING (SELECT ? AS POOL_NAME, ? AS MAX_PERMITS FROM dual) s
+               ON (d.POOL_NAME = s.POOL_NAME)
+             WHEN MATCHED THEN UPDATE SET
+                   MAX_PERMITS = s.MAX_PERMITS,
+                   UPDATED_AT  = CURRENT_TIMESTAMP
+             WHEN NOT MATCHED THEN
+               INSERT (POOL_NAME, MAX_PERMITS, CREATED_AT, UPDATED_AT)
+               VALUES (s.POOL_NAME, s.MAX_PERMITS, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+        """)) {
+            ps.setString(1, pool);
+            ps.setInt(2, maxPermits);
+            ps.executeUpdate();
+        }
+        // 줄인 경우: 비어 있는 초과 번호만 삭제. 보유 중인 건 은퇴 퍼밋으로 남겨 끝날 때까지 inUse에 잡히게
+        // (지우면 진행 중인 실행이 풀 밖으로 빠져 새 선점이 한도를 넘김) — 다시 임차되지 않고 다음 define에서 정리
+        try (var ps = c.prepareStatement(
+                "DELETE FROM TB_RESOURCE_PERMIT p WHERE p.POOL_NAME = ? AND p.PERMIT_NO >= ? AND NOT " + held("p"))) {
+            ps.setString(1, pool);
+            ps.setInt(2, maxPermits);
+            ps.executeUpdate();
+        }
+        if (maxPermits == 0) return;
+        // 늘린 경우: 빠진 번호만 채움
+        try (var ps = c.prepareStatement("""
+            INSERT INTO TB_RESOURCE_PERMIT (POOL_NAME, PERMIT_NO, UPDATED_AT)
+            SELECT ?, n.PERMIT_NO, CURRENT_TIMESTAMP
+            FROM  (SELECT LEVEL - 1 AS PERMIT_NO FROM dual CONNECT BY LEVEL <= ?) n
+            WHERE NOT EXISTS (SELECT 1 FROM TB_RESOURCE_PERMIT p
+                               WHERE p.POOL_NAME = ? AND p.PERMIT_NO = n.PERMIT_NO)
+        """)) {
+            ps.setString(1, pool);
+            ps.setInt(2, maxPermits);
+            ps.setString(3, pool);
+            ps.executeUpdate();
+        }
+    }
+
+    @Override
+    public int inUse(String pool) throws Exception {
+        try (var ps = mustConn().prepareStatement(
+                "SELECT COUNT(*) FROM TB_RESOURCE_PERMIT p WHERE p.POOL_NAME = ? AND " + held("p"))) {
+            ps.setString(1, pool);
+            try (var rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
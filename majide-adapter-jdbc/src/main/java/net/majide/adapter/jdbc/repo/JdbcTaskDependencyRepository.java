@@ -6,9 +6,6 @@ import net.majide.core.spi.TaskDependencyRepository;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.List;
 
 public final class JdbcTaskDependencyRepository implements TaskDependencyRepository {
     private final DataSource ds;
@@ -52,34 +49,4 @@ public final class JdbcTaskDependencyRepository implements TaskDependencyReposit
             ps.executeUpdate();
         }
     }
-
-    /** 주어진 taskId의 선행(predecessors) 목록 = PRE_TASK_ID */
-    @Override
-    public List<Long> findPredecessors(long taskId) throws Exception {
-        try (PreparedStatement ps = mustConn().prepareStatement(
-                "SELECT PRE_TASK_ID FROM TB_TASK_DEP WHERE POST_TASK_ID=? ORDER BY PRE_TASK_ID"
-        )) {
-            ps.setLong(1, taskId);
-            try (ResultSet rs = ps.executeQuery()) {
-                List<Long> list = new ArrayList<>();
-                while (rs.next()) list.add(rs.getLong(1));
-                return list;
-            }
-        }
-    }
-
-    /** 주어진 taskId의 후행(successors) 목록 = POST_TASK_ID */
-    @Override
-    public List<Long> findSuccessors(long taskId) throws Exception {
-        try (PreparedStatement ps = mustConn().prepareStatement(
-                "SELECT POST_TASK_ID FROM TB_TASK_DEP WHERE PRE_TASK_ID=? ORDER BY POST_TASK_ID"
-        )) {
-            ps.setLong(1, taskId);
-            try (ResultSet rs = ps.executeQuery()) {
-                List<Long> list = new ArrayList<>();
-                while (rs.next()) list.add(rs.getLong(1));
-                return list;
-            }
-        }
-    }
 }
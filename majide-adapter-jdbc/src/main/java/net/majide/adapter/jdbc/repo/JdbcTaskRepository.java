@@ -27,6 +27,17 @@ public final class JdbcTaskRepository implements TaskRepository {
 
     private static Instant toInstant(Timestamp ts) { return ts == null ? null : ts.toInstant(); }
 
+    @Override
+    public Optional<Task> findById(long id) throws Exception {
+        try (PreparedStatement ps = mustConn().prepareStatement(
+                "SELECT * FROM TB_TASK WHERE ID=?")) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Optional.of(RowMappers.toTask(rs)) : Optional.empty();
+            }
+        }
+    }
+
     @Override
     public Optional<Task> findByJobAndName(long jobId, String taskName) throws Exception {
         try (PreparedStatement ps = mustConn().prepareStatement(
@@ -54,7 +65,7 @@ public final class JdbcTaskRepository implements TaskRepository {
 
     /**
      * (JOB_ID, TASK_NAME) 유니크 기반 멱등 upsert.
-     * - 존재 시: handler/class/method/description/indegree 갱신 + UPDATED_AT bump
+     * - 존재 시: handler/class/method/description/indegree/resourcePool/orderingKey(/priority 지정 시) 갱신 + UPDATED_AT bump
      * - 미존재 시: INSERT + CREATED_AT/UPDATED_AT 세팅
      */
     @Override
@@ -73,10 +84,13 @@ public final class JdbcTaskRepository implements TaskRepository {
                        METHOD_NAME = ?,
                        DESCRIPTION = ?,
                        INDEGREE    = ?,
+                       PRIORITY    = COALESCE(?, PRIORITY),
+                       RESOURCE_POOL = ?,
+                       ORDERING_KEY  = ?,
                        UPDATED_AT  = CURRENT_TIMESTAMP
                  WHEN NOT MATCHED THEN
-                   INSERT (JOB_ID, TASK_NAME, HANDLER_KEY, CLASS_FQN, METHOD_NAME, DESCRIPTION, INDEGREE, CREATED_AT, UPDATED_AT)
-                   VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                   INSERT (JOB_ID, TASK_NAME, HANDLER_KEY, CLASS_FQN, METHOD_NAME, DESCRIPTION, INDEGREE, PRIORITY, RESOURCE_POOL, ORDERING_KEY, CREATED_AT, UPDATED_AT)
+                   VALUES (?, ?, ?, ?, ?, ?, ?, COALESCE(?, 0), ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
                 """
         )) {
             // MATCHED UPDATE params
@@ -87,15 +101,21 @@ public final class JdbcTaskRepository implements TaskRepository {
             ps.setString(5, task.methodName());
             ps.setString(6, task.description());
             if (task.indegree() == null) ps.setNull(7, Types.INTEGER); else ps.setInt(7, task.indegree());
+            if (task.priority() == null) ps.setNull(8, Types.INTEGER); else ps.setInt(8, task.priority());
+            ps.setString(9, task.resourcePool());
+            ps.setString(10, task.orderingKey());
 
             // NOT MATCHED INSERT params
-            ps.setLong(8, task.jobId());
-            ps.setString(9, task.name());
-            ps.setString(10, task.handlerKey());
-            ps.setString(11, task.classFqn());
-            ps.setString(12, task.methodName());
-            ps.setString(13, task.description());
-            if (task.indegree() == null) ps.setNull(14, Types.INTEGER); else ps.setInt(14, task.indegree());
+            ps.setLong(11, task.jobId());
+            ps.setString(12, task.name());
+            ps.setString(13, task.handlerKey());
+            ps.setString(14, task.classFqn());
+            ps.setString(15, task.methodName());
+            ps.setString(16, task.description());
+            if (task.indegree() == null) ps.setNull(17, Types.INTEGER); else ps.setInt(17, task.indegree());
+            if (task.priority() == null) ps.setNull(18, Types.INTEGER); else ps.setInt(18, task.priority());
+            ps.setString(19, task.resourcePool());
+            ps.setString(20, task.orderingKey());
 
             ps.executeUpdate();
         }
@@ -1,9 +1,12 @@
 package net.majide.adapter.jdbc.repo;
 
+import net.majide.adapter.jdbc.ClaimStrategy;
 import net.majide.adapter.jdbc.JdbcUtil;
+import net.majide.adapter.jdbc.MaterializeStrategy;
 import net.majide.adapter.jdbc.TxContext;
 import net.majide.adapter.jdbc.mapper.RowMappers;
 import net.majide.core.model.TaskRun;
+import net.majide.core.spi.ClaimSpec;
 import net.majide.core.spi.TaskRunRepository;
 
 import javax.sql.DataSource;
@@ -14,7 +17,20 @@ import java.util.*;
 
 public final class JdbcTaskRunRepository implements TaskRunRepository {
     private final DataSource ds;
-    public JdbcTaskRunRepository(DataSource ds) { this.ds = ds; }
+    private final ClaimStrategy claimStrategy;
+    private final MaterializeStrategy materializeStrategy;
+
+    public JdbcTaskRunRepository(DataSource ds) { this(ds, ClaimStrategy.PLSQL_RETURNING); }
+
+    public JdbcTaskRunRepository(DataSource ds, ClaimStrategy claimStrategy) {
+        this(ds, claimStrategy, MaterializeStrategy.SET_BASED);
+    }
+
+    public JdbcTaskRunRepository(DataSource ds, ClaimStrategy claimStrategy, MaterializeStrategy materializeStrategy) {
+        this.ds = ds;
+        this.claimStrategy = claimStrategy;
+        this.materializeStrategy = materializeStrategy;
+    }
 
     private Connection mustConn() {
         Connection c = TxContext.get();
@@ -24,6 +40,85 @@ public final class JdbcTaskRunRepository implements TaskRunRepository {
 
     @Override
     public Optional<TaskRun> claimReady(Duration lease, String workerToken) throws Exception {
+        return claimOne(ClaimSpec.of(1, lease, workerToken));
+    }
+
+    /** 단건 선점 (배치 경로와 같이 WORKER_ID 기록, 슬롯 lease 상속이면 LEASE_UNTIL NULL) */
+    private Optional<TaskRun> claimOne(ClaimSpec spec) throws Exception {
+        return switch (claimStrategy) {
+            case PLSQL_RETURNING -> claimReadyReturning(spec);
+            case SELECT_THEN_UPDATE -> claimReadySelectThenUpdate(spec);
+        };
+    }
+
+    /** 선점 UPDATE의 SET 절 (단건/배치 공통) — 바인드: [lease 초] (상속이 아니면), WORKER_ID, CLAIMED_BY */
+    private static String claimSet(ClaimSpec spec) {
+        return """
+                   SET STATUS='RUNNING',
+                       LEASE_UNTIL = %s,
+                       WORKER_ID   = ?,
+                       CLAIMED_BY  = ?,
+                       STARTED_AT  = COALESCE(STARTED_AT, CURRENT_TIMESTAMP),
+                       UPDATED_AT  = CURRENT_TIMESTAMP
+                """.formatted(spec.inheritsSlotLease() ? "NULL" : "CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND')");
+    }
+
+    /** claimSet 바인드 채움 → 다음 파라미터 번호 */
+    private static int bindClaimSet(PreparedStatement ps, int i, ClaimSpec spec) throws SQLException {
+        if (!spec.inheritsSlotLease()) ps.setInt(i++, (int) spec.lease().toSeconds());
+        if (spec.workerId() != null) ps.setInt(i++, spec.workerId());
+        else ps.setNull(i++, Types.INTEGER);
+        ps.setString(i++, spec.workerToken());
+        return i;
+    }
+
+    /**
+     * 단일 라운드트립 선점: 커서(FOR UPDATE SKIP LOCKED)에서 한 행을 fetch(=락)하고
+     * 같은 블록 안에서 UPDATE ... RETURNING INTO로 전환 결과를 OUT 바인드로 돌려준다.
+     * RETURNING/OUT 컬럼은 RowMappers.TASK_RUN_OUT 하나로 조립 (매퍼와 어긋나지 않도록)
+     */
+    private Optional<TaskRun> claimReadyReturning(ClaimSpec spec) throws Exception {
+        var cols = RowMappers.TASK_RUN_OUT;
+        try (var cs = mustConn().prepareCall("""
+            DECLARE
+                CURSOR c_ready IS
+                    SELECT  tr.ROWID
+                    FROM    TB_TASK_RUN tr
+                    WHERE   tr.STATUS = 'READY'
+                      AND   tr.AVAILABLE_AT <= CURRENT_TIMESTAMP
+                      AND   %s
+                    ORDER BY tr.PRIORITY DESC, tr.AVAILABLE_AT ASC, tr.ID ASC
+                    FOR UPDATE SKIP LOCKED;
+                v_rid ROWID;
+                r     TB_TASK_RUN%%ROWTYPE;
+            BEGIN
+                OPEN c_ready;
+                FETCH c_ready INTO v_rid;
+                IF c_ready%%FOUND THEN
+                    UPDATE TB_TASK_RUN
+                    %s
+                     WHERE ROWID = v_rid
+                    RETURNING %s
+                         INTO %s;
+                END IF;
+                CLOSE c_ready;
+                %s
+            END;
+        """.formatted(orderingHead("tr"), claimSet(spec),
+                String.join(", ", cols),
+                String.join(", ", cols.stream().map(c -> "r." + c).toList()),
+                String.join(" ", cols.stream().map(c -> "? := r." + c + ";").toList())))) {
+            int out = bindClaimSet(cs, 1, spec);
+            RowMappers.registerTaskRunOut(cs, out);
+            cs.execute();
+            cs.getLong(out);
+            if (cs.wasNull()) return Optional.empty();
+            return Optional.of(RowMappers.toTaskRun(cs, out));
+        }
+    }
+
+    /** 레거시 경로: 락 SELECT → UPDATE → 재조회 (라운드트립 3회) */
+    private Optional<TaskRun> claimReadySelectThenUpdate(ClaimSpec spec) throws Exception {
         Connection c = mustConn();
 
         // 1) 하나 픽업
@@ -38,12 +133,13 @@ public final class JdbcTaskRunRepository implements TaskRunRepository {
                     FROM    TB_TASK_RUN tr2
                     WHERE   tr2.STATUS = 'READY'
                       AND   tr2.AVAILABLE_AT <= CURRENT_TIMESTAMP
-                    ORDER BY tr2.AVAILABLE_AT ASC, tr2.ID ASC
+                      AND   %s
+                    ORDER BY tr2.PRIORITY DESC, tr2.AVAILABLE_AT ASC, tr2.ID ASC
                     FETCH FIRST 1 ROWS ONLY
                 )
             )
             FOR UPDATE OF tr.STATUS SKIP LOCKED
-        """)) {
+        """.formatted(orderingHead("tr2")))) {
             try (var rs = ps.executeQuery()) {
                 if (rs.next()) id = rs.getLong(1);
             }
@@ -53,14 +149,10 @@ public final class JdbcTaskRunRepository implements TaskRunRepository {
         // 2) RUNNING 전환
         try (var up = c.prepareStatement("""
             UPDATE TB_TASK_RUN
-               SET STATUS='RUNNING',
-                   LEASE_UNTIL = CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'),
-                   STARTED_AT  = COALESCE(STARTED_AT, CURRENT_TIMESTAMP),
-                   UPDATED_AT  = CURRENT_TIMESTAMP
+            %s
              WHERE ID = ?
-        """)) {
-            up.setInt(1, (int) lease.toSeconds());
-            up.setLong(2, id);
+        """.formatted(claimSet(spec)))) {
+            up.setLong(bindClaimSet(up, 1, spec), id);
             up.executeUpdate();
         }
 
@@ -74,13 +166,455 @@ public final class JdbcTaskRunRepository implements TaskRunRepository {
         }
     }
 
+    /**
+     * 배치 선점: 라운드트립 3회(락 SELECT / 집합 UPDATE / 재조회)로 최대 n개를 RUNNING 전환.
+     * - PRIORITY DESC, AVAILABLE_AT, ID 순 (IX_TASK_RUN_PRIO_READY 범위 스캔)
+     * - SKIP LOCKED로 다른 디스패처가 잡은 행은 건너뜀 → n개 미만 반환 가능
+     * - handlerKeys 지정 시 TB_TASK.HANDLER_KEY(IX_TASK_HANDLER)로 대상 제한
+     *   (methodBound면 CLASS_FQN이 지정된 태스크도 포함)
+     * - partitioned면 자기 슬롯 파티션을 먼저 선점하고, 못 채운 만큼만 전체에서 가져옴(steal)
+     * - fairShare면 같은 PRIORITY 안에서 그룹(JobRun/공유 그룹)별 가중 라운드로빈 순 (RANKED_PICK)
+     * - handlerCaps면 HANDLER_KEY마다 이 노드 벌크헤드의 남은 한도까지만 (RANKED_PICK)
+     * - resourcePools면 RESOURCE_POOL마다 빈 퍼밋 수까지만 후보로 뽑고, 락 후 퍼밋을 임차 (못 받으면 READY 유지)
+     *   단건 claimReady는 풀을 보지 않음 → 풀을 쓰는 배포는 배치 선점으로 디스패치
+     */
     @Override
-    public void heartbeat(long taskRunId, Duration lease) throws Exception {
+    public List<TaskRun> claimReadyBatch(ClaimSpec spec) throws Exception {
+        int n = spec.maxCount();
+        if (n <= 0) return List.of();
+        if (spec.filtersHandlers() && spec.handlerKeys().isEmpty() && !spec.methodBound()) return List.of();
+        if (n == 1 && !spec.filtersHandlers() && !spec.partitionedBySlot() && !spec.fairShared()
+                && !spec.capsHandlers() && !spec.resourcePools()) {
+            return claimOne(spec).map(List::of).orElse(List.of()); // 조건 없는 단건 → 단건 경로 (PLSQL_RETURNING이면 라운드트립 1회)
+        }
+        if (!spec.partitionedBySlot()) return claimBatch(spec, n, false);
+
+        List<TaskRun> own = claimBatch(spec, n, true);
+        if (own.size() >= n) return own;
+        // 핸들러 한도는 자기 파티션에서 쓴 만큼 깎고 steal
+        ClaimSpec rest = spec.capsHandlers() && !own.isEmpty() ? spec.withHandlerCaps(remainingCaps(spec, own)) : spec;
+        List<TaskRun> stolen = claimBatch(rest, n - own.size(), false);
+        if (own.isEmpty()) return stolen;
+        var out = new ArrayList<TaskRun>(own.size() + stolen.size());
+        out.addAll(own);
+        out.addAll(stolen);
+        return out;
+    }
+
+    /** 한도 - 이미 선점한 수 (키별, HANDLER_KEY는 TB_TASK에서 한 번에) */
+    private Map<String, Integer> remainingCaps(ClaimSpec spec, List<TaskRun> claimed) throws SQLException {
+        Map<String, Integer> left = new HashMap<>(spec.handlerCaps());
+        try (var ps = mustConn().prepareStatement("""
+                SELECT t.HANDLER_KEY
+                FROM   TB_TASK_RUN tr
+                JOIN   TB_TASK t ON t.ID = tr.TASK_ID
+                WHERE  tr.ID IN (%s)
+                """.formatted(JdbcUtil.placeholders(claimed.size())))) {
+            int i = 1;
+            for (TaskRun tr : claimed) ps.setLong(i++, tr.id());
+            try (var rs = ps.executeQuery()) {
+                while (rs.next()) left.computeIfPresent(rs.getString(1), (k, v) -> v - 1);
+            }
+        }
+        // 0 이하가 되어도 키는 남김 (hrn <= 0 → 그 키는 더 안 잡음)
+        return left;
+    }
+
+    /**
+     * 순서 키 조건 (alias = 후보 TaskRun): 키가 없거나, 같은 키에 RUNNING이 없고 선점 순서(PRIORITY DESC, AVAILABLE_AT, ID)상
+     * 앞선 선점 가능 READY도 없는 행 = 키마다 맨 앞 한 행만 (IX_TASK_RUN_ORDERING 키당 범위 스캔).
+     * CASE 단락 평가 → NOT EXISTS는 키가 있는 후보에서만 실행 (키 없는 후보는 서브쿼리 없이 통과)
+     * 디스패처마다 핸들러 필터가 달라도 같은 맨 앞 행을 보므로, 동시 선점은 그 행의 SKIP LOCKED에서 갈림
+     */
+    private static String orderingHead(String alias) {
+        return ("(CASE WHEN %1$s.ORDERING_KEY IS NULL THEN 1"
+                + " WHEN NOT EXISTS (SELECT 1 FROM TB_TASK_RUN o WHERE o.ORDERING_KEY = %1$s.ORDERING_KEY"
+                + " AND (o.STATUS = 'RUNNING' OR (o.STATUS = 'READY' AND o.AVAILABLE_AT <= CURRENT_TIMESTAMP"
+                + " AND (o.PRIORITY > %1$s.PRIORITY OR (o.PRIORITY = %1$s.PRIORITY AND (o.AVAILABLE_AT < %1$s.AVAILABLE_AT"
+                + " OR (o.AVAILABLE_AT = %1$s.AVAILABLE_AT AND o.ID < %1$s.ID))))))) THEN 1"
+                + " ELSE 0 END = 1)").formatted(alias);
+    }
+
+    /**
+     * 자기 파티션 조건: 활성 슬롯(토큰 + 미만료)을 WORKER_ID 순으로 세운 순번 = MOD(PARTITION_KEY, 활성 슬롯 수).
+     * 슬롯이 들고 나면 분할이 바뀌고, 자기 슬롯이 만료됐으면 빈 파티션 → steal로 넘어감
+     */
+    private static final String OWN_PARTITION = """
+                      AND   MOD(tr2.PARTITION_KEY, (SELECT GREATEST(COUNT(*), 1) FROM TB_WORKER_SLOT ws
+                                                     WHERE ws.INSTANCE_TOKEN IS NOT NULL AND ws.LEASE_UNTIL > CURRENT_TIMESTAMP))
+                          = (SELECT COUNT(*) FROM TB_WORKER_SLOT ws
+                              WHERE ws.INSTANCE_TOKEN IS NOT NULL AND ws.LEASE_UNTIL > CURRENT_TIMESTAMP AND ws.WORKER_ID < ?)
+                """;
+
+    private static final String FIFO_PICK = """
+                SELECT rid
+                FROM (
+                    SELECT  tr2.ROWID AS rid
+                    FROM    TB_TASK_RUN tr2
+                    %s
+                    ORDER BY tr2.PRIORITY DESC, tr2.AVAILABLE_AT ASC, tr2.ID ASC
+                    FETCH FIRST ? ROWS ONLY
+                )
+            """;
+
+    /**
+     * 순번 기반 후보 (공정 분배 / 핸들러 한도): 후보마다 분석 함수로 순번을 매기고 바깥에서 자르고 정렬.
+     * - 공정 분배: 그룹마다 (AVAILABLE_AT, ID) 순번 rn, rn/가중치 = 가상 시각 → PRIORITY 다음 정렬 키.
+     *   어느 그룹도 n번째 이후 후보는 뽑힐 수 없으므로 rn <= n으로 자름.
+     *   순번은 전체 백로그가 아니라 SHARE_CANDIDATES(JobRun마다 앞 n개)에만 매김 → 정렬량 = JobRun 수 × n.
+     *   틱마다 새로 계산 → 이전 틱의 몫은 이월하지 않음 (큰 JobRun도 매 틱 자기 가중치만큼만)
+     * - 핸들러 한도: HANDLER_KEY마다 선점 순서대로 순번 hrn, hrn <= 그 키의 남은 한도(hcap)만
+     * - 리소스 풀: RESOURCE_POOL마다 선점 순서대로 순번 prn, prn <= 그 풀의 남은 자리(pcap = 한도 - 보유)만 (풀 없는 태스크는 n)
+     */
+    private static final String RANKED_PICK = """
+                SELECT rid
+                FROM (
+                    SELECT  c.rid
+                    FROM (
+                        SELECT  %s AS rid, tr2.ID, tr2.PRIORITY, tr2.AVAILABLE_AT%s
+                        FROM    %s%s
+                        %s
+                    ) c
+                    WHERE   %s
+                    ORDER BY c.PRIORITY DESC, %sc.AVAILABLE_AT ASC, c.ID ASC
+                    FETCH FIRST ? ROWS ONLY
+                )
+            """;
+
+    /**
+     * 공정 분배 후보 (tr2 대체): READY가 있는 JobRun을 IX_TASK_RUN_RUN_READY에서 MIN(JOB_RUN_ID) 반복으로 건너뛰며 열거하고,
+     * JobRun마다 선점 조건(where)을 건 앞 n개만 (같은 인덱스 범위, 정렬 없음).
+     * 한 틱에 어떤 JobRun에서 뽑히는 행은 그 JobRun의 선점 순서상 앞부분 n개 이내 → 순번/가중치 결과는 전체 백로그와 같음
+     * (핸들러 한도/풀로 앞부분이 걸러지면 이번 틱은 덜 뽑고 다음 틱에 이어감)
+     */
+    private static final String SHARE_CANDIDATES = """
+                (
+                            WITH runs (JOB_RUN_ID) AS (
+                                SELECT  MIN(JOB_RUN_ID) FROM TB_TASK_RUN WHERE STATUS = 'READY'
+                                UNION ALL
+                                SELECT  (SELECT MIN(t.JOB_RUN_ID) FROM TB_TASK_RUN t
+                                          WHERE t.STATUS = 'READY' AND t.JOB_RUN_ID > r.JOB_RUN_ID)
+                                FROM    runs r
+                                WHERE   r.JOB_RUN_ID IS NOT NULL
+                            )
+                            SELECT  b.*
+                            FROM    runs r
+                            CROSS APPLY (
+                                SELECT  tr2.ROWID AS RID, tr2.ID, tr2.TASK_ID, tr2.JOB_RUN_ID, tr2.PRIORITY, tr2.AVAILABLE_AT
+                                FROM    TB_TASK_RUN tr2
+                                %s
+                                  AND   tr2.JOB_RUN_ID = r.JOB_RUN_ID
+                                ORDER BY tr2.PRIORITY DESC, tr2.AVAILABLE_AT ASC, tr2.ID ASC
+                                FETCH FIRST ? ROWS ONLY
+                            ) b
+                        ) tr2""";
+
+    /** 후보 SELECT (ROWID 목록) 조립 — binds는 SQL 등장 순서대로 채움 */
+    private static String pickSql(ClaimSpec spec, CharSequence where, List<Object> whereBinds, int n, List<Object> binds) {
+        if (!spec.fairShared() && !spec.capsHandlers() && !spec.resourcePools()) {
+            binds.addAll(whereBinds);
+            binds.add(n);
+            return FIFO_PICK.formatted(where);
+        }
+        StringBuilder cols = new StringBuilder();
+        StringBuilder joins = new StringBuilder();
+        List<String> filters = new ArrayList<>(3);
+        String order = "";
+        if (spec.capsHandlers()) {
+            var caps = spec.handlerCaps();
+            cols.append(",\n                                ROW_NUMBER() OVER (PARTITION BY tk.HANDLER_KEY"
+                    + " ORDER BY tr2.PRIORITY DESC, tr2.AVAILABLE_AT, tr2.ID) AS hrn,"
+                    + "\n                                CASE tk.HANDLER_KEY " + "WHEN ? THEN ? ".repeat(caps.size()) + "ELSE ? END AS hcap");
+            caps.forEach((key, cap) -> { binds.add(key); binds.add(Math.max(cap, 0)); });
+            binds.add(n); // 한도 없는 키
+            filters.add("c.hrn <= c.hcap");
+        }
+        if (spec.resourcePools()) {
+            cols.append(",\n                                ROW_NUMBER() OVER (PARTITION BY tk.RESOURCE_POOL"
+                    + " ORDER BY tr2.PRIORITY DESC, tr2.AVAILABLE_AT, tr2.ID) AS prn,"
+                    + "\n                                CASE WHEN tk.RESOURCE_POOL IS NULL THEN ?"
+                    + " ELSE " + JdbcResourcePoolRepository.freeCount("tk.RESOURCE_POOL") + " END AS pcap");
+            binds.add(n); // 풀 없는 태스크
+            filters.add("c.prn <= c.pcap");
+        }
+        if (spec.capsHandlers() || spec.resourcePools()) {
+            joins.append("\n                        JOIN    TB_TASK tk    ON tk.ID = tr2.TASK_ID");
+        }
+        if (spec.fairShared()) {
+            boolean byGroup = spec.fairShare() == ClaimSpec.FairShare.GROUP;
+            String share = byGroup ? "NVL(j.SHARE_GROUP, j.NAME)" : "tr2.JOB_RUN_ID";
+            String weight = byGroup ? "MAX(j.SHARE_WEIGHT) OVER (PARTITION BY NVL(j.SHARE_GROUP, j.NAME))" : "j.SHARE_WEIGHT";
+            cols.append(",\n                                ROW_NUMBER() OVER (PARTITION BY tr2.PRIORITY, " + share
+                    + " ORDER BY tr2.AVAILABLE_AT, tr2.ID) AS rn,"
+                    + "\n                                " + weight + " AS weight");
+            joins.append("\n                        JOIN    TB_JOB_RUN jr ON jr.ID = tr2.JOB_RUN_ID"
+                    + "\n                        JOIN    TB_JOB j      ON j.ID  = jr.JOB_ID");
+            filters.add("c.rn <= ?");
+            order = "c.rn / c.weight ASC, ";
+        }
+        binds.addAll(whereBinds);
+        if (spec.fairShared()) {
+            binds.add(n); // JobRun마다 앞 n개
+            binds.add(n); // rn <= n
+            binds.add(n);
+            return RANKED_PICK.formatted("tr2.RID", cols, SHARE_CANDIDATES.formatted(where).strip(), joins, "",
+                    String.join(" AND ", filters), order);
+        }
+        binds.add(n);
+        return RANKED_PICK.formatted("tr2.ROWID", cols, "TB_TASK_RUN tr2", joins, where, String.join(" AND ", filters), order);
+    }
+
+    private List<TaskRun> claimBatch(ClaimSpec spec, int n, boolean ownPartition) throws Exception {
+        Connection c = mustConn();
+
+        List<Object> whereBinds = new ArrayList<>();
+        StringBuilder where = new StringBuilder("""
+                    WHERE   tr2.STATUS = 'READY'
+                      AND   tr2.AVAILABLE_AT <= CURRENT_TIMESTAMP
+                      AND   %s
+                """.formatted(orderingHead("tr2")));
+        if (spec.filtersHandlers()) {
+            where.append("""
+                      AND   %s
+                """.formatted(handlerFilter("tr2", spec.handlerKeys(), spec.methodBound(), whereBinds)));
+        }
+        if (ownPartition) {
+            where.append(OWN_PARTITION);
+            whereBinds.add(spec.workerId());
+        }
+        List<Object> binds = new ArrayList<>();
+        String pick = pickSql(spec, where, whereBinds, n, binds);
+
+        // 1) 최대 n개 픽업 + 락 (풀을 보면 태스크의 RESOURCE_POOL도 함께, 퍼밋은 선점 순서대로 배정)
+        List<Long> ids = new ArrayList<>(n);
+        Map<Long, String> poolOf = new HashMap<>();
+        try (var ps = c.prepareStatement(spec.resourcePools() ? """
+            SELECT  tr.ID, tk.RESOURCE_POOL
+            FROM    TB_TASK_RUN tr
+            JOIN    TB_TASK tk ON tk.ID = tr.TASK_ID
+            WHERE   tr.ROWID IN (
+                %s
+            )
+            ORDER BY tr.PRIORITY DESC, tr.AVAILABLE_AT, tr.ID
+            FOR UPDATE OF tr.STATUS SKIP LOCKED
+        """.formatted(pick) : """
+            SELECT  tr.ID
+            FROM    TB_TASK_RUN tr
+            WHERE   tr.ROWID IN (
+                %s
+            )
+            FOR UPDATE OF tr.STATUS SKIP LOCKED
+        """.formatted(pick))) {
+            bindAll(ps, binds);
+            try (var rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                    if (spec.resourcePools() && rs.getString(2) != null) poolOf.put(rs.getLong(1), rs.getString(2));
+                }
+            }
+        }
+        if (!poolOf.isEmpty()) ids = acquirePermits(c, spec, ids, poolOf);
+        if (ids.isEmpty()) return List.of();
+
+        // 2) 집합 기반 RUNNING 전환 (선점한 워커 슬롯 기록 → 슬롯 회수 시 바로 재노출)
+        //    슬롯 lease 상속이면 LEASE_UNTIL NULL = 슬롯이 살아 있는 동안 유효
+        String in = JdbcUtil.placeholders(ids.size());
+        try (var up = c.prepareStatement("""
+            UPDATE TB_TASK_RUN
+            %s
+             WHERE ID IN (%s)
+        """.formatted(claimSet(spec), in))) {
+            int i = bindClaimSet(up, 1, spec);
+            for (Long id : ids) up.setLong(i++, id);
+            up.executeUpdate();
+        }
+
+        // 3) 로우 반환
+        try (var sel = c.prepareStatement(
+                "SELECT * FROM TB_TASK_RUN WHERE ID IN (%s) ORDER BY PRIORITY DESC, AVAILABLE_AT, ID".formatted(in))) {
+            int i = 1;
+            for (Long id : ids) sel.setLong(i++, id);
+            try (var rs = sel.executeQuery()) {
+                var out = new ArrayList<TaskRun>(ids.size());
+                while (rs.next()) out.add(RowMappers.toTaskRun(rs));
+                return out;
+            }
+        }
+    }
+
+    /** 풀마다 빈 퍼밋을 앞 번호부터 (다른 디스패처가 잡는 중인 퍼밋은 SKIP LOCKED로 건너뜀) */
+    private static final String LOCK_PERMITS = """
+            SELECT  p.PERMIT_NO
+            FROM    TB_RESOURCE_PERMIT p
+            WHERE   p.ROWID IN (
+                SELECT rid
+                FROM (
+                    SELECT  p2.ROWID AS rid
+                    FROM    TB_RESOURCE_PERMIT p2
+                    WHERE   p2.POOL_NAME = ?
+                      AND   %s
+                    ORDER BY p2.PERMIT_NO
+                    FETCH FIRST ? ROWS ONLY
+                )
+            )
+              AND   %s
+            FOR UPDATE OF p.TASK_RUN_ID SKIP LOCKED
+        """.formatted(JdbcResourcePoolRepository.free("p2"), JdbcResourcePoolRepository.free("p"));
+
+    /**
+     * 락을 잡은 후보 중 풀 태스크에 퍼밋 임차 (TaskRun과 같은 lease: 태스크 lease 또는 슬롯 상속 시 NULL).
+     * 퍼밋을 못 받은 후보는 빼고 반환 → RUNNING 전환 없이 커밋 시 락만 풀려 READY로 남음
+     */
+    private List<Long> acquirePermits(Connection c, ClaimSpec spec, List<Long> ids, Map<Long, String> poolOf) throws SQLException {
+        Map<String, List<Long>> wanted = new LinkedHashMap<>();
+        for (Long id : ids) {
+            String pool = poolOf.get(id);
+            if (pool != null) wanted.computeIfAbsent(pool, k -> new ArrayList<>()).add(id);
+        }
+        // 이전 시도(재시도/회수/반납)가 남긴 퍼밋 기록은 비움 → 한 TaskRun이 퍼밋 두 개를 세지 않도록
+        try (var clear = c.prepareStatement("""
+            UPDATE TB_RESOURCE_PERMIT
+               SET TASK_RUN_ID = NULL,
+                   LEASE_UNTIL = NULL,
+                   UPDATED_AT  = CURRENT_TIMESTAMP
+             WHERE TASK_RUN_ID IN (%s)
+        """.formatted(JdbcUtil.placeholders(poolOf.size())))) {
+            int i = 1;
+            for (Long id : poolOf.keySet()) clear.setLong(i++, id);
+            clear.executeUpdate();
+        }
+
+        boolean inherit = spec.inheritsSlotLease();
+        Set<Long> denied = new HashSet<>();
+        int assigned = 0;
+        try (var lock = c.prepareStatement(LOCK_PERMITS);
+             var up = c.prepareStatement("""
+                UPDATE TB_RESOURCE_PERMIT
+                   SET TASK_RUN_ID = ?,
+                       LEASE_UNTIL = %s,
+                       ACQUIRED_AT = CURRENT_TIMESTAMP,
+                       UPDATED_AT  = CURRENT_TIMESTAMP
+                 WHERE POOL_NAME = ? AND PERMIT_NO = ?
+             """.formatted(inherit ? "NULL" : "CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND')"))) {
+            for (var e : wanted.entrySet()) {
+                List<Integer> permits = new ArrayList<>(e.getValue().size());
+                lock.setString(1, e.getKey());
+                lock.setInt(2, e.getValue().size());
+                try (var rs = lock.executeQuery()) {
+                    while (rs.next()) permits.add(rs.getInt(1));
+                }
+                for (int k = 0; k < e.getValue().size(); k++) {
+                    Long id = e.getValue().get(k);
+                    if (k >= permits.size()) { denied.add(id); continue; }
+                    int i = 1;
+                    up.setLong(i++, id);
+                    if (!inherit) up.setInt(i++, (int) spec.lease().toSeconds());
+                    up.setString(i++, e.getKey());
+                    up.setInt(i, permits.get(k));
+                    up.addBatch();
+                    assigned++;
+                }
+            }
+            if (assigned > 0) up.executeBatch();
+        }
+        if (denied.isEmpty()) return ids;
+        return ids.stream().filter(id -> !denied.contains(id)).toList();
+    }
+
+    private static void bindAll(PreparedStatement ps, List<Object> binds) throws SQLException {
+        int i = 1;
+        for (Object b : binds) ps.setObject(i++, b);
+    }
+
+    /** IX_TASK_RUN_READY(STATUS, AVAILABLE_AT) MIN 1회 */
+    @Override
+    public Optional<Duration> timeUntilNextReady() throws Exception {
+        return timeUntilNextReady(null, false);
+    }
+
+    /** 선점 필터와 같은 조건 → 이 노드가 못 가져가는 태스크 때문에 일찍 깨지 않음 */
+    @Override
+    public Optional<Duration> timeUntilNextReady(Set<String> handlerKeys, boolean methodBound) throws Exception {
+        if (handlerKeys != null && handlerKeys.isEmpty() && !methodBound) return Optional.empty();
+        List<Object> binds = new ArrayList<>();
+        String filter = handlerKeys == null ? "1 = 1" : handlerFilter("tr", handlerKeys, methodBound, binds);
+        try (var ps = mustConn().prepareStatement("""
+            SELECT %s
+            FROM (
+                SELECT MIN(tr.AVAILABLE_AT) AS next_at
+                FROM   TB_TASK_RUN tr
+                WHERE  tr.STATUS = 'READY'
+                  AND  %s
+            )
+        """.formatted(JdbcUtil.millisUntil("next_at"), filter))) {
+            bindAll(ps, binds);
+            try (var rs = ps.executeQuery()) {
+                rs.next();
+                return JdbcUtil.toDurationMillis(rs, 1);
+            }
+        }
+    }
+
+    /** 핸들러 필터 조건 (handlerKeys의 HANDLER_KEY, methodBound면 CLASS_FQN 바인딩 태스크도) — 바인드는 binds에 추가 */
+    private static String handlerFilter(String alias, Set<String> handlerKeys, boolean methodBound, List<Object> binds) {
+        List<String> conds = new ArrayList<>(2);
+        if (!handlerKeys.isEmpty()) {
+            conds.add("t.HANDLER_KEY IN (" + JdbcUtil.placeholders(handlerKeys.size()) + ")");
+            binds.addAll(handlerKeys);
+        }
+        if (methodBound) conds.add("t.CLASS_FQN IS NOT NULL");
+        return "%s.TASK_ID IN (SELECT t.ID FROM TB_TASK t WHERE %s)".formatted(alias, String.join(" OR ", conds));
+    }
+
+    /** (ID, ATTEMPT) 쌍 IN 목록 + CLAIMED_BY로 한 번에 */
+    @Override
+    public int releaseClaims(List<TaskRun> claimed, String workerToken) throws Exception {
+        if (claimed.isEmpty()) return 0;
+        // 소유권 = (ID, ATTEMPT) + CLAIMED_BY: lease 시각 비교 없이 하트비트 연장분/슬롯 상속분 모두 같은 조건
         try (var ps = mustConn().prepareStatement("""
+            UPDATE TB_TASK_RUN
+               SET STATUS      = 'READY',
+                   LEASE_UNTIL = NULL,
+                   WORKER_ID   = NULL,
+                   CLAIMED_BY  = NULL,
+                   UPDATED_AT  = CURRENT_TIMESTAMP
+             WHERE STATUS = 'RUNNING'
+               AND CLAIMED_BY = ?
+               AND (ID, ATTEMPT) IN (%s)
+        """.formatted(String.join(",", Collections.nCopies(claimed.size(), "(?,?)"))))) {
+            int i = 1;
+            ps.setString(i++, workerToken);
+            for (TaskRun tr : claimed) {
+                ps.setLong(i++, tr.id());
+                ps.setLong(i++, tr.attempt());
+            }
+            return ps.executeUpdate();
+        }
+    }
+
+    /** TaskRun lease 연장 + 보유 중인 리소스 풀 퍼밋도 같은 lease로 (IX_RESOURCE_PERMIT_RUN) */
+    @Override
+    public void heartbeat(long taskRunId, Duration lease) throws Exception {
+        Connection c = mustConn();
+        int extended;
+        try (var ps = c.prepareStatement("""
             UPDATE TB_TASK_RUN
                SET LEASE_UNTIL = CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'),
                    UPDATED_AT = CURRENT_TIMESTAMP
              WHERE ID = ? AND STATUS='RUNNING'
+               AND LEASE_UNTIL IS NOT NULL
+        """)) {
+            ps.setInt(1, (int) lease.toSeconds());
+            ps.setLong(2, taskRunId);
+            extended = ps.executeUpdate();
+        }
+        if (extended == 0) return;
+        try (var ps = c.prepareStatement("""
+            UPDATE TB_RESOURCE_PERMIT
+               SET LEASE_UNTIL = CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'),
+                   UPDATED_AT  = CURRENT_TIMESTAMP
+             WHERE TASK_RUN_ID = ?
+               AND LEASE_UNTIL IS NOT NULL
         """)) {
             ps.setInt(1, (int) lease.toSeconds());
             ps.setLong(2, taskRunId);
@@ -102,21 +636,173 @@ public final class JdbcTaskRunRepository implements TaskRunRepository {
         }
     }
 
+    /**
+     * 라운드트립 1회: 자기 행 DONE 전환(RETURNING으로 JOB_RUN_ID/TASK_ID 획득) →
+     * 후행 집합 UPDATE 한 문장으로 DONE_CNT++ 및 충족분 READY 승격.
+     * 후행 행 락은 같은 트랜잭션에서 잡히므로 다중 선행 동시 완료도 정확히 한 번씩 반영.
+     * 선점 당시 그대로(RUNNING + 같은 ATTEMPT/CLAIMED_BY)가 아니면 전파 없이 LOST_CLAIM
+     */
+    @Override
+    public int markDoneAndCascade(long taskRunId, String workerToken, long attempt) throws Exception {
+        try (var cs = mustConn().prepareCall("""
+            DECLARE
+                v_job_run_id TB_TASK_RUN.JOB_RUN_ID%%TYPE;
+                v_task_id    TB_TASK_RUN.TASK_ID%%TYPE;
+                v_cnt        PLS_INTEGER := %d;
+            BEGIN
+                UPDATE TB_TASK_RUN
+                   SET STATUS='DONE',
+                       FINISHED_AT = CURRENT_TIMESTAMP,
+                       UPDATED_AT = CURRENT_TIMESTAMP
+                 WHERE %s
+                RETURNING JOB_RUN_ID, TASK_ID INTO v_job_run_id, v_task_id;
+
+                IF SQL%%ROWCOUNT = 1 THEN
+                    UPDATE TB_TASK_RUN s
+                       SET s.DONE_CNT     = s.DONE_CNT + 1,
+                           s.STATUS       = CASE
+                                              WHEN s.STATUS = 'BLOCKED' AND (s.DONE_CNT + 1) >= s.PRE_CNT THEN 'READY'
+                                              ELSE s.STATUS
+                                            END,
+                           s.AVAILABLE_AT = CASE
+                                              WHEN s.STATUS = 'BLOCKED' AND (s.DONE_CNT + 1) >= s.PRE_CNT THEN CURRENT_TIMESTAMP
+                                              ELSE s.AVAILABLE_AT
+                                            END,
+                           s.UPDATED_AT   = CURRENT_TIMESTAMP
+                     WHERE s.JOB_RUN_ID = v_job_run_id
+                       AND s.TASK_ID IN (SELECT d.POST_TASK_ID FROM TB_TASK_DEP d WHERE d.PRE_TASK_ID = v_task_id);
+                    v_cnt := SQL%%ROWCOUNT;
+                END IF;
+                ? := v_cnt;
+            END;
+        """.formatted(LOST_CLAIM, OWNED))) {
+            int out = bindOwned(cs, 1, taskRunId, workerToken, attempt);
+            cs.registerOutParameter(out, Types.INTEGER);
+            cs.execute();
+            return cs.getInt(out);
+        }
+    }
+
+    /** 선점 소유권 조건 — 바인드: ID, ATTEMPT, CLAIMED_BY (선점 뒤 다시 큐잉/재선점되었으면 ATTEMPT 또는 토큰이 달라짐) */
+    private static final String OWNED = "ID = ? AND STATUS = 'RUNNING' AND ATTEMPT = ? AND CLAIMED_BY = ?";
+
+    private static int bindOwned(PreparedStatement ps, int i, long taskRunId, String workerToken, long attempt) throws SQLException {
+        ps.setLong(i++, taskRunId);
+        ps.setLong(i++, attempt);
+        ps.setString(i++, workerToken);
+        return i;
+    }
+
+    /**
+     * 지연 생성 모드의 완료: 라운드트립 1회.
+     * - JobRun 행 락으로 같은 JobRun의 완료를 직렬화 → 두 선행이 동시에 끝나도 후행 생성 누락/중복 없음
+     * - 이미 있는 후행 행은 markDoneAndCascade와 같은 전파 (EAGER로 준비된 JobRun 호환)
+     * - 없는 후행 중 같은 Job 내 선행이 모두 DONE인 것만 READY로 INSERT (PRE_CNT = DONE_CNT = 선행 수)
+     * @return 전파/생성된 후행 수 (선점 소유권을 잃었으면 LOST_CLAIM)
+     */
+    @Override
+    public int markDoneAndMaterialize(long taskRunId, String workerToken, long attempt) throws Exception {
+        try (var cs = mustConn().prepareCall("""
+            DECLARE
+                v_id         TB_TASK_RUN.ID%%TYPE := ?;
+                v_attempt    TB_TASK_RUN.ATTEMPT%%TYPE := ?;
+                v_token      TB_TASK_RUN.CLAIMED_BY%%TYPE := ?;
+                v_job_run_id TB_TASK_RUN.JOB_RUN_ID%%TYPE;
+                v_task_id    TB_TASK_RUN.TASK_ID%%TYPE;
+                v_lock       TB_JOB_RUN.ID%%TYPE;
+                v_run_prio   TB_JOB.PRIORITY%%TYPE;
+                v_cnt        PLS_INTEGER := %d;
+            BEGIN
+                SELECT MAX(JOB_RUN_ID) INTO v_job_run_id FROM TB_TASK_RUN WHERE ID = v_id;
+
+                IF v_job_run_id IS NOT NULL THEN
+                    SELECT ID INTO v_lock FROM TB_JOB_RUN WHERE ID = v_job_run_id FOR UPDATE;
+                    SELECT COALESCE(jr.PRIORITY, j.PRIORITY) INTO v_run_prio
+                      FROM TB_JOB_RUN jr JOIN TB_JOB j ON j.ID = jr.JOB_ID
+                     WHERE jr.ID = v_job_run_id;
+
+                    UPDATE TB_TASK_RUN
+                       SET STATUS='DONE',
+                           FINISHED_AT = CURRENT_TIMESTAMP,
+                           UPDATED_AT = CURRENT_TIMESTAMP
+                     WHERE ID = v_id AND STATUS = 'RUNNING' AND ATTEMPT = v_attempt AND CLAIMED_BY = v_token
+                    RETURNING TASK_ID INTO v_task_id;
+
+                    IF SQL%%ROWCOUNT = 1 THEN
+                        UPDATE TB_TASK_RUN s
+                           SET s.DONE_CNT     = s.DONE_CNT + 1,
+                               s.STATUS       = CASE
+                                                  WHEN s.STATUS = 'BLOCKED' AND (s.DONE_CNT + 1) >= s.PRE_CNT THEN 'READY'
+                                                  ELSE s.STATUS
+                                                END,
+                               s.AVAILABLE_AT = CASE
+                                                  WHEN s.STATUS = 'BLOCKED' AND (s.DONE_CNT + 1) >= s.PRE_CNT THEN CURRENT_TIMESTAMP
+                                                  ELSE s.AVAILABLE_AT
+                                                END,
+                               s.UPDATED_AT   = CURRENT_TIMESTAMP
+                         WHERE s.JOB_RUN_ID = v_job_run_id
+                           AND s.TASK_ID IN (SELECT d.POST_TASK_ID FROM TB_TASK_DEP d WHERE d.PRE_TASK_ID = v_task_id);
+                        v_cnt := SQL%%ROWCOUNT;
+
+                        INSERT INTO TB_TASK_RUN (
+                            JOB_RUN_ID, TASK_ID, ATTEMPT, PRE_CNT, DONE_CNT, STATUS, PRIORITY, ORDERING_KEY, AVAILABLE_AT, CREATED_AT, UPDATED_AT
+                        )
+                        SELECT v_job_run_id, x.task_id, 1, x.pre_cnt, x.pre_cnt, 'READY', x.priority + v_run_prio,
+                               x.ordering_key, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                        FROM (
+                            SELECT  post.ID AS task_id,
+                                    post.PRIORITY AS priority,
+                                    post.ORDERING_KEY AS ordering_key,
+                                    (SELECT COUNT(*)
+                                       FROM TB_TASK_DEP d2
+                                       JOIN TB_TASK p ON p.ID = d2.PRE_TASK_ID AND p.JOB_ID = post.JOB_ID
+                                      WHERE d2.POST_TASK_ID = post.ID) AS pre_cnt
+                            FROM    TB_TASK_DEP d
+                            JOIN    TB_TASK post ON post.ID = d.POST_TASK_ID
+                            WHERE   d.PRE_TASK_ID = v_task_id
+                              AND   NOT EXISTS (SELECT 1 FROM TB_TASK_RUN r
+                                                 WHERE r.JOB_RUN_ID = v_job_run_id AND r.TASK_ID = post.ID)
+                              AND   NOT EXISTS (SELECT 1
+                                                  FROM TB_TASK_DEP d2
+                                                  JOIN TB_TASK p ON p.ID = d2.PRE_TASK_ID AND p.JOB_ID = post.JOB_ID
+                                                 WHERE d2.POST_TASK_ID = post.ID
+                                                   AND NOT EXISTS (SELECT 1 FROM TB_TASK_RUN r2
+                                                                    WHERE r2.JOB_RUN_ID = v_job_run_id
+                                                                      AND r2.TASK_ID = d2.PRE_TASK_ID
+                                                                      AND r2.STATUS = 'DONE'))
+                        ) x;
+                        v_cnt := v_cnt + SQL%%ROWCOUNT;
+                    END IF;
+                END IF;
+                ? := v_cnt;
+            END;
+        """.formatted(LOST_CLAIM))) {
+            cs.setLong(1, taskRunId);
+            cs.setLong(2, attempt);
+            cs.setString(3, workerToken);
+            cs.registerOutParameter(4, Types.INTEGER);
+            cs.execute();
+            return cs.getInt(4);
+        }
+    }
+
     @Override
-    public void retryWithBackoff(long taskRunId, Duration backoff, String lastError) throws Exception {
+    public boolean retryWithBackoff(long taskRunId, String workerToken, long attempt, Duration backoff, String lastError) throws Exception {
         try (var ps = mustConn().prepareStatement("""
             UPDATE TB_TASK_RUN
                SET STATUS='READY',
                    AVAILABLE_AT = CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'),
                    ATTEMPT = ATTEMPT + 1,
+                   WORKER_ID = NULL,
+                   CLAIMED_BY = NULL,
                    UPDATED_AT = CURRENT_TIMESTAMP,
                    LAST_ERROR = ?
-             WHERE ID=?
-        """)) {
+             WHERE %s
+        """.formatted(OWNED))) {
             ps.setInt(1, (int) backoff.toSeconds());
             ps.setString(2, lastError);
-            ps.setLong(3, taskRunId);
-            ps.executeUpdate();
+            bindOwned(ps, 3, taskRunId, workerToken, attempt);
+            return ps.executeUpdate() == 1;
         }
     }
 
@@ -164,19 +850,48 @@ public final class JdbcTaskRunRepository implements TaskRunRepository {
         }
     }
 
+    /** 선점 전(BLOCKED/READY) 행만 — RUNNING 중에 키를 바꾸면 같은 키 직렬화가 깨짐 */
     @Override
-    public void createOrReset(long jobRunId, long taskId, int preCnt,
-                              TaskRun.Status status, Instant available) throws Exception {
+    public int assignOrderingKeys(long jobRunId, Map<Long, String> keysByTask) throws Exception {
+        if (keysByTask.isEmpty()) return 0;
         try (var ps = mustConn().prepareStatement("""
+            UPDATE TB_TASK_RUN
+               SET ORDERING_KEY = ?,
+                   UPDATED_AT   = CURRENT_TIMESTAMP
+             WHERE JOB_RUN_ID = ?
+               AND TASK_ID = ?
+               AND STATUS IN ('BLOCKED', 'READY')
+        """)) {
+            for (var e : keysByTask.entrySet()) {
+                ps.setString(1, e.getValue());
+                ps.setLong(2, jobRunId);
+                ps.setLong(3, e.getKey());
+                ps.addBatch();
+            }
+            int n = 0;
+            for (int r : ps.executeBatch()) n += Math.max(r, 0);
+            return n;
+        }
+    }
+
+    /** (JOB_RUN_ID, TASK_ID, ATTEMPT=1) 기준 멱등 생성/초기화 — 단건/배치 공용 (PRIORITY = Task + JobRun/Job) */
+    private static final String CREATE_OR_RESET_SQL = """
             MERGE INTO TB_TASK_RUN tr
             USING (
-                SELECT
-                    ? AS job_run_id,
-                    ? AS task_id,
-                    ? AS pre_cnt,
-                    ? AS status,
-                    ? AS available_at
-                FROM dual
+                SELECT p.*,
+                       NVL((SELECT t.PRIORITY + COALESCE(jr.PRIORITY, j.PRIORITY)
+                              FROM TB_TASK t, TB_JOB_RUN jr, TB_JOB j
+                             WHERE t.ID = p.task_id AND jr.ID = p.job_run_id AND j.ID = jr.JOB_ID), 0) AS priority,
+                       (SELECT t.ORDERING_KEY FROM TB_TASK t WHERE t.ID = p.task_id) AS ordering_key
+                FROM (
+                    SELECT
+                        ? AS job_run_id,
+                        ? AS task_id,
+                        ? AS pre_cnt,
+                        ? AS status,
+                        ? AS available_at
+                    FROM dual
+                ) p
             ) s
             ON (tr.JOB_RUN_ID = s.job_run_id AND tr.TASK_ID = s.task_id AND tr.ATTEMPT = 1)
             WHEN MATCHED THEN UPDATE SET
@@ -184,16 +899,23 @@ public final class JdbcTaskRunRepository implements TaskRunRepository {
                 tr.DONE_CNT     = 0,
                 tr.STATUS       = s.status,
                 tr.AVAILABLE_AT = COALESCE(s.available_at, CASE WHEN s.pre_cnt = 0 THEN CURRENT_TIMESTAMP ELSE NULL END),
+                tr.PRIORITY     = s.priority,
+                tr.ORDERING_KEY = s.ordering_key,
                 tr.UPDATED_AT   = CURRENT_TIMESTAMP
             WHEN NOT MATCHED THEN INSERT (
                 -- ID 생략: IDENTITY가 자동 발번
-                JOB_RUN_ID, TASK_ID, ATTEMPT, PRE_CNT, DONE_CNT, STATUS, AVAILABLE_AT, CREATED_AT, UPDATED_AT
+                JOB_RUN_ID, TASK_ID, ATTEMPT, PRE_CNT, DONE_CNT, STATUS, PRIORITY, ORDERING_KEY, AVAILABLE_AT, CREATED_AT, UPDATED_AT
             ) VALUES (
-                s.job_run_id, s.task_id, 1, s.pre_cnt, 0, s.status,
+                s.job_run_id, s.task_id, 1, s.pre_cnt, 0, s.status, s.priority, s.ordering_key,
                 COALESCE(s.available_at, CASE WHEN s.pre_cnt = 0 THEN CURRENT_TIMESTAMP ELSE NULL END),
                 CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
             )
-        """)) {
+        """;
+
+    @Override
+    public void createOrReset(long jobRunId, long taskId, int preCnt,
+                              TaskRun.Status status, Instant available) throws Exception {
+        try (var ps = mustConn().prepareStatement(CREATE_OR_RESET_SQL)) {
             // USING 파라미터
             ps.setLong(1, jobRunId);
             ps.setLong(2, taskId);
@@ -204,16 +926,120 @@ public final class JdbcTaskRunRepository implements TaskRunRepository {
         }
     }
 
+    /**
+     * Job의 전체 태스크에 대해 TaskRun을 한 번에 생성/초기화.
+     * - PRE_CNT = 같은 Job 안의 실제 선행 간선 수 (완료 전파의 DONE_CNT 증가분과 일치)
+     * - PRE_CNT=0 → READY(available_at=now), 그 외 BLOCKED
+     * - INSERT ... SELECT 대신 MERGE: 같은 JobRun 재준비(틱 재시도)에도 UX_TASK_RUN 충돌 없이 멱등
+     */
+    @Override
+    public int createAllForJobRun(long jobRunId, long jobId) throws Exception {
+        return switch (materializeStrategy) {
+            case SET_BASED -> createAllSetBased(jobRunId, jobId, false);
+            case JDBC_BATCH -> createAllBatched(jobRunId, jobId);
+        };
+    }
+
+    /** 지연 생성 모드: 선행 없는 루트 태스크만 READY로 생성 (후행은 markDoneAndMaterialize가 생성) */
+    @Override
+    public int createRootsForJobRun(long jobRunId, long jobId) throws Exception {
+        return createAllSetBased(jobRunId, jobId, true);
+    }
+
+    private int createAllSetBased(long jobRunId, long jobId, boolean rootsOnly) throws Exception {
+        try (var ps = mustConn().prepareStatement("""
+            MERGE INTO TB_TASK_RUN tr
+            USING (
+                SELECT * FROM (
+                    SELECT  t.ID AS task_id,
+                            (SELECT COUNT(*)
+                               FROM TB_TASK_DEP d
+                               JOIN TB_TASK p ON p.ID = d.PRE_TASK_ID AND p.JOB_ID = t.JOB_ID
+                              WHERE d.POST_TASK_ID = t.ID) AS pre_cnt,
+                            t.PRIORITY + (SELECT COALESCE(jr.PRIORITY, j.PRIORITY)
+                                            FROM TB_JOB_RUN jr JOIN TB_JOB j ON j.ID = jr.JOB_ID
+                                           WHERE jr.ID = ?) AS priority,
+                            t.ORDERING_KEY AS ordering_key
+                    FROM    TB_TASK t
+                    WHERE   t.JOB_ID = ?
+                ) %s
+            ) s
+            ON (tr.JOB_RUN_ID = ? AND tr.TASK_ID = s.task_id AND tr.ATTEMPT = 1)
+            WHEN MATCHED THEN UPDATE SET
+                tr.PRE_CNT      = s.pre_cnt,
+                tr.DONE_CNT     = 0,
+                tr.STATUS       = CASE WHEN s.pre_cnt = 0 THEN 'READY' ELSE 'BLOCKED' END,
+                tr.AVAILABLE_AT = CASE WHEN s.pre_cnt = 0 THEN CURRENT_TIMESTAMP ELSE NULL END,
+                tr.PRIORITY     = NVL(s.priority, 0),
+                tr.ORDERING_KEY = s.ordering_key,
+                tr.UPDATED_AT   = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (
+                JOB_RUN_ID, TASK_ID, ATTEMPT, PRE_CNT, DONE_CNT, STATUS, PRIORITY, ORDERING_KEY, AVAILABLE_AT, CREATED_AT, UPDATED_AT
+            ) VALUES (
+                ?, s.task_id, 1, s.pre_cnt, 0,
+                CASE WHEN s.pre_cnt = 0 THEN 'READY' ELSE 'BLOCKED' END,
+                NVL(s.priority, 0), s.ordering_key,
+                CASE WHEN s.pre_cnt = 0 THEN CURRENT_TIMESTAMP ELSE NULL END,
+                CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            )
+        """.formatted(rootsOnly ? "WHERE pre_cnt = 0" : ""))) {
+            ps.setLong(1, jobRunId);
+            ps.setLong(2, jobId);
+            ps.setLong(3, jobRunId);
+            ps.setLong(4, jobRunId);
+            return ps.executeUpdate();
+        }
+    }
+
+    private int createAllBatched(long jobRunId, long jobId) throws Exception {
+        Connection c = mustConn();
+        List<long[]> rows = new ArrayList<>(); // {taskId, preCnt}
+        try (var ps = c.prepareStatement("""
+            SELECT  t.ID,
+                    (SELECT COUNT(*)
+                       FROM TB_TASK_DEP d
+                       JOIN TB_TASK p ON p.ID = d.PRE_TASK_ID AND p.JOB_ID = t.JOB_ID
+                      WHERE d.POST_TASK_ID = t.ID)
+            FROM    TB_TASK t
+            WHERE   t.JOB_ID = ?
+        """)) {
+            ps.setLong(1, jobId);
+            try (var rs = ps.executeQuery()) {
+                while (rs.next()) rows.add(new long[]{rs.getLong(1), rs.getLong(2)});
+            }
+        }
+        if (rows.isEmpty()) return 0;
+
+        try (var ps = c.prepareStatement(CREATE_OR_RESET_SQL)) {
+            for (long[] r : rows) {
+                boolean root = r[1] == 0;
+                ps.setLong(1, jobRunId);
+                ps.setLong(2, r[0]);
+                ps.setInt(3, (int) r[1]);
+                ps.setString(4, (root ? TaskRun.Status.READY : TaskRun.Status.BLOCKED).code());
+                ps.setNull(5, Types.TIMESTAMP); // pre_cnt=0 이면 CURRENT_TIMESTAMP
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        return rows.size();
+    }
+
     // --- Maintenance 전용 메서드들 ---
 
     @Override
     public int recoverExpiredLeases(Duration backoff, String reason) throws Exception {
-        try (var ps = mustConn().prepareStatement("""
+        Connection c = mustConn();
+        int recovered;
+        // 1) 태스크 lease 만료 (IX_TASK_RUN_LEASE)
+        try (var ps = c.prepareStatement("""
             UPDATE TB_TASK_RUN
                SET STATUS='READY',
                    AVAILABLE_AT = CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'),
                    ATTEMPT = ATTEMPT + 1,
                    LEASE_UNTIL = NULL,
+                   WORKER_ID = NULL,
+                   CLAIMED_BY = NULL,
                    UPDATED_AT = CURRENT_TIMESTAMP,
                    LAST_ERROR = ?
              WHERE STATUS='RUNNING'
@@ -222,8 +1048,31 @@ public final class JdbcTaskRunRepository implements TaskRunRepository {
         """)) {
             ps.setInt(1, (int) backoff.toSeconds());
             ps.setString(2, reason);
-            return ps.executeUpdate();
+            recovered = ps.executeUpdate();
+        }
+        // 2) 슬롯 lease 상속분: 소유 슬롯이 살아 있지 않으면 만료 (회수 전 만료 슬롯 포함)
+        try (var ps = c.prepareStatement("""
+            UPDATE TB_TASK_RUN tr
+               SET tr.STATUS='READY',
+                   tr.AVAILABLE_AT = CURRENT_TIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'),
+                   tr.ATTEMPT = tr.ATTEMPT + 1,
+                   tr.WORKER_ID = NULL,
+                   tr.CLAIMED_BY = NULL,
+                   tr.UPDATED_AT = CURRENT_TIMESTAMP,
+                   tr.LAST_ERROR = ?
+             WHERE tr.STATUS='RUNNING'
+               AND tr.LEASE_UNTIL IS NULL
+               AND NOT EXISTS (SELECT 1
+                                 FROM TB_WORKER_SLOT ws
+                                WHERE ws.WORKER_ID = tr.WORKER_ID
+                                  AND ws.INSTANCE_TOKEN IS NOT NULL
+                                  AND ws.LEASE_UNTIL > CURRENT_TIMESTAMP)
+        """)) {
+            ps.setInt(1, (int) backoff.toSeconds());
+            ps.setString(2, reason);
+            recovered += ps.executeUpdate();
         }
+        return recovered;
     }
 
     @Override
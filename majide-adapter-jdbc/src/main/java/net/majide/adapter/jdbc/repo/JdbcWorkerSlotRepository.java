@@ -4,13 +4,18 @@ import net.majide.adapter.jdbc.mapper.RowMappers;
 import net.majide.adapter.jdbc.TxContext;
 import net.majide.core.model.WorkerSlot;
 import net.majide.core.spi.WorkerSlotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.Types;
 import java.time.Duration;
 import java.util.Optional;
 
 public final class JdbcWorkerSlotRepository implements WorkerSlotRepository {
+    private static final Logger log = LoggerFactory.getLogger(JdbcWorkerSlotRepository.class);
+
     private final DataSource ds;
 
     public JdbcWorkerSlotRepository(DataSource ds) {
@@ -98,36 +103,100 @@ public final class JdbcWorkerSlotRepository implements WorkerSlotRepository {
         }
     }
 
-    /** 반납 (토큰 일치 시에만) */
+    public static final String SLOT_RELEASED_REASON = "worker slot released — requeued on release";
+
+    /**
+     * 반납 (토큰 일치 시에만) + 그 슬롯 lease를 상속한 RUNNING TaskRun(LEASE_UNTIL NULL) 재노출 (라운드트립 1회).
+     * 반납 후엔 슬롯이 비어 reclaimExpired 대상이 아니므로, 같은 문장에서 풀지 않으면 상속분이 RUNNING으로 남음
+     */
     @Override
     public void release(int workerId, String token) throws Exception {
-        try (var ps = mustConn().prepareStatement("""
-            UPDATE TB_WORKER_SLOT
-               SET INSTANCE_TOKEN = NULL,
-                   LEASE_UNTIL    = NULL,
-                   UPDATED_AT     = CURRENT_TIMESTAMP
-             WHERE WORKER_ID = ?
-               AND INSTANCE_TOKEN = ?
+        try (var cs = mustConn().prepareCall("""
+            DECLARE
+                v_id    TB_WORKER_SLOT.WORKER_ID%TYPE := ?;
+                v_tasks PLS_INTEGER := 0;
+            BEGIN
+                UPDATE TB_WORKER_SLOT
+                   SET INSTANCE_TOKEN = NULL,
+                       LEASE_UNTIL    = NULL,
+                       UPDATED_AT     = CURRENT_TIMESTAMP
+                 WHERE WORKER_ID = v_id
+                   AND INSTANCE_TOKEN = ?;
+
+                IF SQL%ROWCOUNT = 1 THEN
+                    UPDATE TB_TASK_RUN
+                       SET STATUS       = 'READY',
+                           AVAILABLE_AT = CURRENT_TIMESTAMP,
+                           ATTEMPT      = ATTEMPT + 1,
+                           WORKER_ID    = NULL,
+                           CLAIMED_BY   = NULL,
+                           UPDATED_AT   = CURRENT_TIMESTAMP,
+                           LAST_ERROR   = ?
+                     WHERE WORKER_ID = v_id
+                       AND STATUS = 'RUNNING'
+                       AND LEASE_UNTIL IS NULL;
+                    v_tasks := SQL%ROWCOUNT;
+                END IF;
+                ? := v_tasks;
+            END;
         """)) {
-            ps.setInt(1, workerId);
-            ps.setString(2, token);
-            ps.executeUpdate();
+            cs.setInt(1, workerId);
+            cs.setString(2, token);
+            cs.setString(3, SLOT_RELEASED_REASON);
+            cs.registerOutParameter(4, Types.INTEGER);
+            cs.execute();
+            int tasks = cs.getInt(4);
+            if (tasks > 0) log.info("requeued {} slot-leased TaskRun(s) of released worker slot {}", tasks, workerId);
         }
     }
 
-    /** 만료 슬롯 일괄 회수 */
+    public static final String SLOT_EXPIRED_REASON = "worker slot expired — requeued by reclaim";
+
+    /**
+     * 만료 슬롯 일괄 회수 + 그 슬롯이 선점해 둔 RUNNING TaskRun 재노출 (라운드트립 1회).
+     * 죽은 노드의 태스크를 개별 LEASE_UNTIL 만료까지 기다리지 않고 IX_TASK_RUN_WORKER로 바로 READY(attempt+1)
+     */
     @Override
     public int reclaimExpired() throws Exception {
-        try (var ps = mustConn().prepareStatement("""
-            UPDATE TB_WORKER_SLOT
-               SET INSTANCE_TOKEN = NULL,
-                   LEASE_UNTIL    = NULL,
-                   UPDATED_AT     = CURRENT_TIMESTAMP
-             WHERE INSTANCE_TOKEN IS NOT NULL
-                AND LEASE_UNTIL IS NOT NULL
-                AND LEASE_UNTIL <= CURRENT_TIMESTAMP
+        try (var cs = mustConn().prepareCall("""
+            DECLARE
+                v_ids   SYS.ODCINUMBERLIST;
+                v_tasks PLS_INTEGER := 0;
+            BEGIN
+                UPDATE TB_WORKER_SLOT
+                   SET INSTANCE_TOKEN = NULL,
+                       LEASE_UNTIL    = NULL,
+                       UPDATED_AT     = CURRENT_TIMESTAMP
+                 WHERE INSTANCE_TOKEN IS NOT NULL
+                   AND LEASE_UNTIL IS NOT NULL
+                   AND LEASE_UNTIL <= CURRENT_TIMESTAMP
+                RETURNING WORKER_ID BULK COLLECT INTO v_ids;
+
+                IF v_ids.COUNT > 0 THEN
+                    UPDATE TB_TASK_RUN
+                       SET STATUS       = 'READY',
+                           AVAILABLE_AT = CURRENT_TIMESTAMP,
+                           ATTEMPT      = ATTEMPT + 1,
+                           LEASE_UNTIL  = NULL,
+                           WORKER_ID    = NULL,
+                           CLAIMED_BY   = NULL,
+                           UPDATED_AT   = CURRENT_TIMESTAMP,
+                           LAST_ERROR   = ?
+                     WHERE WORKER_ID IN (SELECT COLUMN_VALUE FROM TABLE(v_ids))
+                       AND STATUS = 'RUNNING';
+                    v_tasks := SQL%ROWCOUNT;
+                END IF;
+                ? := v_ids.COUNT;
+                ? := v_tasks;
+            END;
         """)) {
-            return ps.executeUpdate();
+            cs.setString(1, SLOT_EXPIRED_REASON);
+            cs.registerOutParameter(2, Types.INTEGER);
+            cs.registerOutParameter(3, Types.INTEGER);
+            cs.execute();
+            int tasks = cs.getInt(3);
+            if (tasks > 0) log.info("requeued {} RUNNING TaskRun(s) of reclaimed worker slot(s)", tasks);
+            return cs.getInt(2);
         }
     }
 
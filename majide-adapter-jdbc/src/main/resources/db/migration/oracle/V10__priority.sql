@@ -0,0 +1,8 @@
+-- 우선순위 레인: 큰 값이 먼저. TaskRun 우선순위 = TASK.PRIORITY + COALESCE(JOB_RUN.PRIORITY, JOB.PRIORITY)
+ALTER TABLE TB_JOB      ADD (PRIORITY NUMBER(5,0) DEFAULT 0 NOT NULL);
+ALTER TABLE TB_TASK     ADD (PRIORITY NUMBER(5,0) DEFAULT 0 NOT NULL);
+ALTER TABLE TB_JOB_RUN  ADD (PRIORITY NUMBER(5,0));                    -- NULL = Job 기본값
+ALTER TABLE TB_TASK_RUN ADD (PRIORITY NUMBER(5,0) DEFAULT 0 NOT NULL); -- 생성 시 확정 (선점 정렬 키)
+
+-- 선점: STATUS='READY' 구간을 PRIORITY DESC, AVAILABLE_AT, ID 순으로 읽다가 n개에서 멈춤 (정렬 없음)
+CREATE INDEX IX_TASK_RUN_PRIO_READY ON TB_TASK_RUN (STATUS, PRIORITY DESC, AVAILABLE_AT, ID);
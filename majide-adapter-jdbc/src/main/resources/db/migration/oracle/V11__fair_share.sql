@@ -0,0 +1,5 @@
+-- 공정 분배 선점: 같은 PRIORITY 레인 안에서 JobRun/공유 그룹별 가중 라운드로빈
+ALTER TABLE TB_JOB ADD (
+    SHARE_GROUP  VARCHAR2(100 CHAR),                                         -- 테넌트/네임스페이스 (NULL = Job 이름 단독 그룹)
+    SHARE_WEIGHT NUMBER(5,0) DEFAULT 1 NOT NULL CHECK (SHARE_WEIGHT > 0)     -- 몫: 클수록 한 배치에서 더 많이
+);
@@ -0,0 +1,30 @@
+-- 리소스 풀: 클러스터 전역 세마포어 (공유 다운스트림 - DB 커넥션, 외부 API 쿼터 등)
+CREATE TABLE TB_RESOURCE_POOL (
+                                  POOL_NAME   VARCHAR2(100 CHAR) NOT NULL,
+                                  MAX_PERMITS NUMBER(5,0)        NOT NULL CHECK (MAX_PERMITS >= 0),
+
+                                  CREATED_AT  TIMESTAMP(6) WITH LOCAL TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+                                  UPDATED_AT  TIMESTAMP(6) WITH LOCAL TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+                                  CONSTRAINT PK_RESOURCE_POOL PRIMARY KEY (POOL_NAME)
+);
+
+-- 퍼밋: 0..MAX_PERMITS-1 사전 채움 (TB_WORKER_SLOT과 같은 임차 방식)
+CREATE TABLE TB_RESOURCE_PERMIT (
+                                    POOL_NAME   VARCHAR2(100 CHAR) NOT NULL,
+                                    PERMIT_NO   NUMBER(5,0)        NOT NULL,
+                                    TASK_RUN_ID NUMBER(19,0),                                -- 현재 보유 TaskRun (없으면 미임차)
+                                    LEASE_UNTIL TIMESTAMP(6) WITH LOCAL TIME ZONE,           -- 임차 만료 (NULL + 보유 = TaskRun이 RUNNING인 동안 유효)
+                                    ACQUIRED_AT TIMESTAMP(6) WITH LOCAL TIME ZONE,
+
+                                    UPDATED_AT  TIMESTAMP(6) WITH LOCAL TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+                                    CONSTRAINT PK_RESOURCE_PERMIT PRIMARY KEY (POOL_NAME, PERMIT_NO),
+                                    CONSTRAINT FK_RESOURCE_PERMIT_POOL FOREIGN KEY (POOL_NAME) REFERENCES TB_RESOURCE_POOL(POOL_NAME) ON DELETE CASCADE
+);
+
+-- 하트비트/재선점 시 TaskRun 기준 조회
+CREATE INDEX IX_RESOURCE_PERMIT_RUN ON TB_RESOURCE_PERMIT (TASK_RUN_ID);
+
+-- 태스크가 요구하는 풀 (NULL = 풀 없음)
+ALTER TABLE TB_TASK ADD (RESOURCE_POOL VARCHAR2(100 CHAR));
@@ -0,0 +1,14 @@
+-- 핸들러별 토큰 버킷: 초당 RATE_PER_SEC 토큰, 최대 BURST개까지 적립
+-- 보충은 지연 계산 (가져갈 때 TOKENS + 경과초 * RATE_PER_SEC, BURST에서 자름)
+CREATE TABLE TB_RATE_LIMIT (
+                               HANDLER_KEY  VARCHAR2(200 CHAR) NOT NULL,
+                               RATE_PER_SEC NUMBER(12,3)       NOT NULL CHECK (RATE_PER_SEC > 0),
+                               BURST        NUMBER(10,0)       NOT NULL CHECK (BURST >= 1),
+                               TOKENS       NUMBER(15,3)       NOT NULL,                          -- REFILLED_AT 시점의 잔량
+                               REFILLED_AT  TIMESTAMP(6) WITH LOCAL TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+                               CREATED_AT   TIMESTAMP(6) WITH LOCAL TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+                               UPDATED_AT   TIMESTAMP(6) WITH LOCAL TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+                               CONSTRAINT PK_RATE_LIMIT PRIMARY KEY (HANDLER_KEY)
+);
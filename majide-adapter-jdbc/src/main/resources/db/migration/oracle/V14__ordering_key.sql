@@ -0,0 +1,6 @@
+-- 순서 키: 같은 키의 TaskRun은 한 번에 하나만 RUNNING (키가 다르면 병렬)
+ALTER TABLE TB_TASK     ADD (ORDERING_KEY VARCHAR2(200 CHAR));  -- TaskRun 생성 시 복사 (NULL = 제약 없음)
+ALTER TABLE TB_TASK_RUN ADD (ORDERING_KEY VARCHAR2(200 CHAR));
+
+-- 선점 시 같은 키의 RUNNING / 앞선 READY 존재 확인 (키당 짧은 범위 스캔)
+CREATE INDEX IX_TASK_RUN_ORDERING ON TB_TASK_RUN (ORDERING_KEY, STATUS);
@@ -0,0 +1,9 @@
+-- 겹침 정책: 이전 JobRun이 안 끝났을 때 새 슬롯을 어떻게 할지 (Job 단위)
+ALTER TABLE TB_JOB ADD (
+    OVERLAP_POLICY      VARCHAR2(20 CHAR) DEFAULT 'ALLOW' NOT NULL
+        CHECK (OVERLAP_POLICY IN ('ALLOW','SKIP','QUEUE','CANCEL_PREVIOUS')),
+    MAX_CONCURRENT_RUNS NUMBER(5,0) DEFAULT 1 NOT NULL CHECK (MAX_CONCURRENT_RUNS > 0)  -- ALLOW면 무시
+);
+
+-- 틱마다 Job의 진행 중 JobRun 조회 (JOB_ID 범위 + 상태 필터)
+CREATE INDEX IX_JOB_RUN_JOB_STATUS ON TB_JOB_RUN (JOB_ID, STATUS);
@@ -0,0 +1,2 @@
+-- 선점 소유권: 선점한 워커 토큰 (완료/재시도는 STATUS='RUNNING' + 같은 ATTEMPT + 같은 토큰일 때만)
+ALTER TABLE TB_TASK_RUN ADD (CLAIMED_BY VARCHAR2(100 CHAR));
@@ -0,0 +1,2 @@
+-- 공정 분배 선점 후보: READY가 있는 JobRun을 건너뛰며 열거(MIN 반복)하고, JobRun마다 PRIORITY DESC, AVAILABLE_AT, ID 순 앞 n개만 읽음
+CREATE INDEX IX_TASK_RUN_RUN_READY ON TB_TASK_RUN (STATUS, JOB_RUN_ID, PRIORITY DESC, AVAILABLE_AT, ID);
@@ -0,0 +1,2 @@
+-- 타이밍 휠 증분 동기화: UPDATED_AT 이후 변경된 Job만 범위 스캔
+CREATE INDEX IX_TB_JOB_UPDATED ON TB_JOB (UPDATED_AT);
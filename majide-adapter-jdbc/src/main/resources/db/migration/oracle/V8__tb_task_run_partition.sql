@@ -0,0 +1,8 @@
+-- 파티션 선점: 워커 슬롯이 MOD(PARTITION_KEY, 활성 슬롯 수)로 TB_TASK_RUN을 나눠 가짐
+-- 가상 컬럼이라 INSERT 경로 변경 없음 (값은 인덱스에 저장)
+ALTER TABLE TB_TASK_RUN ADD (
+    PARTITION_KEY NUMBER(10,0) GENERATED ALWAYS AS (ORA_HASH(ID, 1023)) VIRTUAL
+);
+
+-- 자기 파티션 스캔: READY 구간에서 PARTITION_KEY 조건을 인덱스 안에서 거름
+CREATE INDEX IX_TASK_RUN_PART_READY ON TB_TASK_RUN (STATUS, PARTITION_KEY, AVAILABLE_AT);
@@ -0,0 +1,2 @@
+-- 슬롯 회수 시 그 슬롯이 선점한 RUNNING 재노출 (WORKER_ID = ? AND STATUS = 'RUNNING')
+CREATE INDEX IX_TASK_RUN_WORKER ON TB_TASK_RUN (WORKER_ID, STATUS);
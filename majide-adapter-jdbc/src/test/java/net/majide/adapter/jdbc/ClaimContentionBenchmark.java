@@ -0,0 +1,139 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.TaskRun;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 다중 디스패처 선점 경합 벤치마크
+ * - 공유 큐(IX_TASK_RUN_READY 선두 경쟁) vs 슬롯 파티션 선점
+ * - 디스패처별 스레드가 빌 때까지 배치 선점, 빈/모자란 선점(SKIP LOCKED로 밀린 횟수)과 소요 시간을 출력
+ * - 두 모드 모두 전체를 정확히 한 번씩 선점했는지 단언
+ */
+class ClaimContentionBenchmark extends TestSupport {
+
+    static final int TASKS = 400;
+    static final int DISPATCHERS = 4;
+    static final int BATCH = 10;
+
+    TxRunner tx;
+    TaskRunRepository taskRuns;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate("TB_TASK_RUN", "TB_JOB_RUN", "TB_TASK_DEP", "TB_TASK", "TB_JOB", "TB_WORKER_SLOT");
+        execute(IntStream.range(0, DISPATCHERS).mapToObj(w -> """
+                INSERT INTO TB_WORKER_SLOT(WORKER_ID, INSTANCE_TOKEN, LEASE_UNTIL, HEARTBEAT_AT)
+                VALUES(%d, 'bench-%d', CURRENT_TIMESTAMP + NUMTODSINTERVAL(600,'SECOND'), CURRENT_TIMESTAMP)
+            """.formatted(w, w)).toArray(String[]::new));
+    }
+
+    @Test
+    void ownPartitionFirst_claimsOnlyOwnRows_untilEmpty() throws Exception {
+        long jobRunId = seedRun("contention", 40);
+        var spec = ClaimSpec.of(BATCH, Duration.ofSeconds(60), "bench-1").withWorkerId(1).withPartitioned(true);
+
+        List<TaskRun> first = tx.required(() -> taskRuns.claimReadyBatch(spec));
+        assertFalse(first.isEmpty());
+        assertTrue(partitionsOf(first).stream().allMatch(p -> p % DISPATCHERS == 1), "slot #1 owns PARTITION_KEY mod 4 = 1");
+
+        // 자기 파티션을 다 비운 뒤에는 다른 파티션에서 가져옴
+        int claimed = first.size();
+        while (true) {
+            int got = tx.required(() -> taskRuns.claimReadyBatch(spec)).size();
+            if (got == 0) break;
+            claimed += got;
+        }
+        assertEquals(40, claimed);
+        assertEquals(40, tx.required(() -> taskRuns.findAllByJobRun(jobRunId)).stream()
+                .filter(r -> r.status() == TaskRun.Status.RUNNING).count());
+    }
+
+    @Test
+    void sharedQueue_vs_slotPartitions() throws Exception {
+        long jobRunId = seedRun("contention", TASKS);
+        Result shared = run(false);
+        reset(jobRunId);
+        Result partitioned = run(true);
+
+        System.out.printf("[claim/shared]      dispatchers=%d claims=%d shortClaims=%d elapsed=%.1fms%n",
+                DISPATCHERS, shared.claims, shared.shortClaims, shared.elapsedMs);
+        System.out.printf("[claim/partitioned] dispatchers=%d claims=%d shortClaims=%d elapsed=%.1fms%n",
+                DISPATCHERS, partitioned.claims, partitioned.shortClaims, partitioned.elapsedMs);
+
+        assertEquals(TASKS, shared.distinct);
+        assertEquals(TASKS, partitioned.distinct);
+    }
+
+    record Result(int claims, int shortClaims, int distinct, double elapsedMs) { }
+
+    /** 디스패처 DISPATCHERS개가 동시에 빌 때까지 선점 */
+    private Result run(boolean partitioned) throws Exception {
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        var duplicates = new AtomicInteger();
+        var claims = new AtomicInteger();
+        var shortClaims = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < DISPATCHERS; w++) {
+            var spec = ClaimSpec.of(BATCH, Duration.ofSeconds(60), "bench-" + w).withWorkerId(w).withPartitioned(partitioned);
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    while (true) {
+                        List<TaskRun> got = tx.required(() -> taskRuns.claimReadyBatch(spec));
+                        if (got.isEmpty()) break;
+                        claims.incrementAndGet();
+                        if (got.size() < BATCH) shortClaims.incrementAndGet();
+                        for (TaskRun r : got) if (!seen.add(r.id())) duplicates.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Thread t : threads) t.join();
+        double elapsed = (System.nanoTime() - t0) / 1e6;
+        assertEquals(0, duplicates.get(), "no TaskRun claimed twice");
+        return new Result(claims.get(), shortClaims.get(), seen.size(), elapsed);
+    }
+
+    private void reset(long jobRunId) throws Exception {
+        tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement(
+                    "UPDATE TB_TASK_RUN SET STATUS='READY', LEASE_UNTIL=NULL WHERE JOB_RUN_ID=?")) {
+                ps.setLong(1, jobRunId);
+                ps.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    private List<Integer> partitionsOf(List<TaskRun> runs) throws Exception {
+        var out = new ArrayList<Integer>();
+        for (TaskRun r : runs) out.add((int) queryLong("SELECT PARTITION_KEY FROM TB_TASK_RUN WHERE ID = ?", r.id()));
+        return out;
+    }
+}
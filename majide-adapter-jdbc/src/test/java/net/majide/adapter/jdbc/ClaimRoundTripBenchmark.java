@@ -0,0 +1,175 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.JobRun;
+import net.majide.core.model.Task;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.TaskGraphService;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 선점(claim) 라운드트립 마이크로 벤치마크
+ * - SELECT_THEN_UPDATE(기존) vs PLSQL_RETURNING(단일 블록)
+ * - 선점 1건당 DB 호출 수(execute*) / 평균 지연을 출력하고, 호출 수를 단언
+ * - JobRun 준비: 태스크당 MERGE vs 집합 MERGE vs JDBC 배치
+ */
+class ClaimRoundTripBenchmark extends TestSupport {
+
+    static final int TASKS = 200;
+    static final int JOBS = 50;
+
+    TxRunner tx;
+    RoundTripCounter counter;
+    TaskRepository tasks;
+    TaskDependencyRepository deps;
+    JobRunRepository jobRuns;
+    Clock clock;
+
+    @BeforeAll
+    void initAll() throws Exception {
+        counter = new RoundTripCounter();
+        tx = new JdbcTxRunner(counter.wrap(ds));
+        tasks   = new JdbcTaskRepository(ds);
+        deps    = new JdbcTaskDependencyRepository(ds);
+        jobRuns = new JdbcJobRunRepository(ds);
+        clock   = Instant::now;
+        tx.required(() -> { TxContext.get().createStatement().execute("ALTER SESSION SET TIME_ZONE='Asia/Seoul'"); return null; });
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void claimReady_roundTrips_selectThenUpdate_vs_plsqlReturning() throws Exception {
+        double legacy = measureTaskClaims(ClaimStrategy.SELECT_THEN_UPDATE);
+        truncateAll();
+        double single = measureTaskClaims(ClaimStrategy.PLSQL_RETURNING);
+
+        assertEquals(3.0, legacy, 0.0001, "legacy: lock SELECT + UPDATE + re-SELECT");
+        assertEquals(1.0, single, 0.0001, "PL/SQL block: one call per claim");
+    }
+
+    @Test
+    void claimDueJob_roundTrips_selectThenUpdate_vs_plsqlReturning() throws Exception {
+        double legacy = measureJobClaims(ClaimStrategy.SELECT_THEN_UPDATE);
+        truncateAll();
+        double single = measureJobClaims(ClaimStrategy.PLSQL_RETURNING);
+
+        assertEquals(2.0, legacy, 0.0001, "legacy: lock SELECT + UPDATE");
+        assertEquals(1.0, single, 0.0001, "PL/SQL block: one call per claim");
+    }
+
+    @Test
+    void prepareFor_roundTrips_perTaskMerge_vs_setBased_vs_batch() throws Exception {
+        long jobId = createJob("wide", 0);
+        tx.required(() -> {
+            tasks.upsert(new Task(null, jobId, "root", "h", null, null, null, 0, clock.now(), clock.now()));
+            long root = tasks.findByJobAndName(jobId, "root").orElseThrow().id();
+            for (int i = 0; i < TASKS; i++) {
+                tasks.upsert(new Task(null, jobId, "t" + i, "h", null, null, null, 1, clock.now(), clock.now()));
+                deps.add(root, tasks.findByJobAndName(jobId, "t" + i).orElseThrow().id());
+            }
+            return null;
+        });
+
+        // 기존: 태스크마다 createOrReset
+        long run0 = tx.required(() -> jobRuns.upsert(jobId, "rk-0", JobRun.Status.CREATED).id());
+        var repo = new JdbcTaskRunRepository(ds);
+        counter.reset();
+        tx.required(() -> {
+            for (Task t : tasks.findAllByJob(jobId)) {
+                repo.createOrReset(run0, t.id(), t.indegree(), t.indegree() == 0 ? TaskRun.Status.READY : TaskRun.Status.BLOCKED, null);
+            }
+            return null;
+        });
+        long perTask = counter.statements();
+
+        long setBased = measurePrepare(jobId, "rk-1", MaterializeStrategy.SET_BASED);
+        long batched  = measurePrepare(jobId, "rk-2", MaterializeStrategy.JDBC_BATCH);
+        long again    = measurePrepare(jobId, "rk-1", MaterializeStrategy.SET_BASED); // 재준비(멱등)
+        System.out.printf("[prepareFor] tasks=%d perTaskMerge=%d setBased=%d batch=%d%n", TASKS + 1, perTask, setBased, batched);
+
+        assertEquals(TASKS + 2, perTask, "findAllByJob + one MERGE per task");
+        assertEquals(1, setBased, "single MERGE ... USING (SELECT FROM TB_TASK)");
+        assertEquals(2, batched, "task/pre-count SELECT + one executeBatch");
+        assertEquals(1, again);
+
+        for (String rk : new String[]{"rk-1", "rk-2"}) {
+            long runId = tx.required(() -> jobRuns.upsert(jobId, rk, JobRun.Status.CREATED).id());
+            var runs = tx.required(() -> repo.findAllByJobRun(runId));
+            assertEquals(TASKS + 1, runs.size());
+            assertEquals(1, runs.stream().filter(tr -> tr.status() == TaskRun.Status.READY).count());
+            assertTrue(runs.stream().filter(tr -> tr.status() == TaskRun.Status.BLOCKED).allMatch(tr -> tr.preCnt() == 1));
+        }
+    }
+
+    // ===== helpers =====
+
+    /** JobRun 하나를 준비하는 데 든 statement 수 */
+    private long measurePrepare(long jobId, String runKey, MaterializeStrategy strategy) throws Exception {
+        long runId = tx.required(() -> jobRuns.upsert(jobId, runKey, JobRun.Status.CREATED).id());
+        var repo = new JdbcTaskRunRepository(ds, ClaimStrategy.PLSQL_RETURNING, strategy);
+        var graph = new TaskGraphService(tasks, deps, repo, tx, clock);
+        counter.reset();
+        graph.prepareFor(jobId, runId);
+        return counter.statements();
+    }
+
+    /** READY TASKS건을 하나씩 선점하며 선점 1건당 statement 수를 반환 */
+    private double measureTaskClaims(ClaimStrategy strategy) throws Exception {
+        long jobId = createJob("bench", 0);
+        tx.required(() -> {
+            for (int i = 0; i < TASKS; i++) {
+                tasks.upsert(new Task(null, jobId, "t" + i, "h", null, null, null, 0, clock.now(), clock.now()));
+            }
+            return null;
+        });
+        long runId = tx.required(() -> jobRuns.upsert(jobId, "rk-1", JobRun.Status.CREATED).id());
+        var plain = new JdbcTaskRunRepository(ds, strategy);
+        new TaskGraphService(tasks, deps, plain, tx, clock).prepareFor(jobId, runId);
+
+        counter.reset();
+        long t0 = System.nanoTime();
+        int claimed = 0;
+        for (int i = 0; i < TASKS; i++) {
+            claimed += tx.required(() -> plain.claimReady(Duration.ofSeconds(30), "bench")).isPresent() ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - t0;
+        assertEquals(TASKS, claimed);
+
+        double perClaim = (double) counter.statements() / claimed;
+        System.out.printf("[claimReady/%s] claims=%d statements=%d (%.2f/claim) commits=%d avg=%.3fms%n",
+                strategy, claimed, counter.statements(), perClaim, counter.commits(), elapsed / 1e6 / claimed);
+        return perClaim;
+    }
+
+    /** due Job JOBS건을 하나씩 선점하며 선점 1건당 statement 수를 반환 */
+    private double measureJobClaims(ClaimStrategy strategy) throws Exception {
+        for (int i = 0; i < JOBS; i++) createJob("job-" + i, -60);
+        var repo = new JdbcJobRepository(ds, strategy);
+
+        counter.reset();
+        long t0 = System.nanoTime();
+        int claimed = 0;
+        for (int i = 0; i < JOBS; i++) {
+            claimed += tx.required(() -> repo.claimDueJob(Duration.ofSeconds(60), "bench")).isPresent() ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - t0;
+        assertEquals(JOBS, claimed);
+
+        double perClaim = (double) counter.statements() / claimed;
+        System.out.printf("[claimDueJob/%s] claims=%d statements=%d (%.2f/claim) commits=%d avg=%.3fms%n",
+                strategy, claimed, counter.statements(), perClaim, counter.commits(), elapsed / 1e6 / claimed);
+        return perClaim;
+    }
+}
@@ -233,6 +233,54 @@ class ConcurrentProcessingAcceptanceTest extends TestSupport {
         assertEquals(0, all.stream().filter(tr -> tr.status()== TaskRun.Status.READY).count());
     }
 
+    // ========== t5: READY 20건을 4스레드가 배치(3개씩) Claim — 중복 없이 정확히 20건 ==========
+    @Test
+    void t5_parallel_claimReadyBatch_distributesWithoutDuplication() throws Exception {
+        long jobId = seedJob("demo5");
+        tx.required(() -> {
+            for (int i = 0; i < 20; i++) {
+                tasks.upsert(new Task(null, jobId, "t"+i, "h", null, null, "t"+i, 0, clock.now(), clock.now()));
+            }
+            return null;
+        });
+        long runId = tx.required(() -> jobRuns.upsert(jobId, "rk-1", JobRun.Status.CREATED).id());
+        new net.majide.core.service.TaskGraphService(tasks, deps, taskRuns, tx, clock).prepareFor(jobId, runId);
+
+        ExecutorService es = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> claimedIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger totalClaims = new AtomicInteger(0);
+
+        Runnable worker = () -> {
+            try {
+                start.await();
+                while (true) {
+                    List<TaskRun> batch = tx.requiresNew(() -> taskRuns.claimReadyBatch(3, Duration.ofSeconds(30), "w"));
+                    if (batch.isEmpty()) break;
+                    assertTrue(batch.size() <= 3, "batch must not exceed n");
+                    for (TaskRun tr : batch) {
+                        assertEquals(TaskRun.Status.RUNNING, tr.status());
+                        assertNotNull(tr.leaseUntil());
+                        claimedIds.add(tr.id());
+                    }
+                    totalClaims.addAndGet(batch.size());
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        };
+
+        for (int i = 0; i < 4; i++) es.submit(worker);
+        start.countDown();
+        es.shutdown();
+        assertTrue(es.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(20, claimedIds.size(), "no duplicates, all 20 claimed exactly once");
+        assertEquals(20, totalClaims.get(), "exactly 20 successful claims");
+        var all = tx.required(() -> taskRuns.findAllByJobRun(runId));
+        assertEquals(20, all.stream().filter(tr -> tr.status()== TaskRun.Status.RUNNING).count());
+    }
+
     // ===== helpers =====
 
     private long seedJob(String name) throws Exception {
@@ -0,0 +1,164 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.JobRun;
+import net.majide.core.model.Task;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.*;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DispatchLoopAcceptanceTest extends TestSupport {
+
+    static final String JOB_RUNS = "SELECT COUNT(*) FROM TB_JOB_RUN WHERE JOB_ID = ?";
+
+    TxRunner tx;
+    JobRepository jobs;
+    JobRunRepository jobRuns;
+    TaskRepository tasks;
+    TaskDependencyRepository deps;
+    TaskRunRepository taskRuns;
+    Clock clock;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        jobs     = new JdbcJobRepository(ds);
+        jobRuns  = new JdbcJobRunRepository(ds);
+        tasks    = new JdbcTaskRepository(ds);
+        deps     = new JdbcTaskDependencyRepository(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+        clock = Instant::now;
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void timeUntilNext_isMeasuredOnDbClock_and_emptyWithoutWork() throws Exception {
+        assertTrue(tx.required(() -> jobs.timeUntilNextDue()).isEmpty());
+        assertTrue(tx.required(() -> taskRuns.timeUntilNextReady()).isEmpty());
+
+        createJob("soon", 2);
+        Duration until = tx.required(() -> jobs.timeUntilNextDue()).orElseThrow();
+        assertTrue(until.compareTo(Duration.ofMillis(500)) > 0 && until.compareTo(Duration.ofSeconds(2)) <= 0, until.toString());
+
+        // 선점 중이면 lease 만료 시각 기준
+        tx.required(() -> {
+            TxContext.get().createStatement().executeUpdate(
+                    "UPDATE TB_JOB SET LEASE_UNTIL = CURRENT_TIMESTAMP + NUMTODSINTERVAL(20,'SECOND')");
+            return null;
+        });
+        Duration leased = tx.required(() -> jobs.timeUntilNextDue()).orElseThrow();
+        assertTrue(leased.compareTo(Duration.ofSeconds(15)) > 0, leased.toString());
+    }
+
+    @Test
+    void loop_wakesAtNextDue_insteadOfWaitingMaxInterval() throws Exception {
+        long jobId = createJob("wake", 2);
+        seedTasks(jobId, List.of(task("t1", "h1")));
+
+        var graph = new TaskGraphService(tasks, deps, taskRuns, tx, clock);
+        var tick  = new JobTickService(jobs, jobRuns, graph, tx, clock, (from, expr, zone) -> from.plusSeconds(3600));
+        var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(1)),
+                TaskDispatchService.Settings.DEFAULT.withGraph(graph));
+        var orchestrator = new Orchestrator(tick, dispatch);
+
+        long start = System.nanoTime();
+        try (var loop = new DispatchLoop(orchestrator, jobs, taskRuns, tx, Duration.ofSeconds(5), Duration.ofSeconds(30), 10,
+                DispatchLoop.Settings.DEFAULT.withMaxInterval(Duration.ofSeconds(60)).withMinBackoff(Duration.ofMillis(50)))) {
+            loop.start();
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (queryLong(JOB_RUNS, jobId) == 0 && System.nanoTime() < deadline) Thread.sleep(50);
+        }
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals(1, queryLong(JOB_RUNS, jobId));
+        assertTrue(elapsedMs < 5000, "fired at due time, not after maxInterval: " + elapsedMs + "ms");
+    }
+
+    @Test
+    void markDone_wakesLoop_soSuccessorIsClaimedWithoutWaitingMaxInterval() throws Exception {
+        long jobId = createJob("bus", 3600);
+        long jobRunId = tx.required(() -> {
+            tasks.upsert(new Task(null, jobId, "a", "h", null, null, null, 0, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "b", "h", null, null, null, 1, clock.now(), clock.now()));
+            deps.add(tasks.findByJobAndName(jobId, "a").orElseThrow().id(), tasks.findByJobAndName(jobId, "b").orElseThrow().id());
+            return jobRuns.upsert(jobId, "bus-1", JobRun.Status.CREATED).id();
+        });
+
+        var bus   = new InProcessWakeupBus();
+        var graph = new TaskGraphService(taskRuns, tx, TaskGraphService.Settings.DEFAULT.withWakeups(bus));
+        var tick  = new JobTickService(jobs, jobRuns, graph, tx, clock, (from, expr, zone) -> from.plusSeconds(3600));
+        var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(1)),
+                TaskDispatchService.Settings.DEFAULT.withGraph(graph).withWakeups(bus));
+        graph.prepareFor(jobId, jobRunId);
+
+        try (var loop = new DispatchLoop(new Orchestrator(tick, dispatch), jobs, taskRuns, tx,
+                Duration.ofSeconds(5), Duration.ofSeconds(30), 10,
+                DispatchLoop.Settings.DEFAULT.withMaxInterval(Duration.ofSeconds(60)).withMinBackoff(Duration.ofMillis(50))
+                        .withWakeups(bus))) {
+            loop.start();
+            long taskA = awaitStatus(jobId, jobRunId, "a", TaskRun.Status.RUNNING, Duration.ofSeconds(10));
+            Thread.sleep(300); // 루프가 다음 일감 없음 → maxInterval 대기에 들어가도록
+
+            long start = System.nanoTime();
+            dispatch.markDone(tx.required(() -> taskRuns.findById(taskA).orElseThrow())); // b READY 승격 + 알림
+            awaitStatus(jobId, jobRunId, "b", TaskRun.Status.RUNNING, Duration.ofSeconds(10));
+            long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            assertTrue(elapsedMs < 2000, "successor claimed on wakeup, not after maxInterval: " + elapsedMs + "ms");
+        }
+    }
+
+    @Test
+    void nextReady_ignoresTasksThisNodeCannotClaim() throws Exception {
+        seedRun("foreign", List.of(task("f", "h.foreign")));
+
+        assertTrue(tx.required(() -> taskRuns.timeUntilNextReady()).isPresent());
+        assertTrue(tx.required(() -> taskRuns.timeUntilNextReady(null, false)).isPresent(), "null = no filter");
+        assertTrue(tx.required(() -> taskRuns.timeUntilNextReady(Set.of("h.foreign"), false)).isPresent());
+        assertTrue(tx.required(() -> taskRuns.timeUntilNextReady(Set.of("h.local"), false)).isEmpty(),
+                "another node's READY run does not pull this loop out of its wait");
+        assertTrue(tx.required(() -> taskRuns.timeUntilNextReady(Set.of("h.local"), true)).isEmpty(),
+                "not method-bound either");
+    }
+
+    @Test
+    void failAndRetry_publishesWakeup_likeMarkDone() throws Exception {
+        seedRun("retry", List.of(task("r", "h")));
+
+        var bus = new InProcessWakeupBus();
+        var published = new AtomicInteger();
+        try (var sub = bus.subscribe(published::incrementAndGet)) {
+            var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(1)),
+                    TaskDispatchService.Settings.DEFAULT.withWakeups(bus));
+            TaskRun claimed = dispatch.claimUpTo(1, Duration.ofSeconds(30), null).get(0);
+            assertTrue(dispatch.failAndRetry(claimed, "boom"));
+            assertEquals(1, published.get(), "the freed execution slot wakes the dispatch loop");
+        }
+    }
+
+    private long awaitStatus(long jobId, long jobRunId, String taskName, TaskRun.Status status, Duration timeout) throws Exception {
+        long taskId = tx.required(() -> tasks.findByJobAndName(jobId, taskName).orElseThrow().id());
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            var tr = tx.required(() -> taskRuns.findAllByJobRun(jobRunId)).stream()
+                    .filter(r -> r.taskId() == taskId).findFirst();
+            if (tr.isPresent() && tr.get().status() == status) return tr.get().id();
+            Thread.sleep(20);
+        }
+        return fail(taskName + " did not reach " + status);
+    }
+}
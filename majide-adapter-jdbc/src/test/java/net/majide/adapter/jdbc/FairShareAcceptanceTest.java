@@ -0,0 +1,110 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.TaskDispatchService;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairShareAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    JobRepository jobs;
+    TaskRunRepository taskRuns;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        jobs     = new JdbcJobRepository(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void fifo_letsHugeRunStarve_butJobRunShareSpreadsTheBatch() throws Exception {
+        long huge  = run("huge", 100);
+        long small = run("small", 5);
+        long tiny  = run("tiny", 5);
+
+        var fifo = dispatch(ClaimSpec.FairShare.NONE);
+        List<TaskRun> first = fifo.claimUpTo(6, Duration.ofSeconds(60), null);
+        assertEquals(Map.of(huge, 6L), perRun(first));
+        fifo.release(first);
+
+        var fair = dispatch(ClaimSpec.FairShare.JOB_RUN);
+        assertEquals(Map.of(huge, 2L, small, 2L, tiny, 2L), perRun(fair.claimUpTo(6, Duration.ofSeconds(60), null)));
+    }
+
+    @Test
+    void weights_scaleEachRunsShare() throws Exception {
+        long heavy = run("heavy", 100);
+        long a     = run("a", 10);
+        long b     = run("b", 10);
+        share("heavy", null, 2);
+
+        var fair = dispatch(ClaimSpec.FairShare.JOB_RUN);
+        assertEquals(Map.of(heavy, 4L, a, 2L, b, 2L), perRun(fair.claimUpTo(8, Duration.ofSeconds(60), null)),
+                "weight 2 = two slots per round");
+    }
+
+    @Test
+    void group_sharesOneSliceAcrossTenantJobs() throws Exception {
+        long big = run("big", 100);
+        long t1  = run("tenant-job-1", 10);
+        long t2  = run("tenant-job-2", 10);
+        share("tenant-job-1", "tenant", 1);
+        share("tenant-job-2", "tenant", 1);
+
+        var fair = dispatch(ClaimSpec.FairShare.GROUP);
+        Map<Long, Long> got = perRun(fair.claimUpTo(4, Duration.ofSeconds(60), null));
+        assertEquals(2L, got.get(big));
+        assertEquals(2L, got.getOrDefault(t1, 0L) + got.getOrDefault(t2, 0L), "tenant's two jobs split one share");
+    }
+
+    @Test
+    void higherPriorityLane_isDrainedFirst_fromEachRunsLeadingCandidates() throws Exception {
+        long bulk   = run("bulk", 100);
+        long urgent = run("urgent", 3);
+        long other  = run("other", 10);
+        execute("UPDATE TB_TASK_RUN SET PRIORITY = 5 WHERE JOB_RUN_ID = " + urgent);
+
+        var fair = dispatch(ClaimSpec.FairShare.JOB_RUN);
+        Map<Long, Long> got = perRun(fair.claimUpTo(7, Duration.ofSeconds(60), null));
+        assertEquals(Map.of(urgent, 3L, bulk, 2L, other, 2L), got, "urgent lane first, then round-robin below it");
+    }
+
+    private void share(String jobName, String group, int weight) throws Exception {
+        tx.required(() -> {
+            jobs.updateShare(jobs.findByName(jobName).orElseThrow().id(), group, weight);
+            return null;
+        });
+    }
+
+    private TaskDispatchService dispatch(ClaimSpec.FairShare share) {
+        return dispatch(TaskDispatchService.Settings.DEFAULT.withFairShare(share));
+    }
+
+    private static Map<Long, Long> perRun(List<TaskRun> claimed) {
+        return claimed.stream().collect(Collectors.groupingBy(TaskRun::jobRunId, Collectors.counting()));
+    }
+
+    /** Job + n개 태스크 + JobRun 준비 (먼저 만든 쪽이 AVAILABLE_AT도 이름) */
+    private long run(String name, int n) throws Exception {
+        long jobRunId = seedRun(name, n);
+        Thread.sleep(20);
+        return jobRunId;
+    }
+}
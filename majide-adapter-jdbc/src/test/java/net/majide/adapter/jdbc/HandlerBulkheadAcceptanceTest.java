@@ -0,0 +1,93 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.TaskRun;
+import net.majide.core.runtime.HandlerBulkheads;
+import net.majide.core.runtime.HandlerBulkheads.ExecutionClass;
+import net.majide.core.runtime.TaskExecutionRuntime;
+import net.majide.core.runtime.TaskHandlerRegistry;
+import net.majide.core.service.*;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandlerBulkheadAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    JobRepository jobs;
+    JobRunRepository jobRuns;
+    TaskRepository tasks;
+    TaskDependencyRepository deps;
+    TaskRunRepository taskRuns;
+    Clock clock;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        jobs     = new JdbcJobRepository(ds);
+        jobRuns  = new JdbcJobRunRepository(ds);
+        tasks    = new JdbcTaskRepository(ds);
+        deps     = new JdbcTaskDependencyRepository(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+        clock = Instant::now;
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void saturatedHandler_isNotClaimed_and_cpuClassRunsOnPlatformPool() throws Exception {
+        // slow.io 10개 + hot.cpu 10개, slow가 먼저 READY (FIFO였다면 한 핸들러가 선점을 다 가져감)
+        long jobRunId = seedRun("bulkhead",
+                Stream.concat(tasks("s", "slow.io", 10).stream(), tasks("c", "hot.cpu", 10).stream()).toList());
+        var gate = new CountDownLatch(1);
+        Set<String> ioThreads = ConcurrentHashMap.newKeySet();
+        Set<String> cpuThreads = ConcurrentHashMap.newKeySet();
+        var registry = new TaskHandlerRegistry()
+                .register("slow.io", ctx -> { ioThreads.add(Thread.currentThread().toString()); gate.await(); })
+                .register("hot.cpu", ctx -> { cpuThreads.add(Thread.currentThread().getName()); gate.await(); });
+        var bulkheads = new HandlerBulkheads(Map.of(
+                "slow.io", new HandlerBulkheads.Spec(ExecutionClass.IO, 2),
+                "hot.cpu", new HandlerBulkheads.Spec(ExecutionClass.CPU, 3)));
+
+        var graph    = new TaskGraphService(tasks, deps, taskRuns, tx, clock);
+        var tick     = new JobTickService(jobs, jobRuns, graph, tx, clock, (from, expr, zone) -> from.plusSeconds(3600));
+        var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)),
+                TaskDispatchService.Settings.DEFAULT.withGraph(graph));
+        try (var runtime = new TaskExecutionRuntime(registry, tasks, dispatch, tx,
+                TaskExecutionRuntime.Settings.of(64).withBulkheads(bulkheads).withCpuThreads(2))) {
+            var orchestrator = new Orchestrator(tick, dispatch, runtime);
+
+            var first = orchestrator.tick(Duration.ofSeconds(5), Duration.ofSeconds(60), 50);
+            assertEquals(5, first.tasksClaimed(), "2 slow.io + 3 hot.cpu, the rest stays READY in the DB");
+            assertEquals(Map.of("slow.io", 0, "hot.cpu", 0), runtime.handlerCaps());
+
+            var second = orchestrator.tick(Duration.ofSeconds(5), Duration.ofSeconds(60), 50);
+            assertEquals(0, second.tasksClaimed(), "no claim while both bulkheads are full");
+            assertEquals(15, countStatus(jobRunId, TaskRun.Status.READY));
+
+            gate.countDown();
+            long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+            while (countStatus(jobRunId, TaskRun.Status.DONE) < 20 && System.nanoTime() < deadline) {
+                orchestrator.tick(Duration.ofSeconds(5), Duration.ofSeconds(60), 50);
+                Thread.sleep(50);
+            }
+            assertEquals(20, countStatus(jobRunId, TaskRun.Status.DONE));
+        }
+        assertTrue(cpuThreads.stream().allMatch(n -> n.startsWith("majide-cpu-")), cpuThreads.toString());
+        assertTrue(ioThreads.stream().allMatch(n -> n.startsWith("VirtualThread")), ioThreads.toString());
+    }
+}
@@ -0,0 +1,154 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.Job;
+import net.majide.core.model.JobRun;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.JobTickService;
+import net.majide.core.service.RetryPolicy;
+import net.majide.core.service.TaskDispatchService;
+import net.majide.core.service.TaskGraphService;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobOverlapAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    JobRepository jobs;
+    JobRunRepository jobRuns;
+    TaskRepository tasks;
+    TaskDependencyRepository deps;
+    TaskRunRepository taskRuns;
+    Clock clock;
+    JobTickService tick;
+    TaskDispatchService dispatch;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        jobs     = new JdbcJobRepository(ds);
+        jobRuns  = new JdbcJobRunRepository(ds);
+        tasks    = new JdbcTaskRepository(ds);
+        deps     = new JdbcTaskDependencyRepository(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+        clock = Instant::now;
+        var graph = new TaskGraphService(tasks, deps, taskRuns, tx, clock);
+        // 다음 슬롯도 이미 지난 시각 → 매 틱마다 due. QUEUE 재판정은 1초 뒤
+        tick = new JobTickService(jobs, jobRuns, graph, tx, clock, (from, expr, zone) -> from.plusSeconds(1),
+                JobTickService.Settings.DEFAULT.withQueueRecheck(Duration.ofSeconds(1)));
+        dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)),
+                TaskDispatchService.Settings.DEFAULT.withGraph(graph));
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void allow_keepsCreatingRuns() throws Exception {
+        long jobId = seed(Job.OverlapPolicy.ALLOW, 1);
+        for (int i = 0; i < 3; i++) assertTrue(tick.tickOnce(Duration.ofSeconds(30)));
+        assertEquals(3, runs(jobId).size());
+    }
+
+    @Test
+    void skip_dropsSlotsWhileRunActive_andAdvancesCursor() throws Exception {
+        long jobId = seed(Job.OverlapPolicy.SKIP, 1);
+        assertTrue(tick.tickOnce(Duration.ofSeconds(30)));
+        Instant cursor = nextDueAt(jobId);
+
+        assertTrue(tick.tickOnce(Duration.ofSeconds(30)));
+        assertEquals(1, runs(jobId).size(), "slot skipped");
+        assertTrue(nextDueAt(jobId).isAfter(cursor), "skipped slot still moves the cursor");
+
+        finishAll();
+        assertTrue(tick.tickOnce(Duration.ofSeconds(30)));
+        assertEquals(2, runs(jobId).size(), "previous run done → next slot runs");
+    }
+
+    @Test
+    void maxConcurrentRuns_allowsThatManyBeforePolicyApplies() throws Exception {
+        long jobId = seed(Job.OverlapPolicy.SKIP, 2);
+        for (int i = 0; i < 4; i++) tick.tickOnce(Duration.ofSeconds(30));
+        assertEquals(2, runs(jobId).size());
+    }
+
+    @Test
+    void queue_holdsCursorUntilPreviousRunFinishes() throws Exception {
+        long jobId = seed(Job.OverlapPolicy.QUEUE, 1);
+        assertTrue(tick.tickOnce(Duration.ofSeconds(60)));
+        Instant queuedSlot = nextDueAt(jobId);
+
+        assertTrue(tick.tickOnce(Duration.ofSeconds(60)));
+        assertEquals(1, runs(jobId).size());
+        assertEquals(queuedSlot, nextDueAt(jobId), "cursor stays on the queued slot");
+
+        finishAll();
+        assertFalse(tick.tickOnce(Duration.ofSeconds(60)), "queued job waits out the recheck interval");
+        Thread.sleep(1500);
+        assertTrue(tick.tickOnce(Duration.ofSeconds(60)), "re-checked well before the 60s job lease would expire");
+        List<JobRun> runs = runs(jobId);
+        assertEquals(2, runs.size());
+        assertEquals(queuedSlot.toString(), runs.get(1).runKey(), "queued slot runs, not a later one");
+    }
+
+    @Test
+    void cancelPrevious_cancelsActiveRun_andItsTaskRuns() throws Exception {
+        long jobId = seed(Job.OverlapPolicy.CANCEL_PREVIOUS, 1);
+        assertTrue(tick.tickOnce(Duration.ofSeconds(30)));
+        List<TaskRun> running = dispatch.claimUpTo(10, Duration.ofSeconds(60), null);
+        assertEquals(1, running.size());
+
+        assertTrue(tick.tickOnce(Duration.ofSeconds(30)));
+        List<JobRun> runs = runs(jobId);
+        assertEquals(2, runs.size());
+        assertEquals(JobRun.Status.CANCELLED, runs.get(0).status());
+        assertEquals(JobRun.Status.CREATED, runs.get(1).status());
+        assertEquals(TaskRun.Status.CANCELLED, statusOf(running.get(0).id()));
+
+        assertEquals(TaskRunRepository.LOST_CLAIM, dispatch.markDone(running.get(0))); // 늦게 끝난 워커
+        assertEquals(TaskRun.Status.CANCELLED, statusOf(running.get(0).id()), "late completion does not revive it");
+    }
+
+    private long seed(Job.OverlapPolicy policy, int maxConcurrentRuns) throws Exception {
+        long jobId = tx.required(() -> jobs.upsert("overlap", "overlap", "0 * * * * ?", clock.now().minusSeconds(600)).id());
+        tx.required(() -> {
+            jobs.updateOverlap(jobId, policy, maxConcurrentRuns);
+            return null;
+        });
+        seedTasks(jobId, List.of(task("only", "h")));
+        return jobId;
+    }
+
+    /** READY TaskRun을 전부 선점해서 완료 */
+    private void finishAll() throws Exception {
+        for (TaskRun tr : dispatch.claimUpTo(100, Duration.ofSeconds(60), null)) dispatch.markDone(tr);
+    }
+
+    private List<JobRun> runs(long jobId) throws Exception {
+        return tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement("SELECT RUN_KEY FROM TB_JOB_RUN WHERE JOB_ID = ? ORDER BY ID")) {
+                ps.setLong(1, jobId);
+                List<JobRun> out = new ArrayList<>();
+                try (var rs = ps.executeQuery()) {
+                    while (rs.next()) out.add(jobRuns.findByJobAndRunKey(jobId, rs.getString(1)).orElseThrow());
+                }
+                return out;
+            }
+        });
+    }
+
+    private Instant nextDueAt(long jobId) throws Exception {
+        return tx.required(() -> jobs.findById(jobId).orElseThrow().nextDueAt());
+    }
+}
@@ -13,6 +13,8 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -104,4 +106,107 @@ class JobTickServiceAcceptanceTest extends TestSupport {
         Instant afterNextDue = tx.required(() -> jobs.findById(jobId).orElseThrow().nextDueAt());
         assertTrue(afterNextDue.isAfter(beforeNextDue), "next_due_at should advance");
     }
+
+    @Test
+    void drain_claimsAllDueJobsInBatches_preparesInParallel_and_isIdempotentPerSlot() throws Exception {
+        int n = 30;
+        tx.required(() -> {
+            for (int i = 0; i < n; i++) {
+                long jobId;
+                try (var ps = TxContext.get().prepareStatement("""
+                    INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
+                    VALUES(?, 'drain', '0 0 * * *', CURRENT_TIMESTAMP - NUMTODSINTERVAL(60,'SECOND'), 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                """, new String[]{"ID"})) {
+                    ps.setString(1, "job-" + i);
+                    ps.executeUpdate();
+                    try (var k = ps.getGeneratedKeys()) { k.next(); jobId = k.getLong(1); }
+                }
+                tasks.upsert(new Task(null, jobId, "t1", "h1", null, null, null, 0, clock.now(), clock.now()));
+            }
+            return null;
+        });
+
+        var graph = new TaskGraphService(tasks, deps, taskRuns, tx, clock);
+        var pool  = Executors.newFixedThreadPool(4);
+        try {
+            var svc = new JobTickService(jobs, jobRuns, graph, tx, clock, cron, JobTickService.Settings.DEFAULT
+                    .withDrain(new JobTickService.Drain(8, Duration.ofSeconds(30)))
+                    .withPrepareExecutor(pool));
+
+            assertEquals(n, svc.drain(Duration.ofSeconds(30), 8, Duration.ofSeconds(30)));
+            assertEquals(0, svc.drain(Duration.ofSeconds(30), 8, Duration.ofSeconds(30)), "nothing due any more");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long runs = tx.required(() -> {
+            try (var rs = TxContext.get().createStatement().executeQuery(
+                    "SELECT COUNT(*), COUNT(DISTINCT JOB_ID) FROM TB_JOB_RUN")) {
+                rs.next();
+                assertEquals(rs.getLong(1), rs.getLong(2), "one JobRun per job slot");
+                return rs.getLong(1);
+            }
+        });
+        assertEquals(n, runs);
+        long ready = tx.required(() -> {
+            try (var rs = TxContext.get().createStatement().executeQuery(
+                    "SELECT COUNT(*) FROM TB_TASK_RUN WHERE STATUS='READY'")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+        assertEquals(n, ready);
+    }
+
+    @Test
+    void asyncPreparation_commitsRunAndCursorFirst_and_recoveryReprepairsOrphanedRuns() throws Exception {
+        long jobId = tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement("""
+                INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
+                VALUES('async','async','*/5 * * * *', CURRENT_TIMESTAMP - NUMTODSINTERVAL(60,'SECOND'), 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, new String[]{"ID"})) {
+                ps.executeUpdate();
+                try (var k = ps.getGeneratedKeys()) { k.next(); return k.getLong(1); }
+            }
+        });
+        tx.required(() -> {
+            tasks.upsert(new Task(null, jobId, "t1", "h1", null, null, null, 0, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "t2", "h2", null, null, null, 1, clock.now(), clock.now()));
+            deps.add(tasks.findByJobAndName(jobId, "t1").orElseThrow().id(), tasks.findByJobAndName(jobId, "t2").orElseThrow().id());
+            return null;
+        });
+
+        var graph = new TaskGraphService(tasks, deps, taskRuns, tx, clock);
+        var pool  = Executors.newFixedThreadPool(2);
+        var svc = new JobTickService(jobs, jobRuns, graph, tx, clock, cron, JobTickService.Settings.DEFAULT
+                .withPrepareExecutor(pool)
+                .withPreparation(JobTickService.Preparation.ASYNC)
+                .withPrepareGrace(Duration.ofSeconds(60)));
+        Instant beforeNextDue = tx.required(() -> jobs.findById(jobId).orElseThrow().nextDueAt());
+
+        svc.tickOnce(Duration.ofSeconds(5));
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        var run = tx.required(() -> jobRuns.findByJobAndRunKey(jobId, beforeNextDue.toString()).orElseThrow());
+        assertEquals(2, tx.required(() -> taskRuns.findAllByJobRun(run.id())).size());
+        assertTrue(tx.required(() -> jobs.findById(jobId).orElseThrow().nextDueAt()).isAfter(beforeNextDue));
+
+        // 준비 도중 죽은 JobRun 흉내: TaskRun 없는 CREATED + grace 경과
+        long orphan = tx.required(() -> {
+            long id = jobRuns.upsert(jobId, "orphan", net.majide.core.model.JobRun.Status.CREATED).id();
+            try (var ps = TxContext.get().prepareStatement(
+                    "UPDATE TB_JOB_RUN SET CREATED_AT = CURRENT_TIMESTAMP - NUMTODSINTERVAL(120,'SECOND') WHERE ID=?")) {
+                ps.setLong(1, id);
+                ps.executeUpdate();
+            }
+            return id;
+        });
+        long fresh = tx.required(() -> jobRuns.upsert(jobId, "fresh", net.majide.core.model.JobRun.Status.CREATED).id());
+
+        assertEquals(1, svc.recoverUnprepared(Duration.ofSeconds(60), 10), "only the orphan past the grace period");
+        assertEquals(2, tx.required(() -> taskRuns.findAllByJobRun(orphan)).size());
+        assertEquals(0, tx.required(() -> taskRuns.findAllByJobRun(fresh)).size());
+        assertEquals(0, svc.recoverUnprepared(Duration.ofSeconds(60), 10));
+    }
 }
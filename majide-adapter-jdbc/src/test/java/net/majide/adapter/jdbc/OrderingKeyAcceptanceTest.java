@@ -0,0 +1,104 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.Task;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.TaskGraphService;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderingKeyAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    TaskRepository tasks;
+    TaskDependencyRepository deps;
+    TaskRunRepository taskRuns;
+    Clock clock;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        tasks    = new JdbcTaskRepository(ds);
+        deps     = new JdbcTaskDependencyRepository(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+        clock = Instant::now;
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void sameKey_runsOneAtATime_differentKeysInParallel() throws Exception {
+        seed();
+        var nodeA = dispatch();
+        var nodeB = dispatch();
+
+        List<TaskRun> a = nodeA.claimUpTo(10, Duration.ofSeconds(60), null);
+        assertEquals(Map.of("cust-1", 1L, "cust-2", 1L, "-", 2L), perKey(a), "one head per key + all unkeyed");
+        assertEquals(List.of(), nodeB.claimUpTo(10, Duration.ofSeconds(60), null), "keys with a RUNNING sibling are skipped");
+
+        TaskRun cust1 = a.stream().filter(tr -> "cust-1".equals(tr.orderingKey())).findFirst().orElseThrow();
+        nodeA.markDone(cust1);
+        List<TaskRun> b = nodeB.claimUpTo(10, Duration.ofSeconds(60), null);
+        assertEquals(Map.of("cust-1", 1L), perKey(b), "next of the finished key only");
+        assertTrue(b.get(0).id() > cust1.id(), "keyed runs go in claim order");
+    }
+
+    @Test
+    void singleRowClaim_respectsOrderingKey_too() throws Exception {
+        seed();
+        int claimed = 0;
+        while (tx.required(() -> taskRuns.claimReady(Duration.ofSeconds(60), "w")).isPresent()) claimed++;
+        assertEquals(4, claimed);
+    }
+
+    @Test
+    void perRunKeys_fromThePreparer_serializeOnlyRunsSharingThem() throws Exception {
+        long jobId = createJob("partitioned", 3600);
+        seedTasks(jobId, List.of(task("load", "h").withOrderingKey("default")));
+        long taskId = tx.required(() -> tasks.findAllByJob(jobId)).get(0).id();
+        long runA1 = prepareRun(jobId, "a-1", Map.of(taskId, "part-a"));
+        long runB1 = prepareRun(jobId, "b-1", Map.of(taskId, "part-b"));
+        long runA2 = prepareRun(jobId, "a-2", Map.of(taskId, "part-a"));
+
+        var dispatch = dispatch();
+        List<TaskRun> first = dispatch.claimUpTo(10, Duration.ofSeconds(60), null);
+        assertEquals(Map.of("part-a", 1L, "part-b", 1L), perKey(first), "the task's own key is overridden per run");
+        assertEquals(List.of(runA1, runB1), first.stream().map(TaskRun::jobRunId).sorted().toList());
+
+        var graph = new TaskGraphService(tasks, deps, taskRuns, tx, clock);
+        assertEquals(0, graph.assignOrderingKeys(runA1, Map.of(taskId, "other")), "a RUNNING run keeps its key");
+        assertEquals(1, graph.assignOrderingKeys(runA2, Map.of(taskId, "part-c")), "caller re-keys a run before it is claimed");
+        List<TaskRun> second = dispatch.claimUpTo(10, Duration.ofSeconds(60), null);
+        assertEquals(1, second.size());
+        assertEquals(runA2, second.get(0).jobRunId());
+        assertEquals("part-c", second.get(0).orderingKey());
+    }
+
+    /** cust-1 키 3개, cust-2 키 3개, 키 없는 2개 */
+    private void seed() throws Exception {
+        List<Task> all = new ArrayList<>();
+        for (int i = 0; i < 3; i++) all.add(task("c1-" + i, "h").withOrderingKey("cust-1"));
+        for (int i = 0; i < 3; i++) all.add(task("c2-" + i, "h").withOrderingKey("cust-2"));
+        all.addAll(tasks("free-", "h", 2));
+        seedRun("ordered", all);
+    }
+
+    private Map<String, Long> perKey(List<TaskRun> claimed) {
+        return claimed.stream().collect(Collectors.groupingBy(
+                tr -> tr.orderingKey() == null ? "-" : tr.orderingKey(), Collectors.counting()));
+    }
+}
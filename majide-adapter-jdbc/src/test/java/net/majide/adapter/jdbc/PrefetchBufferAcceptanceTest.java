@@ -0,0 +1,156 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.TaskRun;
+import net.majide.core.runtime.HandlerBulkheads;
+import net.majide.core.runtime.HandlerBulkheads.ExecutionClass;
+import net.majide.core.runtime.PrefetchBuffer;
+import net.majide.core.runtime.TaskExecutionRuntime;
+import net.majide.core.runtime.TaskHandlerRegistry;
+import net.majide.core.service.RetryPolicy;
+import net.majide.core.service.TaskDispatchService;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefetchBufferAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    TaskRepository tasks;
+    TaskRunRepository taskRuns;
+
+    @BeforeAll
+    void initAll() throws Exception {
+        tx = new JdbcTxRunner(ds);
+        tasks    = new JdbcTaskRepository(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void oneBatchClaim_isDrainedByAllWorkers() throws Exception {
+        long jobRunId = seedRun("fan", 40);
+        var active = new AtomicInteger();
+        var peak = new AtomicInteger();
+        var registry = new TaskHandlerRegistry().register("h", ctx -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            active.decrementAndGet();
+        });
+        var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)));
+        var runtime  = new TaskExecutionRuntime(registry, tasks, dispatch, tx, TaskExecutionRuntime.Settings.of(8));
+
+        try (var buffer = new PrefetchBuffer(runtime, dispatch, 4, 64, Duration.ofSeconds(5))) {
+            List<TaskRun> claimed = dispatch.claimUpTo(buffer.freeCapacity(), Duration.ofSeconds(60), runtime.handlerKeys());
+            assertEquals(40, claimed.size(), "one claim fills the buffer");
+            buffer.offer(claimed, Duration.ofSeconds(60));
+            awaitCount(jobRunId, TaskRun.Status.DONE, 40);
+        }
+        assertTrue(peak.get() <= 8, "buffered runs go through the runtime's concurrency slots: " + peak.get());
+    }
+
+    @Test
+    void bulkheadCaps_boundPrefetchClaims_andBufferedExecution() throws Exception {
+        long jobRunId = seedRun("bh", 10);
+        var active = new AtomicInteger();
+        var peak = new AtomicInteger();
+        var registry = new TaskHandlerRegistry().register("h", ctx -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            active.decrementAndGet();
+        });
+        var bulkheads = new HandlerBulkheads(Map.of("h", new HandlerBulkheads.Spec(ExecutionClass.IO, 2)));
+        var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)));
+        var runtime  = new TaskExecutionRuntime(registry, tasks, dispatch, tx,
+                TaskExecutionRuntime.Settings.of(64).withBulkheads(bulkheads));
+
+        try (runtime; var buffer = new PrefetchBuffer(runtime, dispatch, 4, 64, Duration.ofSeconds(5))) {
+            List<TaskRun> first = claimInto(buffer, runtime, dispatch);
+            assertEquals(2, first.size(), "claim honours the bulkhead cap, not just buffer space");
+            assertEquals(0, claimInto(buffer, runtime, dispatch).size(), "buffered runs keep their bulkhead reservation");
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+            while (countStatus(jobRunId, TaskRun.Status.DONE) < 10 && System.nanoTime() < deadline) {
+                assertTrue(claimInto(buffer, runtime, dispatch).size() <= 2);
+                Thread.sleep(20);
+            }
+            awaitCount(jobRunId, TaskRun.Status.DONE, 10);
+        }
+        assertTrue(peak.get() <= 2, "bulkhead caps buffered execution too: " + peak.get());
+    }
+
+    @Test
+    void overflow_and_shutdown_releaseLeasesImmediately() throws Exception {
+        long jobRunId = seedRun("rel", 5);
+        var entered = new CountDownLatch(1);
+        var gate = new CountDownLatch(1);
+        var registry = new TaskHandlerRegistry().register("h", ctx -> {
+            entered.countDown();
+            gate.await();
+        });
+        var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)));
+        // 실행 슬롯 1개 → 하나 실행 중이면 나머지는 버퍼에 남음
+        var runtime  = new TaskExecutionRuntime(registry, tasks, dispatch, tx, TaskExecutionRuntime.Settings.of(1));
+
+        var buffer = new PrefetchBuffer(runtime, dispatch, 1, 3, Duration.ofSeconds(5));
+        List<TaskRun> claimed = dispatch.claimUpTo(5, Duration.ofSeconds(60), runtime.handlerKeys());
+        buffer.offer(claimed, Duration.ofSeconds(60));
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        assertTrue(countStatus(jobRunId, TaskRun.Status.READY) >= 2, "overflow handed back at once");
+
+        Thread closer = Thread.ofPlatform().start(() -> {
+            try { buffer.close(); } catch (InterruptedException ignore) { }
+        });
+        Thread.sleep(200);
+        gate.countDown(); // 실행 중이던 1개는 끝까지
+        closer.join();
+        runtime.close();
+
+        var runs = tx.required(() -> taskRuns.findAllByJobRun(jobRunId));
+        assertEquals(1, runs.stream().filter(r -> r.status() == TaskRun.Status.DONE).count());
+        var ready = runs.stream().filter(r -> r.status() == TaskRun.Status.READY).toList();
+        assertEquals(4, ready.size(), "buffered leases released on shutdown, not left to expire");
+        assertTrue(ready.stream().allMatch(r -> r.attempt() == 1L && r.leaseUntil() == null));
+    }
+
+    @Test
+    void release_isFencedByOwnership_notByLeaseTimestamp() throws Exception {
+        long jobRunId = seedRun("fence", 2);
+        var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)));
+        var other    = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)));
+        List<TaskRun> claimed = dispatch.claimUpTo(2, Duration.ofSeconds(60), null);
+
+        // 하트비트로 lease가 바뀌어도 주인이면 반납됨
+        dispatch.heartbeat(claimed.get(0).id(), Duration.ofSeconds(120));
+        assertEquals(0, other.release(claimed), "another owner's claims are left alone");
+        assertEquals(2, dispatch.release(claimed));
+        assertEquals(2, countStatus(jobRunId, TaskRun.Status.READY));
+
+        // 반납 후 다시 선점된 행(같은 ATTEMPT, 다른 토큰)은 옛 목록으로 풀리지 않음
+        assertEquals(2, other.claimUpTo(2, Duration.ofSeconds(60), null).size());
+        assertEquals(0, dispatch.release(claimed));
+        assertEquals(2, countStatus(jobRunId, TaskRun.Status.RUNNING));
+    }
+
+    /** Orchestrator의 prefetch 선점과 같은 모양: 버퍼 빈자리 + 벌크헤드 여유만큼 선점해 적재 */
+    private List<TaskRun> claimInto(PrefetchBuffer buffer, TaskExecutionRuntime runtime, TaskDispatchService dispatch) throws Exception {
+        List<TaskRun> claimed = dispatch.claimUpTo(buffer.freeCapacity(), Duration.ofSeconds(60),
+                runtime.handlerKeys(), runtime.resolvesMethods(), runtime.handlerCaps());
+        buffer.offer(claimed, Duration.ofSeconds(60));
+        return claimed;
+    }
+}
@@ -0,0 +1,131 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.JobRun;
+import net.majide.core.model.Task;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.*;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    JobRepository jobs;
+    JobRunRepository jobRuns;
+    TaskRepository tasks;
+    TaskDependencyRepository deps;
+    TaskRunRepository taskRuns;
+    Clock clock;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        jobs     = new JdbcJobRepository(ds);
+        jobRuns  = new JdbcJobRunRepository(ds);
+        tasks    = new JdbcTaskRepository(ds);
+        deps     = new JdbcTaskDependencyRepository(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+        clock = Instant::now;
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void highPriorityJob_isClaimedBeforeOlderBacklog() throws Exception {
+        var graph = new TaskGraphService(tasks, deps, taskRuns, tx, clock);
+        long bulkJob = job("bulk", 0, 50);
+        long bulkRun = tx.required(() -> jobRuns.upsert(bulkJob, "bulk-1", JobRun.Status.CREATED).id());
+        graph.prepareFor(bulkJob, bulkRun);
+        Thread.sleep(50); // 뒤에 들어온 쪽이 AVAILABLE_AT도 늦음
+
+        long urgentJob = job("urgent", 10, 3);
+        long urgentRun = tx.required(() -> jobRuns.upsert(urgentJob, "urgent-1", JobRun.Status.CREATED).id());
+        graph.prepareFor(urgentJob, urgentRun);
+
+        var dispatch = dispatch();
+        List<TaskRun> first = dispatch.claimUpTo(3, Duration.ofSeconds(60), null);
+        assertEquals(Set.of(urgentRun), first.stream().map(TaskRun::jobRunId).collect(Collectors.toSet()),
+                "high lane drains ahead of the FIFO backlog");
+        assertEquals(10, priorityOf(first.get(0).id()));
+        assertTrue(dispatch.claimUpTo(3, Duration.ofSeconds(60), null).stream().allMatch(r -> r.jobRunId() == bulkRun));
+    }
+
+    @Test
+    void taskPriority_addsToJob_and_triggerOverridesJobDefault() throws Exception {
+        var graph = new TaskGraphService(tasks, deps, taskRuns, tx, clock);
+        var tick  = new JobTickService(jobs, jobRuns, graph, tx, clock, (from, expr, zone) -> from.plusSeconds(3600));
+        long jobId = job("mixed", 5, 0);
+        tx.required(() -> {
+            tasks.upsert(new Task(null, jobId, "normal", "h", null, null, null, 0, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "boosted", "h", null, null, null, 0, clock.now(), clock.now()).withPriority(3));
+            return null;
+        });
+
+        JobRun scheduled = tx.required(() -> jobRuns.upsert(jobId, "slot-1", JobRun.Status.CREATED));
+        graph.prepareFor(jobId, scheduled.id());
+        assertEquals(List.of(5L, 8L), priorities(scheduled.id()));
+
+        JobRun manual = tick.trigger(jobId, "manual-1", 100);
+        assertEquals(100, manual.priority());
+        assertEquals(List.of(100L, 103L), priorities(manual.id()));
+
+        var dispatch = dispatch();
+        List<TaskRun> claimed = dispatch.claimUpTo(4, Duration.ofSeconds(60), null);
+        assertEquals(List.of(103L, 100L, 8L, 5L), claimed.stream().map(r -> {
+            try { return priorityOf(r.id()); } catch (Exception e) { throw new IllegalStateException(e); }
+        }).toList(), "claim order = PRIORITY DESC");
+    }
+
+    @Test
+    void lazySuccessor_inheritsRunPriority() throws Exception {
+        var graph = new TaskGraphService(taskRuns, tx,
+                TaskGraphService.Settings.DEFAULT.withMaterialization(TaskGraphService.Materialization.LAZY));
+        long jobId = job("lazy", 7, 0);
+        tx.required(() -> {
+            tasks.upsert(new Task(null, jobId, "a", "h", null, null, null, 0, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "b", "h", null, null, null, 1, clock.now(), clock.now()).withPriority(1));
+            long a = tasks.findByJobAndName(jobId, "a").orElseThrow().id();
+            long b = tasks.findByJobAndName(jobId, "b").orElseThrow().id();
+            deps.add(a, b);
+            return null;
+        });
+        long runId = tx.required(() -> jobRuns.upsert(jobId, "lazy-1", JobRun.Status.CREATED, 20).id());
+        graph.prepareFor(jobId, runId);
+
+        var dispatch = dispatch();
+        TaskRun root = dispatch.claimUpTo(1, Duration.ofSeconds(60), null).get(0);
+        assertEquals(20, priorityOf(root.id()));
+        graph.onTaskDone(root.id(), dispatch.token(), root.attempt());
+
+        assertEquals(List.of(20L, 21L), priorities(runId), "materialized row uses the JobRun override too");
+    }
+
+    private long job(String name, int priority, int taskCount) throws Exception {
+        long jobId = tx.required(() -> jobs.upsert(name, "priority", "0 0 * * *",
+                clock.now().plusSeconds(3600), true, priority).id());
+        seedTasks(jobId, tasks("t", "h", taskCount));
+        return jobId;
+    }
+
+    private long priorityOf(long taskRunId) throws Exception {
+        return queryLong("SELECT PRIORITY FROM TB_TASK_RUN WHERE ID = ?", taskRunId);
+    }
+
+    private List<Long> priorities(long jobRunId) throws Exception {
+        return queryLongs("SELECT PRIORITY FROM TB_TASK_RUN WHERE JOB_RUN_ID = ? ORDER BY PRIORITY", jobRunId);
+    }
+}
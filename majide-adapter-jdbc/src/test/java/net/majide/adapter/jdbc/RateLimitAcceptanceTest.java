@@ -0,0 +1,140 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.RateLimit;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.HandlerRateLimiter;
+import net.majide.core.service.RetryPolicy;
+import net.majide.core.service.TaskDispatchService;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    TaskRepository tasks;
+    TaskRunRepository taskRuns;
+    RateLimitRepository limits;
+    Clock clock;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        tasks    = new JdbcTaskRepository(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+        limits   = new JdbcRateLimitRepository(ds);
+        clock = Instant::now;
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate("TB_RATE_LIMIT", "TB_TASK_RUN", "TB_JOB_RUN", "TB_TASK_DEP", "TB_TASK", "TB_JOB");
+    }
+
+    @Test
+    void limitedHandler_isClaimedOnlyUpToTokens_acrossNodes() throws Exception {
+        tx.required(() -> { limits.define("api", 2, 3); return null; });
+        seed(10, 3);
+
+        var nodeA = dispatch(limits);
+        var nodeB = dispatch(limits);
+        List<TaskRun> a = nodeA.claimUpTo(20, Duration.ofSeconds(60), null);
+        assertEquals(3, countHandler(a, "api"), "burst");
+        assertEquals(3, countHandler(a, "free"), "unlimited handler is unaffected");
+        assertEquals(0, countHandler(nodeB.claimUpTo(20, Duration.ofSeconds(60), null), "api"), "bucket drained cluster-wide");
+
+        Thread.sleep(1100);
+        long refilled = countHandler(nodeB.claimUpTo(20, Duration.ofSeconds(60), null), "api");
+        assertTrue(refilled >= 1 && refilled <= 3, "about rate * elapsed: " + refilled);
+        assertEquals(0, countStatus(TaskRun.Status.FAILED));
+    }
+
+    @Test
+    void localCache_spendsOneTakeAcrossClaims_andIdleTokensGoBack() throws Exception {
+        tx.required(() -> { limits.define("api", 50, 50); return null; });
+        seed(10, 0);
+        AtomicInteger takes = new AtomicInteger();
+        var counting = new RateLimitRepository() {
+            public void define(String k, double r, int b) throws Exception { limits.define(k, r, b); }
+            public List<RateLimit> findAll() throws Exception { return limits.findAll(); }
+            public int take(String k, int n) throws Exception { takes.incrementAndGet(); return limits.take(k, n); }
+            public void refund(String k, int n) throws Exception { limits.refund(k, n); }
+        };
+
+        var node = dispatch(counting);
+        for (int i = 0; i < 5; i++) assertEquals(2, node.claimUpTo(2, Duration.ofSeconds(60), null).size());
+        assertEquals(1, takes.get(), "one bucket round-trip for a hold's worth of tokens");
+
+        assertTrue(queryDouble("SELECT TOKENS FROM TB_RATE_LIMIT WHERE HANDLER_KEY = ?", "api") < 1, "node holds the batch");
+        Thread.sleep(1100);
+        node.claimUpTo(2, Duration.ofSeconds(60), null); // 쓴 묶음은 계속 보유
+        Thread.sleep(1100);
+        node.claimUpTo(2, Duration.ofSeconds(60), null); // 한 hold 동안 안 썼으면 반납
+        assertTrue(queryDouble("SELECT TOKENS FROM TB_RATE_LIMIT WHERE HANDLER_KEY = ?", "api") >= 40, "unused local tokens returned to the bucket");
+    }
+
+    @Test
+    void slowBucketRoundTrip_doesNotBlockOtherReservations() throws Exception {
+        tx.required(() -> { limits.define("api", 5, 5); limits.define("slow", 5, 5); return null; });
+        var entered = new CountDownLatch(1);
+        var gate = new CountDownLatch(1);
+        var stalling = new RateLimitRepository() {
+            public void define(String k, double r, int b) throws Exception { limits.define(k, r, b); }
+            public List<RateLimit> findAll() throws Exception { return limits.findAll(); }
+            public int take(String k, int n) throws Exception {
+                if (k.equals("slow")) { entered.countDown(); gate.await(); }
+                return limits.take(k, n);
+            }
+            public void refund(String k, int n) throws Exception { limits.refund(k, n); }
+        };
+        var limiter = new HandlerRateLimiter(stalling, tasks, tx, clock);
+
+        var slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.reserve(5, Set.of("slow"), null);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        var fast = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.reserve(5, Set.of("api"), null);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertEquals(5, fast.get(5, TimeUnit.SECONDS).get("api"), "not held up by the stalled take");
+        limiter.settle(Map.of("api", 5), List.of());
+
+        gate.countDown();
+        assertEquals(5, slow.get(10, TimeUnit.SECONDS).get("slow"));
+    }
+
+    private TaskDispatchService dispatch(RateLimitRepository repo) {
+        var limiter = new HandlerRateLimiter(repo, tasks, tx, clock);
+        return new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)),
+                TaskDispatchService.Settings.DEFAULT.withRateLimiter(limiter));
+    }
+
+    /** limited개는 "api" 핸들러(먼저 READY), plain개는 "free" */
+    private void seed(int limited, int plain) throws Exception {
+        seedRun("limited", Stream.concat(tasks("a", "api", limited).stream(), tasks("f", "free", plain).stream()).toList());
+    }
+}
@@ -0,0 +1,130 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.Task;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.TaskDispatchService;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourcePoolAcceptanceTest extends TestSupport {
+
+    static final TaskDispatchService.Settings POOLED = TaskDispatchService.Settings.DEFAULT.withResourcePools(true);
+    static final String PERMIT_ROWS = "SELECT COUNT(*) FROM TB_RESOURCE_PERMIT WHERE POOL_NAME = ?";
+    static final String RUN_PERMITS = "SELECT COUNT(*) FROM TB_RESOURCE_PERMIT WHERE TASK_RUN_ID = ?";
+
+    TxRunner tx;
+    ResourcePoolRepository pools;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        pools = new JdbcResourcePoolRepository(ds);
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate("TB_RESOURCE_PERMIT", "TB_RESOURCE_POOL", "TB_TASK_RUN", "TB_JOB_RUN", "TB_TASK_DEP", "TB_TASK", "TB_JOB");
+    }
+
+    @Test
+    void pooledTasks_areClaimedOnlyUpToFreePermits_acrossDispatchers() throws Exception {
+        tx.required(() -> { pools.define("api", 2); return null; });
+        seed(5, 3);
+
+        var nodeA = dispatch(POOLED);
+        var nodeB = dispatch(POOLED);
+        List<TaskRun> a = nodeA.claimUpTo(10, Duration.ofSeconds(60), null);
+        assertEquals(5, a.size(), "3 unpooled + 2 pooled");
+        assertEquals(2, a.stream().filter(this::isPooled).count());
+        assertEquals(2, inUse("api"));
+
+        assertEquals(List.of(), nodeB.claimUpTo(10, Duration.ofSeconds(60), null), "pool exhausted cluster-wide");
+
+        TaskRun done = a.stream().filter(this::isPooled).findFirst().orElseThrow();
+        nodeA.markDone(done);
+        assertEquals(1, inUse("api"), "leaving RUNNING frees the permit");
+
+        List<TaskRun> b = nodeB.claimUpTo(10, Duration.ofSeconds(60), null);
+        assertEquals(1, b.size());
+        assertEquals(1, b.stream().filter(this::isPooled).count());
+        assertEquals(2, inUse("api"));
+    }
+
+    @Test
+    void releasedClaim_andExpiredLease_returnPermits() throws Exception {
+        tx.required(() -> { pools.define("api", 1); return null; });
+        seed(2, 0);
+
+        var dispatch = dispatch(POOLED);
+        List<TaskRun> first = dispatch.claimUpTo(10, Duration.ofSeconds(60), null);
+        assertEquals(1, first.size());
+        dispatch.release(first);
+        assertEquals(0, inUse("api"));
+
+        List<TaskRun> again = dispatch.claimUpTo(10, Duration.ofSeconds(1), null);
+        assertEquals(1, again.size());
+        assertEquals(1, queryLong(RUN_PERMITS, again.get(0).id()), "re-claim reuses one permit, no stale second row");
+        Thread.sleep(1500);
+        assertEquals(0, inUse("api"), "permit lease expired with the TaskRun lease");
+        assertEquals(1, dispatch.claimUpTo(10, Duration.ofSeconds(60), null).size());
+    }
+
+    @Test
+    void define_resizesPermitRows() throws Exception {
+        tx.required(() -> { pools.define("api", 4); pools.define("api", 2); pools.define("api", 3); return null; });
+        assertEquals(3, queryLong(PERMIT_ROWS, "api"));
+    }
+
+    @Test
+    void shrinkingBelowHeldPermits_retiresThem_insteadOfFreeingTheirSlots() throws Exception {
+        tx.required(() -> { pools.define("api", 3); return null; });
+        seed(4, 0);
+
+        var dispatch = dispatch(POOLED);
+        List<TaskRun> running = dispatch.claimUpTo(10, Duration.ofSeconds(60), null);
+        assertEquals(3, running.size());
+
+        tx.required(() -> { pools.define("api", 1); return null; });
+        assertEquals(3, inUse("api"), "held permits above the new limit stay until their runs finish");
+        assertEquals(List.of(), dispatch.claimUpTo(10, Duration.ofSeconds(60), null));
+
+        dispatch.markDone(running.get(0));
+        dispatch.markDone(running.get(1));
+        assertEquals(1, inUse("api"));
+        assertEquals(List.of(), dispatch.claimUpTo(10, Duration.ofSeconds(60), null), "still at the new limit of 1");
+
+        dispatch.markDone(running.get(2));
+        List<TaskRun> last = dispatch.claimUpTo(10, Duration.ofSeconds(60), null);
+        assertEquals(1, last.size());
+        assertEquals(1, inUse("api"));
+        assertEquals(1, queryLong(RUN_PERMITS, last.get(0).id()));
+
+        tx.required(() -> { pools.define("api", 1); return null; });
+        assertEquals(1, queryLong(PERMIT_ROWS, "api"), "retired permits are dropped once free");
+    }
+
+    /** pooled개는 "api" 풀, plain개는 풀 없음 (풀 태스크가 먼저 READY) */
+    private void seed(int pooled, int plain) throws Exception {
+        List<Task> all = new ArrayList<>();
+        for (Task t : tasks("p", "h", pooled)) all.add(t.withResourcePool("api"));
+        all.addAll(tasks("n", "h", plain));
+        seedRun("pooled", all);
+    }
+
+    private boolean isPooled(TaskRun tr) {
+        return taskOf(tr).resourcePool() != null;
+    }
+
+    private int inUse(String pool) throws Exception {
+        return tx.required(() -> pools.inUse(pool));
+    }
+}
@@ -0,0 +1,70 @@
+package net.majide.adapter.jdbc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테스트/벤치마크용 DataSource 래퍼.
+ * - Statement.execute* / executeBatch 호출 수를 DB 라운드트립으로 간주해 센다 (commit/rollback도 1회로 계산)
+ * - 드라이버 내부 prefetch 등은 반영하지 않는 근사치
+ */
+final class RoundTripCounter {
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+
+    DataSource wrap(DataSource target) {
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, m, args) -> {
+                    Object r = invoke(target, m, args);
+                    return r instanceof Connection c ? wrap(c) : r;
+                });
+    }
+
+    long statements() { return statements.get(); }
+    long commits() { return commits.get(); }
+    long total() { return statements.get() + commits.get(); }
+
+    void reset() {
+        statements.set(0);
+        commits.set(0);
+    }
+
+    private Connection wrap(Connection target) {
+        InvocationHandler h = (proxy, m, args) -> {
+            String name = m.getName();
+            if (name.equals("commit") || name.equals("rollback")) commits.incrementAndGet();
+            Object r = invoke(target, m, args);
+            return r instanceof Statement st ? wrap(st) : r;
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, h);
+    }
+
+    private Statement wrap(Statement target) {
+        // PreparedStatement/CallableStatement 인터페이스를 그대로 노출해야 캐스팅이 깨지지 않음
+        Class<?>[] ifaces = target instanceof java.sql.CallableStatement
+                ? new Class<?>[]{java.sql.CallableStatement.class}
+                : target instanceof java.sql.PreparedStatement
+                ? new Class<?>[]{java.sql.PreparedStatement.class}
+                : new Class<?>[]{Statement.class};
+        InvocationHandler h = (proxy, m, args) -> {
+            if (m.getName().startsWith("execute")) statements.incrementAndGet();
+            return invoke(target, m, args);
+        };
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), ifaces, h);
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method m, Object[] args) throws Throwable {
+        try {
+            return m.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
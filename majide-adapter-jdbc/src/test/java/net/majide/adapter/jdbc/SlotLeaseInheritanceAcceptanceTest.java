@@ -0,0 +1,81 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.identity.ops.WorkerSlotService;
+import net.majide.core.model.TaskRun;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 슬롯 lease 상속: RUNNING은 자기 LEASE_UNTIL 없이 소유 슬롯이 살아 있는 동안 유효
+ * - 슬롯 heartbeat 하나로 노드의 태스크 전체 유지
+ * - lease 만료 복구는 두 모델(태스크 lease / 슬롯 상속)을 함께 처리
+ */
+class SlotLeaseInheritanceAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    TaskRunRepository taskRuns;
+    WorkerSlotService slots;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+        slots    = new WorkerSlotService(new JdbcWorkerSlotRepository(ds));
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate("TB_TASK_RUN", "TB_JOB_RUN", "TB_TASK_DEP", "TB_TASK", "TB_JOB", "TB_WORKER_SLOT");
+        execute("INSERT INTO TB_WORKER_SLOT(WORKER_ID) VALUES(0)");
+    }
+
+    @Test
+    void inheritedLease_livesWithSlot_and_recoveryHandlesBothModels() throws Exception {
+        long jobRunId = seedRun("inherit", 5);
+        int slot = tx.required(() -> slots.leaseOne("node-a", Duration.ofSeconds(60))).orElseThrow().workerId();
+
+        List<TaskRun> inherited = tx.required(() -> taskRuns.claimReadyBatch(ClaimSpec.of(3, Duration.ofSeconds(1), "node-a")
+                .withWorkerId(slot).withLeaseModel(ClaimSpec.LeaseModel.SLOT)));
+        List<TaskRun> own = tx.required(() -> taskRuns.claimReadyBatch(ClaimSpec.of(2, Duration.ofSeconds(1), "node-a")));
+        assertTrue(inherited.stream().allMatch(r -> r.leaseUntil() == null && r.workerId() == slot));
+        assertTrue(own.stream().allMatch(r -> r.leaseUntil() != null));
+
+        // 태스크 lease(1s)는 지났지만 슬롯은 살아 있음 → 태스크 lease 모델만 복구
+        Thread.sleep(1500);
+        tx.required(() -> { taskRuns.heartbeat(inherited.get(0).id(), Duration.ofSeconds(60)); return null; }); // 상속분은 무시
+        assertEquals(2, tx.required(() -> taskRuns.recoverExpiredLeases(Duration.ZERO, "expired")));
+        assertEquals(3, countStatus(jobRunId, TaskRun.Status.RUNNING));
+        assertTrue(tx.required(() -> taskRuns.findById(inherited.get(0).id())).orElseThrow().leaseUntil() == null);
+
+        // 슬롯 heartbeat 중단 → 슬롯 만료 (회수 전) → 상속분 복구
+        tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement(
+                    "UPDATE TB_WORKER_SLOT SET LEASE_UNTIL = CURRENT_TIMESTAMP - NUMTODSINTERVAL(1,'SECOND') WHERE WORKER_ID = ?")) {
+                ps.setInt(1, slot);
+                ps.executeUpdate();
+            }
+            return null;
+        });
+        assertEquals(3, tx.required(() -> taskRuns.recoverExpiredLeases(Duration.ZERO, "expired")));
+        assertEquals(5, countStatus(jobRunId, TaskRun.Status.READY));
+    }
+
+    @Test
+    void inheritedClaims_areReleasedByOwner() throws Exception {
+        long jobRunId = seedRun("inherit", 3);
+        int slot = tx.required(() -> slots.leaseOne("node-a", Duration.ofSeconds(60))).orElseThrow().workerId();
+        List<TaskRun> claimed = tx.required(() -> taskRuns.claimReadyBatch(ClaimSpec.of(3, Duration.ofSeconds(60), "node-a")
+                .withWorkerId(slot).withLeaseModel(ClaimSpec.LeaseModel.SLOT)));
+
+        assertEquals(3, tx.required(() -> taskRuns.releaseClaims(claimed, "node-a")));
+        assertEquals(3, countStatus(jobRunId, TaskRun.Status.READY));
+    }
+}
@@ -55,26 +55,7 @@ class TaskDispatchServiceAcceptanceTest extends TestSupport {
 
     @Test
     void claimAndStart_heartbeat_failRetry_markDone_flow() throws Exception {
-        // seed: job + tasks (t1 indegree 0, t2 indegree 1), dep t1->t2, jobRun + prepare
-        long jobId = tx.required(() -> {
-            try (var ps = TxContext.get().prepareStatement("""
-                INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
-                VALUES('demo','demo','*/5 * * * *', CURRENT_TIMESTAMP, 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
-            """, new String[]{"ID"})) {
-                ps.executeUpdate(); try (var k=ps.getGeneratedKeys()){k.next(); return k.getLong(1);}
-            }
-        });
-        tx.required(() -> {
-            tasks.upsert(new Task(null, jobId, "t1", "h1", null, null, "first", 0, clock.now(), clock.now()));
-            tasks.upsert(new Task(null, jobId, "t2", "h2", null, null, "second", 1, clock.now(), clock.now()));
-            var t1 = tasks.findByJobAndName(jobId, "t1").orElseThrow();
-            var t2 = tasks.findByJobAndName(jobId, "t2").orElseThrow();
-            deps.add(t1.id(), t2.id());
-            return null;
-        });
-        long jobRunId = tx.required(() -> jobRuns.upsert(jobId, "rk-1", JobRun.Status.CREATED).id());
-        new TaskGraphService(tasks, deps, taskRuns, tx, clock).prepareFor(jobId, jobRunId);
-
+        long jobRunId = seedChain();
         var svc = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(10)));
 
         // 1) READY 하나 클레임 → RUNNING
@@ -90,7 +71,7 @@ class TaskDispatchServiceAcceptanceTest extends TestSupport {
         assertTrue(afterLease.isAfter(beforeLease), "lease extended");
 
         // 3) 실패 → 백오프 READY
-        svc.failAndRetry(running.id(), /*attempt*/ 1, "boom");
+        svc.failAndRetry(running, "boom");
         TaskRun retried = tx.required(() -> taskRuns.findById(running.id()).orElseThrow());
         assertEquals(TaskRun.Status.READY, retried.status());
         assertNotNull(retried.availableAt());
@@ -102,9 +83,57 @@ class TaskDispatchServiceAcceptanceTest extends TestSupport {
         assertEquals(1, svc.claimAndStartUpTo(1, Duration.ofSeconds(30)));
         TaskRun claimed2 = tx.required(() -> taskRuns.findById(running.id()).orElseThrow());
         assertEquals(TaskRun.Status.RUNNING, claimed2.status());
-        svc.markDone(claimed2.id());
+        svc.markDone(claimed2);
         TaskRun done = tx.required(() -> taskRuns.findById(claimed2.id()).orElseThrow());
         assertEquals(TaskRun.Status.DONE, done.status());
     }
-}
 
+    @Test
+    void staleWorker_cannotComplete_requeuedRun_norReleaseItsSuccessors() throws Exception {
+        long jobRunId = seedChain();
+        var nodeA = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(10)));
+        var nodeB = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(10)));
+
+        TaskRun stale = nodeA.claimUpTo(1, Duration.ofSeconds(1), null).get(0);
+        Thread.sleep(1_500);
+        assertEquals(1, tx.required(() -> taskRuns.recoverExpiredLeases(Duration.ZERO, "lease expired")));
+        TaskRun current = nodeB.claimUpTo(1, Duration.ofSeconds(30), null).get(0);
+        assertEquals(stale.id(), current.id());
+
+        // A의 핸들러가 늦게 끝남 → 이미 B의 것
+        assertEquals(TaskRunRepository.LOST_CLAIM, nodeA.markDone(stale));
+        assertFalse(nodeA.failAndRetry(stale, "late failure"));
+        var afterStale = tx.required(() -> taskRuns.findAllByJobRun(jobRunId));
+        assertEquals(TaskRun.Status.RUNNING, afterStale.stream().filter(tr -> tr.id().equals(stale.id())).findFirst().orElseThrow().status());
+        assertTrue(afterStale.stream().filter(tr -> !tr.id().equals(stale.id())).allMatch(tr -> tr.status() == TaskRun.Status.BLOCKED),
+                "successor is not released by the lost completion");
+
+        assertEquals(1, nodeB.markDone(current));
+        assertEquals(TaskRun.Status.DONE, tx.required(() -> taskRuns.findById(current.id()).orElseThrow()).status());
+        assertEquals(1, tx.required(() -> taskRuns.findAllByJobRun(jobRunId)).stream()
+                .filter(tr -> tr.status() == TaskRun.Status.READY).count());
+    }
+
+    /** job + tasks (t1 indegree 0, t2 indegree 1), dep t1->t2, jobRun + prepare */
+    private long seedChain() throws Exception {
+        long jobId = tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement("""
+                INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
+                VALUES('demo','demo','*/5 * * * *', CURRENT_TIMESTAMP, 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, new String[]{"ID"})) {
+                ps.executeUpdate(); try (var k=ps.getGeneratedKeys()){k.next(); return k.getLong(1);}
+            }
+        });
+        tx.required(() -> {
+            tasks.upsert(new Task(null, jobId, "t1", "h1", null, null, "first", 0, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "t2", "h2", null, null, "second", 1, clock.now(), clock.now()));
+            var t1 = tasks.findByJobAndName(jobId, "t1").orElseThrow();
+            var t2 = tasks.findByJobAndName(jobId, "t2").orElseThrow();
+            deps.add(t1.id(), t2.id());
+            return null;
+        });
+        long jobRunId = tx.required(() -> jobRuns.upsert(jobId, "rk-1", JobRun.Status.CREATED).id());
+        new TaskGraphService(tasks, deps, taskRuns, tx, clock).prepareFor(jobId, jobRunId);
+        return jobRunId;
+    }
+}
@@ -0,0 +1,204 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.JobRun;
+import net.majide.core.model.Task;
+import net.majide.core.model.TaskRun;
+import net.majide.core.runtime.MethodHandlerResolver;
+import net.majide.core.runtime.TaskContext;
+import net.majide.core.runtime.TaskExecutionRuntime;
+import net.majide.core.runtime.TaskHandlerRegistry;
+import net.majide.core.service.RetryPolicy;
+import net.majide.core.service.TaskDispatchService;
+import net.majide.core.service.TaskGraphService;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskExecutionRuntimeAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    TaskRepository tasks;
+    TaskDependencyRepository deps;
+    TaskRunRepository taskRuns;
+    JobRunRepository jobRuns;
+    Clock clock;
+
+    @BeforeAll
+    void initAll() throws Exception {
+        tx = new JdbcTxRunner(ds);
+        tasks    = new JdbcTaskRepository(ds);
+        deps     = new JdbcTaskDependencyRepository(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+        jobRuns  = new JdbcJobRunRepository(ds);
+        clock    = Instant::now;
+        tx.required(() -> { TxContext.get().createStatement().execute("ALTER SESSION SET TIME_ZONE='Asia/Seoul'"); return null; });
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void claimedRuns_areExecuted_success_markedDone_failure_retried_unknownHandler_notClaimed() throws Exception {
+        long jobId = tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement("""
+                INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
+                VALUES('demo','demo','*/5 * * * *', CURRENT_TIMESTAMP, 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, new String[]{"ID"})) {
+                ps.executeUpdate(); try (var k=ps.getGeneratedKeys()){k.next(); return k.getLong(1);}
+            }
+        });
+        tx.required(() -> {
+            tasks.upsert(new Task(null, jobId, "ok",      "h.ok",      null, null, "succeeds", 0, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "boom",    "h.boom",    null, null, "throws",   0, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "foreign", "h.foreign", null, null, "no local handler", 0, clock.now(), clock.now()));
+            return null;
+        });
+        long jobRunId = tx.required(() -> jobRuns.upsert(jobId, "rk-1", JobRun.Status.CREATED).id());
+        new TaskGraphService(tasks, deps, taskRuns, tx, clock).prepareFor(jobId, jobRunId);
+
+        AtomicInteger okCalls = new AtomicInteger();
+        var registry = new TaskHandlerRegistry()
+                .register("h.ok", ctx -> okCalls.incrementAndGet())
+                .register("h.boom", ctx -> { throw new IllegalStateException("downstream unavailable"); });
+
+        var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)));
+        var runtime = new TaskExecutionRuntime(registry, tasks, dispatch, tx, TaskExecutionRuntime.Settings.of(8));
+
+        List<TaskRun> claimed = dispatch.claimUpTo(10, Duration.ofSeconds(30), runtime.handlerKeys());
+        assertEquals(2, claimed.size(), "only tasks with a local handler are claimed");
+        runtime.submitAll(claimed);
+        runtime.close(); // 실행 완료 대기
+
+        assertEquals(1, okCalls.get());
+        var byTask = tx.required(() -> taskRuns.findAllByJobRun(jobRunId));
+        TaskRun ok      = runOf(byTask, jobId, "ok");
+        TaskRun boom    = runOf(byTask, jobId, "boom");
+        TaskRun foreign = runOf(byTask, jobId, "foreign");
+
+        assertEquals(TaskRun.Status.DONE, ok.status());
+        assertEquals(TaskRun.Status.READY, boom.status(), "failure goes back to READY with backoff");
+        assertEquals(2L, boom.attempt());
+        assertTrue(boom.lastError().contains("downstream unavailable"));
+        assertEquals(TaskRun.Status.READY, foreign.status(), "left for the node that owns the handler");
+    }
+
+    @Test
+    void handlerOutlivingLease_isRenewed_notRecovered_andRunsOnce() throws Exception {
+        long jobId = tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement("""
+                INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
+                VALUES('slow','slow','*/5 * * * *', CURRENT_TIMESTAMP, 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, new String[]{"ID"})) {
+                ps.executeUpdate(); try (var k=ps.getGeneratedKeys()){k.next(); return k.getLong(1);}
+            }
+        });
+        tx.required(() -> {
+            tasks.upsert(new Task(null, jobId, "slow", "h.slow", null, null, "outlives its lease", 0, clock.now(), clock.now()));
+            return null;
+        });
+        long jobRunId = tx.required(() -> jobRuns.upsert(jobId, "rk-slow", JobRun.Status.CREATED).id());
+        new TaskGraphService(tasks, deps, taskRuns, tx, clock).prepareFor(jobId, jobRunId);
+
+        Duration lease = Duration.ofSeconds(2);
+        AtomicInteger calls = new AtomicInteger();
+        var registry = new TaskHandlerRegistry().register("h.slow", ctx -> {
+            calls.incrementAndGet();
+            Thread.sleep(6000); // lease의 3배
+        });
+        var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)));
+        var runtime = new TaskExecutionRuntime(registry, tasks, dispatch, tx,
+                TaskExecutionRuntime.Settings.of(8).withLeaseRenewal(lease, Duration.ofMillis(500)));
+
+        List<TaskRun> claimed = dispatch.claimUpTo(1, lease, runtime.handlerKeys());
+        assertEquals(1, claimed.size());
+        runtime.submitAll(claimed);
+
+        // 실행 내내 만기 복구 + 다른 노드의 선점 시도
+        int recovered = 0, stolen = 0;
+        long until = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < until) {
+            recovered += tx.required(() -> taskRuns.recoverExpiredLeases(Duration.ZERO, "lease expired"));
+            stolen += dispatch.claimUpTo(1, lease, runtime.handlerKeys()).size();
+            Thread.sleep(250);
+        }
+        runtime.close();
+
+        assertEquals(0, recovered, "a renewed lease never looks expired");
+        assertEquals(0, stolen, "no other claimer sees the run while it executes");
+        assertEquals(1, calls.get());
+        TaskRun run = tx.required(() -> taskRuns.findAllByJobRun(jobRunId)).get(0);
+        assertEquals(TaskRun.Status.DONE, run.status());
+        assertEquals(1L, run.attempt());
+    }
+
+    /** classFqn#methodName 바인딩 태스크 (handlerKey 미등록) */
+    public static class BoundHandlers {
+        static final AtomicInteger staticCalls = new AtomicInteger();
+        final AtomicInteger instanceCalls = new AtomicInteger();
+
+        public static void onStatic(TaskContext ctx) {
+            staticCalls.incrementAndGet();
+        }
+
+        void onInstance() {
+            instanceCalls.incrementAndGet();
+        }
+    }
+
+    @Test
+    void methodBoundTasks_areClaimed_and_invokedThroughResolver() throws Exception {
+        long jobId = tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement("""
+                INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
+                VALUES('bound','bound','*/5 * * * *', CURRENT_TIMESTAMP, 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, new String[]{"ID"})) {
+                ps.executeUpdate(); try (var k=ps.getGeneratedKeys()){k.next(); return k.getLong(1);}
+            }
+        });
+        String cls = BoundHandlers.class.getName();
+        tx.required(() -> {
+            tasks.upsert(new Task(null, jobId, "s", cls + "#onStatic",   cls, "onStatic",   null, 0, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "i", cls + "#onInstance", cls, "onInstance", null, 0, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "x", cls + "#missing",    cls, "missing",    null, 0, clock.now(), clock.now()));
+            return null;
+        });
+        long jobRunId = tx.required(() -> jobRuns.upsert(jobId, "rk-bound", JobRun.Status.CREATED).id());
+        new TaskGraphService(tasks, deps, taskRuns, tx, clock).prepareFor(jobId, jobRunId);
+
+        var bean = new BoundHandlers();
+        var registry = new TaskHandlerRegistry(Map.of(), new MethodHandlerResolver(c -> bean, getClass().getClassLoader()));
+        var dispatch = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)));
+        var runtime = new TaskExecutionRuntime(registry, tasks, dispatch, tx, TaskExecutionRuntime.Settings.of(8));
+
+        List<TaskRun> claimed = dispatch.claimUpTo(10, Duration.ofSeconds(30), runtime.handlerKeys(), runtime.resolvesMethods());
+        assertEquals(3, claimed.size(), "CLASS_FQN tasks are claimable without a registered handlerKey");
+        runtime.submitAll(claimed);
+        runtime.close();
+
+        assertEquals(1, BoundHandlers.staticCalls.get());
+        assertEquals(1, bean.instanceCalls.get());
+        var runs = tx.required(() -> taskRuns.findAllByJobRun(jobRunId));
+        assertEquals(TaskRun.Status.DONE, runOf(runs, jobId, "s").status());
+        assertEquals(TaskRun.Status.DONE, runOf(runs, jobId, "i").status());
+        TaskRun missing = runOf(runs, jobId, "x");
+        assertEquals(TaskRun.Status.READY, missing.status(), "unbindable method is retried, not lost");
+        assertTrue(missing.lastError().contains("cannot bind handler"));
+    }
+
+    private TaskRun runOf(List<TaskRun> runs, long jobId, String taskName) throws Exception {
+        long taskId = tx.required(() -> tasks.findByJobAndName(jobId, taskName).orElseThrow().id());
+        return runs.stream().filter(tr -> tr.taskId() == taskId).findFirst().orElseThrow();
+    }
+}
@@ -11,9 +11,12 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class TaskGraphServiceAcceptanceTest extends TestSupport {
 
@@ -92,5 +95,146 @@ class TaskGraphServiceAcceptanceTest extends TestSupport {
         TaskRun stillReady = tx.required(() -> taskRuns.findById(ready.id()).orElseThrow());
         assertEquals(TaskRun.Status.READY, stillReady.status());
     }
-}
 
+    @Test
+    void markDoneAndCascade_promotesSatisfiedSuccessors_onlyWithinSameJobRun_andIsIdempotent() throws Exception {
+        long jobId = tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement("""
+                INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
+                VALUES('diamond','diamond','*/5 * * * *', CURRENT_TIMESTAMP, 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, new String[]{"ID"})) {
+                ps.executeUpdate(); try (var k=ps.getGeneratedKeys()){k.next(); return k.getLong(1);}
+            }
+        });
+        // a -> (b, c) -> d
+        tx.required(() -> {
+            tasks.upsert(new Task(null, jobId, "a", "h", null, null, null, 0, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "b", "h", null, null, null, 1, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "c", "h", null, null, null, 1, clock.now(), clock.now()));
+            tasks.upsert(new Task(null, jobId, "d", "h", null, null, null, 2, clock.now(), clock.now()));
+            long a = tasks.findByJobAndName(jobId, "a").orElseThrow().id();
+            long b = tasks.findByJobAndName(jobId, "b").orElseThrow().id();
+            long c = tasks.findByJobAndName(jobId, "c").orElseThrow().id();
+            long d = tasks.findByJobAndName(jobId, "d").orElseThrow().id();
+            deps.add(a, b); deps.add(a, c); deps.add(b, d); deps.add(c, d);
+            return null;
+        });
+        var graph = new TaskGraphService(tasks, deps, taskRuns, tx, clock);
+        long run1 = tx.required(() -> jobRuns.upsert(jobId, "rk-1", net.majide.core.model.JobRun.Status.CREATED).id());
+        long run2 = tx.required(() -> jobRuns.upsert(jobId, "rk-2", net.majide.core.model.JobRun.Status.CREATED).id());
+        graph.prepareFor(jobId, run1);
+        graph.prepareFor(jobId, run2);
+
+        var r1 = byName(jobId, run1);
+        long a1 = claim(r1.get("a"));
+        assertEquals(2, tx.required(() -> taskRuns.markDoneAndCascade(a1, TOKEN, 1)));
+        assertEquals(TaskRunRepository.LOST_CLAIM, tx.required(() -> taskRuns.markDoneAndCascade(a1, TOKEN, 1)),
+                "second completion is a no-op");
+
+        var afterA = byName(jobId, run1);
+        assertEquals(TaskRun.Status.DONE, afterA.get("a").status());
+        assertEquals(TaskRun.Status.READY, afterA.get("b").status());
+        assertEquals(TaskRun.Status.READY, afterA.get("c").status());
+        assertEquals(1, afterA.get("b").doneCnt(), "no double increment");
+        assertEquals(TaskRun.Status.BLOCKED, afterA.get("d").status());
+
+        long b1 = claim(afterA.get("b"));
+        tx.required(() -> taskRuns.markDoneAndCascade(b1, TOKEN, 1));
+        var afterB = byName(jobId, run1);
+        assertEquals(TaskRun.Status.BLOCKED, afterB.get("d").status(), "one of two predecessors done");
+        assertNull(afterB.get("d").availableAt());
+
+        long c1 = claim(afterB.get("c"));
+        tx.required(() -> taskRuns.markDoneAndCascade(c1, TOKEN, 1));
+        var afterC = byName(jobId, run1);
+        assertEquals(TaskRun.Status.READY, afterC.get("d").status());
+        assertNotNull(afterC.get("d").availableAt());
+
+        // 다른 JobRun은 영향 없음
+        var other = byName(jobId, run2);
+        assertEquals(TaskRun.Status.READY, other.get("a").status());
+        assertEquals(TaskRun.Status.BLOCKED, other.get("b").status());
+        assertEquals(0, other.get("b").doneCnt());
+    }
+
+    @Test
+    void lazyMaterialization_createsRootsOnly_then_successorsWhenAllPredecessorsDone() throws Exception {
+        long jobId = tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement("""
+                INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
+                VALUES('lazy','lazy','*/5 * * * *', CURRENT_TIMESTAMP, 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, new String[]{"ID"})) {
+                ps.executeUpdate(); try (var k=ps.getGeneratedKeys()){k.next(); return k.getLong(1);}
+            }
+        });
+        // a -> (b, c) -> d
+        tx.required(() -> {
+            for (String n : new String[]{"a", "b", "c", "d"}) {
+                tasks.upsert(new Task(null, jobId, n, "h", null, null, null, 0, clock.now(), clock.now()));
+            }
+            long a = tasks.findByJobAndName(jobId, "a").orElseThrow().id();
+            long b = tasks.findByJobAndName(jobId, "b").orElseThrow().id();
+            long c = tasks.findByJobAndName(jobId, "c").orElseThrow().id();
+            long d = tasks.findByJobAndName(jobId, "d").orElseThrow().id();
+            deps.add(a, b); deps.add(a, c); deps.add(b, d); deps.add(c, d);
+            return null;
+        });
+        var graph = new TaskGraphService(taskRuns, tx,
+                TaskGraphService.Settings.DEFAULT.withMaterialization(TaskGraphService.Materialization.LAZY));
+        long runId = tx.required(() -> jobRuns.upsert(jobId, "rk-lazy", net.majide.core.model.JobRun.Status.CREATED).id());
+        graph.prepareFor(jobId, runId);
+
+        var prepared = byName(jobId, runId);
+        assertEquals(1, prepared.size(), "only the root is materialized");
+        assertEquals(TaskRun.Status.READY, prepared.get("a").status());
+
+        long a = claim(prepared.get("a"));
+        assertEquals(2, graph.onTaskDone(a, TOKEN, 1));
+        assertEquals(TaskRunRepository.LOST_CLAIM, graph.onTaskDone(a, TOKEN, 1), "second completion is a no-op");
+        var afterA = byName(jobId, runId);
+        assertEquals(3, afterA.size());
+        assertEquals(TaskRun.Status.READY, afterA.get("b").status());
+        assertEquals(1, afterA.get("b").preCnt());
+        assertEquals(1, afterA.get("b").doneCnt());
+
+        // b, c 동시 완료 → d는 정확히 한 번 생성
+        long b = claim(afterA.get("b"));
+        long c = claim(afterA.get("c"));
+        var pool = java.util.concurrent.Executors.newFixedThreadPool(2);
+        try {
+            var fb = pool.submit(() -> graph.onTaskDone(b, TOKEN, 1));
+            var fc = pool.submit(() -> graph.onTaskDone(c, TOKEN, 1));
+            assertEquals(1, fb.get() + fc.get());
+        } finally {
+            pool.shutdownNow();
+        }
+        var afterBc = byName(jobId, runId);
+        assertEquals(4, afterBc.size());
+        assertEquals(TaskRun.Status.READY, afterBc.get("d").status());
+        assertEquals(2, afterBc.get("d").preCnt());
+        assertNotNull(afterBc.get("d").availableAt());
+    }
+
+    private static final String TOKEN = "graph-test";
+
+    /** 완료는 선점한 워커만 → 테스트 워커 토큰으로 RUNNING 전환 (attempt 1 그대로) */
+    private long claim(TaskRun tr) throws Exception {
+        tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement(
+                    "UPDATE TB_TASK_RUN SET STATUS='RUNNING', CLAIMED_BY=? WHERE ID=?")) {
+                ps.setString(1, TOKEN);
+                ps.setLong(2, tr.id());
+                return ps.executeUpdate();
+            }
+        });
+        return tr.id();
+    }
+
+    private Map<String, TaskRun> byName(long jobId, long jobRunId) throws Exception {
+        return tx.required(() -> {
+            Map<Long, String> names = tasks.findAllByJob(jobId).stream().collect(Collectors.toMap(Task::id, Task::name));
+            return taskRuns.findAllByJobRun(jobRunId).stream()
+                    .collect(Collectors.toMap(tr -> names.get(tr.taskId()), tr -> tr));
+        });
+    }
+}
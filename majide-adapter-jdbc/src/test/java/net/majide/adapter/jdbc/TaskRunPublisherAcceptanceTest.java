@@ -0,0 +1,74 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.RetryPolicy;
+import net.majide.core.service.TaskDispatchService;
+import net.majide.core.service.TaskRunPublisher;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRunPublisherAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    TaskRunRepository taskRuns;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void claimsFollowSubscriberDemand_and_stopOnCancel() throws Exception {
+        long jobRunId = seedRun("pub", 10);
+        var dispatch  = new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(Duration.ofSeconds(60)));
+        var received  = new CopyOnWriteArrayList<TaskRun>();
+        var subscription = new AtomicReference<Flow.Subscription>();
+
+        try (var publisher = new TaskRunPublisher(dispatch, Duration.ofSeconds(60), null, 100)) {
+            publisher.subscribe(new Flow.Subscriber<>() {
+                @Override public void onSubscribe(Flow.Subscription s) { subscription.set(s); s.request(3); }
+                @Override public void onNext(TaskRun item) { received.add(item); }
+                @Override public void onError(Throwable t) { fail(t); }
+                @Override public void onComplete() { }
+            });
+
+            awaitReceived(received, 3);
+            Thread.sleep(300);
+            assertEquals(3, received.size(), "no more than requested");
+            assertEquals(3, countStatus(jobRunId, TaskRun.Status.RUNNING), "leases only for requested work");
+
+            subscription.get().request(2);
+            awaitReceived(received, 5);
+            assertEquals(5, countStatus(jobRunId, TaskRun.Status.RUNNING));
+
+            subscription.get().cancel();
+            Thread.sleep(300);
+            assertEquals(5, countStatus(jobRunId, TaskRun.Status.RUNNING));
+            assertEquals(5, countStatus(jobRunId, TaskRun.Status.READY));
+        }
+        assertEquals(List.of(), received.stream().filter(r -> r.status() != TaskRun.Status.RUNNING).toList());
+    }
+
+    private static void awaitReceived(List<TaskRun> received, int n) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (received.size() < n && System.nanoTime() < deadline) Thread.sleep(20);
+        assertEquals(n, received.size());
+    }
+}
@@ -2,6 +2,16 @@ package net.majide.adapter.jdbc;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import net.majide.adapter.jdbc.repo.JdbcJobRunRepository;
+import net.majide.adapter.jdbc.repo.JdbcTaskRepository;
+import net.majide.adapter.jdbc.repo.JdbcTaskRunRepository;
+import net.majide.core.model.JobRun;
+import net.majide.core.model.Task;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.RetryPolicy;
+import net.majide.core.service.TaskDispatchService;
+import net.majide.core.service.TaskGraphService;
+import net.majide.core.spi.*;
 import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -11,13 +21,30 @@ import org.testcontainers.utility.DockerImageName;
 
 import javax.sql.DataSource;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public abstract class TestSupport {
     protected static DataSource ds;
     protected static OracleContainer oracle;
 
+    /** 잡/태스크 기본 테이블 (자식 → 부모 순) */
+    protected static final String[] JOB_TABLES = {"TB_TASK_RUN", "TB_JOB_RUN", "TB_TASK_DEP", "TB_TASK", "TB_JOB"};
+
+    // 공용 픽스처 전용 (테스트 자신의 repo/tx와 별개, 라운드트립 계측 대상 아님)
+    private TxRunner fxTx;
+    private JobRunRepository fxJobRuns;
+    private TaskRepository fxTasks;
+    private TaskRunRepository fxTaskRuns;
+    private TaskGraphService fxGraph;
+
     @BeforeAll
     void setupDb() {
         String url = System.getenv("ORACLE_JDBC_URL");
@@ -53,6 +80,12 @@ public abstract class TestSupport {
                 .baselineOnMigrate(true)
                 .load()
                 .migrate();
+
+        fxTx       = new JdbcTxRunner(ds);
+        fxJobRuns  = new JdbcJobRunRepository(ds);
+        fxTasks    = new JdbcTaskRepository(ds);
+        fxTaskRuns = new JdbcTaskRunRepository(ds);
+        fxGraph    = new TaskGraphService(fxTaskRuns, fxTx);
     }
 
     @AfterAll
@@ -60,4 +93,160 @@ public abstract class TestSupport {
         if (ds instanceof HikariDataSource h) h.close();
         if (oracle != null) oracle.stop();
     }
-}
\ No newline at end of file
+
+    // === 공용 픽스처: 각 테스트는 동작 검증만 ===
+
+    /** 나열 순서대로 TRUNCATE (FK 등으로 안 되면 DELETE) */
+    protected void truncate(String... tables) throws Exception {
+        fxTx.required(() -> {
+            try (var st = TxContext.get().createStatement()) {
+                for (String t : tables) {
+                    try { st.execute("TRUNCATE TABLE " + t); } catch (Exception ignore) { st.execute("DELETE FROM " + t); }
+                }
+            }
+            return null;
+        });
+    }
+
+    /** SQL 여러 개를 한 트랜잭션에서 실행 (픽스처 행 삽입 등) */
+    protected void execute(String... statements) throws Exception {
+        fxTx.required(() -> {
+            try (var st = TxContext.get().createStatement()) {
+                for (String sql : statements) st.execute(sql);
+            }
+            return null;
+        });
+    }
+
+    /** 태스크 원형 (jobId는 seedTasks가 채움, PRIORITY 0) */
+    protected static Task task(String name, String handlerKey) {
+        return new Task(null, null, name, handlerKey, null, null, null, 0, Instant.now(), Instant.now());
+    }
+
+    /** prefix0..prefix(n-1), 모두 같은 핸들러 */
+    protected static List<Task> tasks(String prefix, String handlerKey, int n) {
+        return IntStream.range(0, n).mapToObj(i -> task(prefix + i, handlerKey)).toList();
+    }
+
+    /** Job 하나 (DB 시계 기준 dueInSeconds 뒤 due, 음수면 이미 지남) → jobId */
+    protected long createJob(String name, int dueInSeconds) throws Exception {
+        return fxTx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement("""
+                INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
+                VALUES(?, 'fixture', '0 0 * * *', CURRENT_TIMESTAMP + NUMTODSINTERVAL(?,'SECOND'), 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, new String[]{"ID"})) {
+                ps.setString(1, name);
+                ps.setInt(2, dueInSeconds);
+                ps.executeUpdate();
+                try (var k = ps.getGeneratedKeys()) { k.next(); return k.getLong(1); }
+            }
+        });
+    }
+
+    /** 태스크 upsert (원형의 jobId는 무시하고 jobId로) */
+    protected void seedTasks(long jobId, List<Task> tasks) throws Exception {
+        fxTx.required(() -> {
+            for (Task t : tasks) {
+                fxTasks.upsert(new Task(t.id(), jobId, t.name(), t.handlerKey(), t.classFqn(), t.methodName(), t.description(),
+                        t.indegree(), t.createdAt(), t.updatedAt(), t.priority(), t.resourcePool(), t.orderingKey()));
+            }
+            return null;
+        });
+    }
+
+    /** JobRun 생성 + TaskRun 준비(EAGER) → jobRunId */
+    protected long prepareRun(long jobId, String runKey) throws Exception {
+        long jobRunId = fxTx.required(() -> fxJobRuns.upsert(jobId, runKey, JobRun.Status.CREATED).id());
+        fxGraph.prepareFor(jobId, jobRunId);
+        return jobRunId;
+    }
+
+    /** prepareRun + 런 단위 ORDERING_KEY (taskId → key) */
+    protected long prepareRun(long jobId, String runKey, Map<Long, String> orderingKeys) throws Exception {
+        long jobRunId = fxTx.required(() -> fxJobRuns.upsert(jobId, runKey, JobRun.Status.CREATED).id());
+        fxGraph.prepareFor(jobId, jobRunId, orderingKeys);
+        return jobRunId;
+    }
+
+    /** Job + 태스크 + JobRun "<jobName>-1" 준비 → jobRunId */
+    protected long seedRun(String jobName, List<Task> tasks) throws Exception {
+        long jobId = createJob(jobName, 3600);
+        seedTasks(jobId, tasks);
+        return prepareRun(jobId, jobName + "-1");
+    }
+
+    /** 핸들러 "h" 태스크 n개 (t0..) */
+    protected long seedRun(String jobName, int n) throws Exception {
+        return seedRun(jobName, tasks("t", "h", n));
+    }
+
+    /** 재시도 60초 고정 디스패처 */
+    protected TaskDispatchService dispatch(TaskDispatchService.Settings settings) {
+        return new TaskDispatchService(fxTaskRuns, fxTx, RetryPolicy.fixed(Duration.ofSeconds(60)), settings);
+    }
+
+    protected TaskDispatchService dispatch() {
+        return dispatch(TaskDispatchService.Settings.DEFAULT);
+    }
+
+    protected long countStatus(long jobRunId, TaskRun.Status status) throws Exception {
+        return fxTx.required(() -> fxTaskRuns.findAllByJobRun(jobRunId)).stream().filter(r -> r.status() == status).count();
+    }
+
+    /** 전체 TaskRun 중 status 수 */
+    protected long countStatus(TaskRun.Status status) throws Exception {
+        return queryLong("SELECT COUNT(*) FROM TB_TASK_RUN WHERE STATUS = ?", status.code());
+    }
+
+    /** 20초 안에 expected개가 status가 될 때까지 대기 후 검증 */
+    protected void awaitCount(long jobRunId, TaskRun.Status status, int expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        while (countStatus(jobRunId, status) < expected && System.nanoTime() < deadline) Thread.sleep(50);
+        assertEquals(expected, countStatus(jobRunId, status));
+    }
+
+    protected TaskRun.Status statusOf(long taskRunId) throws Exception {
+        return fxTx.required(() -> fxTaskRuns.findById(taskRunId)).orElseThrow().status();
+    }
+
+    protected Task taskOf(TaskRun tr) {
+        try {
+            return fxTx.required(() -> fxTasks.findById(tr.taskId())).orElseThrow();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 선점분 중 handlerKey 태스크 수 */
+    protected long countHandler(List<TaskRun> claimed, String handlerKey) {
+        return claimed.stream().filter(tr -> handlerKey.equals(taskOf(tr).handlerKey())).count();
+    }
+
+    /** 단일 숫자 조회 (바인드는 순서대로) */
+    protected long queryLong(String sql, Object... binds) throws Exception {
+        return queryLongs(sql, binds).get(0);
+    }
+
+    protected double queryDouble(String sql, Object... binds) throws Exception {
+        return fxTx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement(sql)) {
+                for (int i = 0; i < binds.length; i++) ps.setObject(i + 1, binds[i]);
+                try (var rs = ps.executeQuery()) { rs.next(); return rs.getDouble(1); }
+            }
+        });
+    }
+
+    /** 첫 컬럼 숫자 목록 */
+    protected List<Long> queryLongs(String sql, Object... binds) throws Exception {
+        return fxTx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement(sql)) {
+                for (int i = 0; i < binds.length; i++) ps.setObject(i + 1, binds[i]);
+                try (var rs = ps.executeQuery()) {
+                    List<Long> out = new ArrayList<>();
+                    while (rs.next()) out.add(rs.getLong(1));
+                    return out;
+                }
+            }
+        });
+    }
+}
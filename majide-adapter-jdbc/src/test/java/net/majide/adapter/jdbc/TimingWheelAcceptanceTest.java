@@ -0,0 +1,106 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.JdbcJobRepository;
+import net.majide.core.model.Job;
+import net.majide.core.schedule.WheelGatedJobRepository;
+import net.majide.core.spi.Clock;
+import net.majide.core.spi.TxRunner;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    RoundTripCounter counter;
+    JdbcJobRepository jdbcJobs;
+    AtomicReference<Instant> now = new AtomicReference<>();
+    Clock clock = () -> now.get();
+
+    WheelGatedJobRepository.Settings settings = new WheelGatedJobRepository.Settings(
+            Duration.ofMillis(100), 64, 4, Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofMinutes(10), Duration.ofSeconds(1));
+
+    @BeforeAll
+    void initAll() {
+        counter  = new RoundTripCounter();
+        tx       = new JdbcTxRunner(counter.wrap(ds));
+        jdbcJobs = new JdbcJobRepository(ds);
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        now.set(Instant.now());
+        truncate(JOB_TABLES);
+    }
+
+    @Test
+    void idleJobs_doNotTouchDb_untilRefresh() throws Exception {
+        for (int i = 0; i < 50; i++) insertJob("later-" + i, 3600 + i);
+        var gated = new WheelGatedJobRepository(jdbcJobs, clock, settings);
+
+        counter.reset();
+        tx.required(() -> gated.claimDueJobs(10, Duration.ofSeconds(5), "t"));   // 최초 전체 적재
+        assertEquals(1, counter.statements());
+        assertEquals(50, gated.tracked());
+
+        counter.reset();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(tx.required(() -> gated.claimDueJobs(10, Duration.ofSeconds(5), "t")).isEmpty());
+        }
+        assertEquals(0, counter.statements(), "no TB_JOB scan while nothing is due");
+
+        now.set(now.get().plusSeconds(2));
+        counter.reset();
+        tx.required(() -> gated.claimDueJobs(10, Duration.ofSeconds(5), "t"));
+        assertEquals(1, counter.statements(), "only the incremental UPDATED_AT read");
+
+        Duration until = tx.required(() -> gated.timeUntilNextDue()).orElseThrow();
+        assertTrue(until.compareTo(Duration.ofMinutes(59)) > 0, until.toString());
+    }
+
+    @Test
+    void dueSlot_firesClaim_and_incrementalRefreshPicksUpChanges() throws Exception {
+        long dueId = insertJob("due", -60);
+        var gated = new WheelGatedJobRepository(jdbcJobs, clock, settings);
+
+        List<Job> claimed = tx.required(() -> gated.claimDueJobs(10, Duration.ofSeconds(30), "t"));
+        assertEquals(List.of(dueId), claimed.stream().map(Job::id).toList());
+
+        // 선점 후에는 lease 만료(또는 커서 전진)까지 다시 잡지 않음
+        now.set(now.get().plusSeconds(2));
+        assertTrue(tx.required(() -> gated.claimDueJobs(10, Duration.ofSeconds(30), "t")).isEmpty());
+
+        // 다른 노드가 추가한 Job은 다음 증분에서 들어옴
+        long addedId = insertJob("added", -10);
+        now.set(now.get().plusSeconds(2));
+        claimed = tx.required(() -> gated.claimDueJobs(10, Duration.ofSeconds(30), "t"));
+        assertEquals(List.of(addedId), claimed.stream().map(Job::id).toList());
+
+        // 커서 전진도 증분으로 반영 → 새 만기 기준
+        tx.required(() -> { jdbcJobs.advanceCursor(dueId, now.get().plusSeconds(600)); return null; });
+        now.set(now.get().plusSeconds(2));
+        Duration until = tx.required(() -> gated.timeUntilNextDue()).orElseThrow();
+        assertTrue(until.compareTo(Duration.ofSeconds(20)) > 0, until.toString()); // added는 lease(30s) 중
+    }
+
+    private long insertJob(String name, int dueInSeconds) throws Exception {
+        return tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement("""
+                INSERT INTO TB_JOB(NAME,DESCRIPTION,CRON_EXPR,NEXT_DUE_AT,ENABLED,CREATED_AT,UPDATED_AT)
+                VALUES(?, 'wheel', '0 0 * * *', ?, 'Y', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, new String[]{"ID"})) {
+                ps.setString(1, name);
+                ps.setTimestamp(2, JdbcUtil.ts(now.get().plusSeconds(dueInSeconds)));
+                ps.executeUpdate();
+                try (var k = ps.getGeneratedKeys()) { k.next(); return k.getLong(1); }
+            }
+        });
+    }
+}
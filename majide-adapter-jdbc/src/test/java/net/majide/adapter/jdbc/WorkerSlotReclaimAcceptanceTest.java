@@ -0,0 +1,114 @@
+package net.majide.adapter.jdbc;
+
+import net.majide.adapter.jdbc.repo.*;
+import net.majide.core.identity.ops.WorkerSlotService;
+import net.majide.core.model.TaskRun;
+import net.majide.core.spi.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 선점 시 WORKER_ID 기록 + 슬롯 회수 시 그 슬롯의 RUNNING 즉시 재노출
+ */
+class WorkerSlotReclaimAcceptanceTest extends TestSupport {
+
+    TxRunner tx;
+    TaskRunRepository taskRuns;
+    WorkerSlotService slots;
+
+    @BeforeAll
+    void initAll() {
+        tx = new JdbcTxRunner(ds);
+        taskRuns = new JdbcTaskRunRepository(ds);
+        slots    = new WorkerSlotService(new JdbcWorkerSlotRepository(ds));
+    }
+
+    @BeforeEach
+    void truncateAll() throws Exception {
+        truncate("TB_TASK_RUN", "TB_JOB_RUN", "TB_TASK_DEP", "TB_TASK", "TB_JOB", "TB_WORKER_SLOT");
+        execute("INSERT INTO TB_WORKER_SLOT(WORKER_ID) VALUES(0)",
+                "INSERT INTO TB_WORKER_SLOT(WORKER_ID) VALUES(1)");
+    }
+
+    @Test
+    void reclaimingSlot_requeuesItsRunningTasks_only() throws Exception {
+        long jobRunId = seedRun("reclaim", 6);
+        int dead = tx.required(() -> slots.leaseOne("node-a", Duration.ofSeconds(60))).orElseThrow().workerId();
+        int alive = tx.required(() -> slots.leaseOne("node-b", Duration.ofSeconds(60))).orElseThrow().workerId();
+
+        List<TaskRun> a = tx.required(() -> taskRuns.claimReadyBatch(
+                ClaimSpec.of(3, Duration.ofSeconds(600), "node-a").withWorkerId(dead)));
+        List<TaskRun> b = tx.required(() -> taskRuns.claimReadyBatch(
+                ClaimSpec.of(3, Duration.ofSeconds(600), "node-b").withWorkerId(alive)));
+        assertTrue(a.stream().allMatch(r -> r.workerId() == dead), "claim stamps the slot id");
+        assertTrue(b.stream().allMatch(r -> r.workerId() == alive));
+
+        // node-a 하트비트 중단 → 슬롯만 만료 (태스크 lease는 아직 한참 남음)
+        tx.required(() -> {
+            try (var ps = TxContext.get().prepareStatement(
+                    "UPDATE TB_WORKER_SLOT SET LEASE_UNTIL = CURRENT_TIMESTAMP - NUMTODSINTERVAL(1,'SECOND') WHERE WORKER_ID = ?")) {
+                ps.setInt(1, dead);
+                ps.executeUpdate();
+            }
+            return null;
+        });
+
+        assertEquals(1, tx.required(() -> slots.reclaimExpired()));
+
+        var runs = tx.required(() -> taskRuns.findAllByJobRun(jobRunId));
+        var requeued = runs.stream().filter(r -> a.stream().anyMatch(x -> x.id().equals(r.id()))).toList();
+        assertTrue(requeued.stream().allMatch(r -> r.status() == TaskRun.Status.READY
+                && r.attempt() == 2L && r.workerId() == null && r.leaseUntil() == null));
+        assertEquals(JdbcWorkerSlotRepository.SLOT_EXPIRED_REASON, requeued.get(0).lastError());
+        assertEquals(3, runs.stream().filter(r -> r.status() == TaskRun.Status.RUNNING
+                && r.workerId() != null && r.workerId() == alive).count(), "live slot untouched");
+    }
+
+    @Test
+    void releasingSlot_requeuesRunsThatInheritedItsLease_inTheSameStatement() throws Exception {
+        long jobRunId = seedRun("reclaim", 4);
+        int slot = tx.required(() -> slots.leaseOne("node-a", Duration.ofSeconds(60))).orElseThrow().workerId();
+
+        List<TaskRun> inherited = tx.required(() -> taskRuns.claimReadyBatch(ClaimSpec.of(2, Duration.ofSeconds(600), "node-a")
+                .withWorkerId(slot).withLeaseModel(ClaimSpec.LeaseModel.SLOT)));
+        List<TaskRun> leased = tx.required(() -> taskRuns.claimReadyBatch(
+                ClaimSpec.of(2, Duration.ofSeconds(600), "node-a").withWorkerId(slot)));
+        assertTrue(inherited.stream().allMatch(r -> r.leaseUntil() == null));
+
+        tx.required(() -> { slots.release(slot, "someone-else"); return null; });
+        assertEquals(4, tx.required(() -> taskRuns.findAllByJobRun(jobRunId)).stream()
+                .filter(r -> r.status() == TaskRun.Status.RUNNING).count(), "wrong token releases nothing");
+
+        tx.required(() -> { slots.release(slot, "node-a"); return null; });
+
+        var runs = tx.required(() -> taskRuns.findAllByJobRun(jobRunId));
+        var requeued = runs.stream().filter(r -> inherited.stream().anyMatch(x -> x.id().equals(r.id()))).toList();
+        assertTrue(requeued.stream().allMatch(r -> r.status() == TaskRun.Status.READY && r.attempt() == 2L && r.workerId() == null));
+        assertEquals(JdbcWorkerSlotRepository.SLOT_RELEASED_REASON, requeued.get(0).lastError());
+        assertEquals(2, runs.stream().filter(r -> r.status() == TaskRun.Status.RUNNING
+                && leased.stream().anyMatch(x -> x.id().equals(r.id()))).count(), "runs with their own lease keep it");
+    }
+
+    @Test
+    void singleClaim_stampsSlotId_likeBatch_forBothStrategies() throws Exception {
+        seedRun("reclaim", 3);
+        int slot = tx.required(() -> slots.leaseOne("node-a", Duration.ofSeconds(60))).orElseThrow().workerId();
+
+        for (ClaimStrategy strategy : ClaimStrategy.values()) {
+            var repo = new JdbcTaskRunRepository(ds, strategy);
+            List<TaskRun> one = tx.required(() -> repo.claimReadyBatch(
+                    ClaimSpec.of(1, Duration.ofSeconds(600), "node-a").withWorkerId(slot)));
+            assertEquals(1, one.size());
+            assertEquals(slot, one.get(0).workerId(), strategy + " stamps the slot id");
+            assertNotNull(one.get(0).leaseUntil());
+        }
+        TaskRun plain = tx.required(() -> taskRuns.claimReady(Duration.ofSeconds(600), "node-x")).orElseThrow();
+        assertNull(plain.workerId(), "slotless claim leaves no slot id behind");
+    }
+}
@@ -0,0 +1,28 @@
+package net.majide.app.pipeline;
+
+import net.majide.core.runtime.TaskHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** application.yml 카탈로그(orders.sync → enrich → publish)의 핸들러. 빈 이름 = handlerKey */
+@Configuration
+public class OrderPipelineHandlers {
+    private static final Logger log = LoggerFactory.getLogger(OrderPipelineHandlers.class);
+
+    @Bean("orders.sync")
+    public TaskHandler ordersSync() {
+        return ctx -> log.info("orders.sync taskRun={} attempt={}", ctx.taskRunId(), ctx.attempt());
+    }
+
+    @Bean("orders.enrich")
+    public TaskHandler ordersEnrich() {
+        return ctx -> log.info("orders.enrich taskRun={} attempt={}", ctx.taskRunId(), ctx.attempt());
+    }
+
+    @Bean("orders.publish")
+    public TaskHandler ordersPublish() {
+        return ctx -> log.info("orders.publish taskRun={} attempt={}", ctx.taskRunId(), ctx.attempt());
+    }
+}
@@ -203,7 +203,8 @@ class SchedulingFlowIT {
                     rs.getTimestamp("FINISHED_AT") == null ? null : rs.getTimestamp("FINISHED_AT").toInstant(),
                     rs.getTimestamp("CREATED_AT").toInstant(),
                     rs.getTimestamp("UPDATED_AT").toInstant(),
-                    rs.getString("LAST_ERROR")
+                    rs.getString("LAST_ERROR"),
+                    rs.getString("ORDERING_KEY")
             ));
         });
     }
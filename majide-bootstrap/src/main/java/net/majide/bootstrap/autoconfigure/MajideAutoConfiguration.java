@@ -2,22 +2,46 @@ package net.majide.bootstrap.autoconfigure;
 
 import net.majide.bootstrap.catalog.CatalogRegistrar;
 import net.majide.bootstrap.props.MajideProperties;
+import net.majide.core.identity.ops.WorkerSlotLease;
+import net.majide.core.identity.ops.WorkerSlotService;
 import net.majide.core.maintenance.MaintenanceService;
+import net.majide.core.runtime.HandlerBulkheads;
+import net.majide.core.runtime.MethodHandlerResolver;
+import net.majide.core.runtime.PrefetchBuffer;
+import net.majide.core.runtime.TaskExecutionRuntime;
+import net.majide.core.runtime.TaskHandler;
+import net.majide.core.runtime.TaskHandlerRegistry;
+import net.majide.core.schedule.WheelGatedJobRepository;
 import net.majide.core.service.*;
 import net.majide.core.spi.*;
 import net.majide.integration.spring.MajideSpringConfig;
 import net.majide.integration.spring.cron.CronSlotPlanner;
 import net.majide.integration.spring.sched.MajideSchedulers;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.util.ClassUtils;
 
-import java.time.Duration;
+import java.net.InetAddress;
 import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @AutoConfiguration
@@ -34,40 +58,193 @@ public class MajideAutoConfiguration {
         return (from, expr, zone) -> CronSlotPlanner.compute(expr, zone, from).nextUtc();
     }
 
+    /** 완료 → 디스패치 루프 즉시 깨우기 (기본: 같은 JVM 안. 노드 간 전달은 WakeupBus 빈으로 교체) */
+    @Bean
+    @ConditionalOnMissingBean
+    public WakeupBus wakeupBus() {
+        return new InProcessWakeupBus();
+    }
+
     // --- 코어 서비스 조립 ---
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskGraphService taskGraph(TaskRepository tasks,
-                                      TaskDependencyRepository deps,
-                                      TaskRunRepository taskRuns,
+    public TaskGraphService taskGraph(TaskRunRepository taskRuns,
                                       TxRunner tx,
-                                      Clock clock) {
-        return new TaskGraphService(tasks, deps, taskRuns, tx, clock);
+                                      WakeupBus wakeups,
+                                      MajideProperties props) {
+        return new TaskGraphService(taskRuns, tx, TaskGraphService.Settings.DEFAULT
+                .withMaterialization(props.getScheduler().getMaterialization()).withWakeups(wakeups));
+    }
+
+    /** 이 노드의 워커 슬롯 (선점 시 슬롯 id를 실음, 파티션 선점의 기준) */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "majide.scheduler", name = "worker-slot", havingValue = "true", matchIfMissing = true)
+    public WorkerSlotLease workerSlotLease(WorkerSlotRepository slots, TxRunner tx, MajideProperties props) {
+        var s = props.getScheduler();
+        return new WorkerSlotLease(new WorkerSlotService(slots), tx, instanceToken(), s.getSlotLease(), s.getSlotHeartbeat());
+    }
+
+    /** hostname:pid:uuid (TB_WORKER_SLOT.INSTANCE_TOKEN 100자 이내) */
+    private static String instanceToken() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        if (host.length() > 40) host = host.substring(0, 40);
+        return host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskDispatchService taskDispatch(TaskRunRepository taskRuns, TxRunner tx, TaskGraphService graph,
+                                            WakeupBus wakeups, ObjectProvider<WorkerSlotLease> slot,
+                                            RateLimitRepository rateLimits, TaskRepository tasks, Clock clock,
+                                            MajideProperties props) {
+        var s = props.getScheduler();
+        // 카탈로그에 rateLimit이 있을 때만 (토큰 예약분이 선점 한도로 들어감)
+        HandlerRateLimiter limiter = CatalogRegistrar.rateLimits(props.getCatalog()).isEmpty() ? null
+                : new HandlerRateLimiter(rateLimits, tasks, tx, clock, new HandlerRateLimiter.Settings(
+                        s.getRateLimitHold(), HandlerRateLimiter.Settings.DEFAULT.refreshInterval()));
+        return new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(s.getRetryBackoff()), TaskDispatchService.Settings.DEFAULT
+                .withGraph(graph)
+                .withWakeups(wakeups)
+                .withSlot(slot.getIfAvailable())
+                .withPartitioned(s.isPartitionedClaims())
+                .withLeaseModel(s.getLeaseModel())
+                .withFairShare(s.getFairShare())
+                .withResourcePools(usesResourcePools(props.getCatalog()))
+                .withRateLimiter(limiter));
+    }
+
+    /** 카탈로그에 풀이 있을 때만 선점에 퍼밋 조건을 붙임 (없으면 FIFO 인덱스 스캔 그대로) */
+    static boolean usesResourcePools(MajideProperties.Catalog catalog) {
+        return !catalog.getResourcePools().isEmpty()
+                || catalog.getJobs().stream().flatMap(j -> j.getTasks().stream()).anyMatch(t -> t.getResourcePool() != null);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskDispatchService taskDispatch(TaskRunRepository taskRuns, TxRunner tx, MajideProperties props) {
-        Duration backoff = props.getScheduler().getRetryBackoff();
-        return new TaskDispatchService(taskRuns, tx, RetryPolicy.fixed(backoff));
+    public Orchestrator orchestrator(JobTickService jobTick,
+                                     TaskDispatchService dispatch,
+                                     ObjectProvider<TaskExecutionRuntime> runtime,
+                                     ObjectProvider<PrefetchBuffer> prefetch) {
+        return new Orchestrator(jobTick, dispatch, runtime.getIfAvailable(), prefetch.getIfAvailable());
     }
 
+    // --- 실행 런타임 (핸들러 레지스트리 + 가상 스레드) ---
+
     @Bean
     @ConditionalOnMissingBean
-    public Orchestrator orchestrator(JobTickService jobTick, TaskDispatchService dispatch) {
-        return new Orchestrator(jobTick, dispatch);
+    public MethodHandlerResolver methodHandlerResolver(ListableBeanFactory beans) {
+        // 인스턴스 메서드: 해당 타입의 빈이 있으면 빈에, 없으면 no-arg 생성자로 만든 객체에 바인딩
+        return new MethodHandlerResolver(
+                cls -> beans.getBeanProvider(cls).getIfAvailable(() -> BeanUtils.instantiateClass(cls)),
+                ClassUtils.getDefaultClassLoader());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskHandlerRegistry taskHandlerRegistry(ListableBeanFactory beans, MethodHandlerResolver resolver) {
+        // TaskHandler 빈 이름을 handlerKey로 사용 (예: @Bean("orders.sync")), 없으면 classFqn#method 바인딩
+        return new TaskHandlerRegistry(beans.getBeansOfType(TaskHandler.class), resolver);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "majide.execution", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TaskExecutionRuntime taskExecutionRuntime(TaskHandlerRegistry registry,
+                                                     TaskRepository tasks,
+                                                     TaskDispatchService dispatch,
+                                                     TxRunner tx,
+                                                     MajideProperties props) {
+        var e = props.getExecution();
+        return new TaskExecutionRuntime(registry, tasks, dispatch, tx, TaskExecutionRuntime.Settings.of(e.getMaxConcurrency())
+                .withBulkheads(bulkheads(props.getCatalog()))
+                .withCpuThreads(e.getCpuThreads())
+                .withLeaseRenewal(props.getScheduler().getTaskLease(), props.getScheduler().getTaskLease().dividedBy(3)));
+    }
+
+    /** 카탈로그 TaskDef의 executionClass/maxConcurrency → handlerKey별 벌크헤드 (같은 키는 설정이 같아야 함) */
+    static HandlerBulkheads bulkheads(MajideProperties.Catalog catalog) {
+        Map<String, HandlerBulkheads.Spec> specs = new HashMap<>();
+        for (var job : catalog.getJobs()) {
+            for (var t : job.getTasks()) {
+                if (t.getExecutionClass() == null && t.getMaxConcurrency() == null) continue;
+                String key = CatalogRegistrar.handlerKey(t);
+                var spec = new HandlerBulkheads.Spec(t.getExecutionClass(),
+                        t.getMaxConcurrency() == null ? 0 : t.getMaxConcurrency());
+                var prev = specs.putIfAbsent(key, spec);
+                if (prev != null && !prev.equals(spec)) {
+                    throw new IllegalStateException("conflicting bulkhead for handlerKey " + key + ": " + prev + " vs " + spec);
+                }
+            }
+        }
+        return specs.isEmpty() ? HandlerBulkheads.NONE : new HandlerBulkheads(specs);
+    }
+
+    /** 외부 실행기용 수요 기반 디스패치 (구독자가 request한 만큼만 선점, 구독 전에는 아무것도 하지 않음) */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public TaskRunPublisher taskRunPublisher(TaskDispatchService dispatch, WakeupBus wakeups, MajideProperties props) {
+        var s = props.getScheduler();
+        return new TaskRunPublisher(dispatch, s.getTaskLease(), null, false, Math.max(1, s.getMaxClaims()),
+                s.getMaxInterval(), wakeups);
+    }
+
+    /** 로컬 선점 버퍼 (majide.execution.prefetch-workers > 0) */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(TaskExecutionRuntime.class)
+    @ConditionalOnExpression("${majide.execution.prefetch-workers:0} > 0")
+    public PrefetchBuffer prefetchBuffer(TaskExecutionRuntime runtime, TaskDispatchService dispatch, MajideProperties props) {
+        var e = props.getExecution();
+        return new PrefetchBuffer(runtime, dispatch, e.getPrefetchWorkers(), e.getPrefetchCapacity(), e.getPrefetchLeaseSafety());
+    }
+
+    /** JobRun 준비 전용 풀 (드레인 틱에서 선점한 Job들을 병렬 준비) */
+    @Bean(name = "majidePrepareExecutor", destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = "majidePrepareExecutor")
+    public ExecutorService majidePrepareExecutor(MajideProperties props) {
+        AtomicInteger seq = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, props.getScheduler().getPrepareParallelism()), r -> {
+            Thread t = new Thread(r, "majide-prepare-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Job due 판정용 타이밍 휠 (틱/디스패치 루프만 사용, 나머지는 @Primary JobRepository) */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "majide.scheduler", name = "timing-wheel", havingValue = "true")
+    public WheelGatedJobRepository wheelGatedJobRepository(JobRepository jobs, Clock clock, MajideProperties props) {
+        var s = props.getScheduler();
+        var d = WheelGatedJobRepository.Settings.DEFAULT;
+        return new WheelGatedJobRepository(jobs, clock, new WheelGatedJobRepository.Settings(
+                d.tick(), d.wheelSize(), d.levels(), s.getWheelRefresh(), d.lag(), s.getWheelResync(), d.recheck()));
     }
 
     @Bean
     @ConditionalOnMissingBean
     public JobTickService jobTick(JobRepository jobs,
+                                  ObjectProvider<WheelGatedJobRepository> wheel,
                                   JobRunRepository jobRuns,
                                   TaskGraphService graph,
                                   TxRunner tx,
                                   Clock clock,
-                                  CronCalculator cron) {
-        return new JobTickService(jobs, jobRuns, graph, tx, clock, cron);
+                                  CronCalculator cron,
+                                  @Qualifier("majidePrepareExecutor") ExecutorService prepareExecutor,
+                                  MajideProperties props) {
+        var s = props.getScheduler();
+        return new JobTickService(wheel.getIfAvailable(() -> jobs), jobRuns, graph, tx, clock, cron, JobTickService.Settings.DEFAULT
+                .withDrain(new JobTickService.Drain(s.getDrainBatchSize(), s.getDrainBudget()))
+                .withPrepareExecutor(prepareExecutor)
+                .withPreparation(s.getPreparation())
+                .withPrepareGrace(s.getPrepareGrace()));
     }
 
     @Bean
@@ -80,6 +257,14 @@ public class MajideAutoConfiguration {
     }
 
     // --- 스케줄러 등록 (프로퍼티로 주기 제어) ---
+
+    /** MajideSchedulers의 @Scheduled 메서드가 실제로 돌도록 스케줄링 활성화 */
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "majide.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class SchedulingConfiguration {
+    }
+
 //    @Bean
 //    @ConditionalOnProperty(prefix = "majide.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
 //    public MajideSchedulers majideSchedulers(Orchestrator orchestrator,
@@ -91,6 +276,7 @@ public class MajideAutoConfiguration {
     @ConditionalOnProperty(prefix = "majide.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
     public MajideSchedulers majideSchedulers(Orchestrator orchestrator,
                                              MaintenanceService maintenance,
+                                             ObjectProvider<DispatchLoop> dispatchLoop,
                                              MajideProperties props) {
         var s = new MajideSchedulers(orchestrator, maintenance);
 
@@ -101,17 +287,41 @@ public class MajideAutoConfiguration {
         s.setMaxClaims(props.getScheduler().getMaxClaims());
         s.setMaintBackoff(props.getScheduler().getRetryBackoff()); // 이름만 다름: retryBackoff -> maintBackoff
         s.setFinishedTtl(props.getScheduler().getFinishedTtl());
+        s.setTickEnabled(dispatchLoop.getIfAvailable() == null); // 루프가 있으면 고정 주기 틱은 끔
         return s;
     }
 
+    /** next-wake 모드: 고정 주기 틱 대신 다음 일감 시각까지 자는 전용 디스패치 루프 */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "majide.scheduler", name = "mode", havingValue = "next-wake", matchIfMissing = true)
+    static class DispatchLoopConfiguration {
+        @Bean(initMethod = "start", destroyMethod = "close")
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "majide.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+        public DispatchLoop dispatchLoop(Orchestrator orchestrator,
+                                         JobRepository jobs,
+                                         ObjectProvider<WheelGatedJobRepository> wheel,
+                                         TaskRunRepository taskRuns,
+                                         TxRunner tx,
+                                         WakeupBus wakeups,
+                                         MajideProperties props) {
+            var s = props.getScheduler();
+            return new DispatchLoop(orchestrator, wheel.getIfAvailable(() -> jobs), taskRuns, tx, s.getJobLease(), s.getTaskLease(), s.getMaxClaims(),
+                    DispatchLoop.Settings.DEFAULT.withMaxInterval(s.getMaxInterval()).withMinBackoff(s.getMinBackoff())
+                            .withWakeups(wakeups));
+        }
+    }
+
     @Bean
     public CatalogRegistrar catalogRegistrar(JobRepository jobs,
                                              TaskRepository tasks,
                                              TaskDependencyRepository deps,
                                              TxRunner tx,
+                                             ResourcePoolRepository pools,
+                                             RateLimitRepository rateLimits,
                                              MajideProperties props) {
         ZoneId zone = ZoneId.of(props.getZone());
-        return new CatalogRegistrar(jobs, tasks, deps, tx, zone);
+        return new CatalogRegistrar(jobs, tasks, deps, tx, zone, pools, rateLimits);
     }
 
     @Bean
@@ -3,7 +3,10 @@ package net.majide.bootstrap.catalog;
 
 import net.majide.bootstrap.props.MajideProperties;
 import net.majide.core.model.Task;
+import net.majide.core.model.RateLimit;
 import net.majide.core.spi.JobRepository;
+import net.majide.core.spi.RateLimitRepository;
+import net.majide.core.spi.ResourcePoolRepository;
 import net.majide.core.spi.TaskDependencyRepository;
 import net.majide.core.spi.TaskRepository;
 import net.majide.core.spi.TxRunner;
@@ -24,25 +27,111 @@ public class CatalogRegistrar {
     private final TaskDependencyRepository deps;
     private final TxRunner tx;
     private final ZoneId zone;
+    private final ResourcePoolRepository pools; // null = 리소스 풀 미사용
+    private final RateLimitRepository rateLimits; // null = 초당 한도 미사용
 
     public CatalogRegistrar(JobRepository jobs,
                             TaskRepository tasks,
                             TaskDependencyRepository deps,
                             TxRunner tx,
                             ZoneId zone) {
+        this(jobs, tasks, deps, tx, zone, null);
+    }
+
+    public CatalogRegistrar(JobRepository jobs,
+                            TaskRepository tasks,
+                            TaskDependencyRepository deps,
+                            TxRunner tx,
+                            ZoneId zone,
+                            ResourcePoolRepository pools) {
+        this(jobs, tasks, deps, tx, zone, pools, null);
+    }
+
+    public CatalogRegistrar(JobRepository jobs,
+                            TaskRepository tasks,
+                            TaskDependencyRepository deps,
+                            TxRunner tx,
+                            ZoneId zone,
+                            ResourcePoolRepository pools,
+                            RateLimitRepository rateLimits) {
         this.jobs = jobs;
         this.tasks = tasks;
         this.deps = deps;
         this.tx = tx;
         this.zone = zone;
+        this.pools = pools;
+        this.rateLimits = rateLimits;
     }
 
     public void register(MajideProperties.Catalog catalog) throws Exception {
+        // 실행 대상 없는 TaskDef는 DB에 쓰기 전에 거부
+        for (var j : catalog.getJobs()) j.getTasks().forEach(CatalogRegistrar::handlerKey);
+        registerPools(catalog);
+        registerRateLimits(catalog);
         for (var j : catalog.getJobs()) {
             upsertJobAndTasks(j);
         }
     }
 
+    /** 풀 정의(퍼밋 수 맞춤) + TaskDef가 참조하는 풀이 정의돼 있는지 확인 */
+    private void registerPools(MajideProperties.Catalog catalog) throws Exception {
+        for (var j : catalog.getJobs()) {
+            for (var t : j.getTasks()) {
+                if (t.getResourcePool() != null && !catalog.getResourcePools().containsKey(t.getResourcePool())) {
+                    throw new IllegalStateException("Unknown resourcePool: " + t.getResourcePool() + " (task " + t.getName() + ")");
+                }
+            }
+        }
+        if (catalog.getResourcePools().isEmpty()) return;
+        if (pools == null) throw new IllegalStateException("ResourcePoolRepository required for catalog.resourcePools");
+        tx.required(() -> {
+            for (var e : catalog.getResourcePools().entrySet()) pools.define(e.getKey(), e.getValue());
+            return null;
+        });
+        log.info("Resource pools registered: {}", catalog.getResourcePools());
+    }
+
+    /** TaskDef.rateLimit → handlerKey별 토큰 버킷 (같은 키는 설정이 같아야 함) */
+    private void registerRateLimits(MajideProperties.Catalog catalog) throws Exception {
+        Map<String, RateLimit> limits = rateLimits(catalog);
+        if (limits.isEmpty()) return;
+        if (rateLimits == null) throw new IllegalStateException("RateLimitRepository required for TaskDef.rateLimit");
+        tx.required(() -> {
+            for (var l : limits.values()) rateLimits.define(l.handlerKey(), l.permitsPerSecond(), l.burst());
+            return null;
+        });
+        log.info("Rate limits registered: {}", limits.values());
+    }
+
+    public static Map<String, RateLimit> rateLimits(MajideProperties.Catalog catalog) {
+        Map<String, RateLimit> out = new HashMap<>();
+        for (var j : catalog.getJobs()) {
+            for (var t : j.getTasks()) {
+                if (t.getRateLimit() == null) continue;
+                String key = handlerKey(t);
+                int burst = t.getRateBurst() != null ? t.getRateBurst() : (int) Math.ceil(t.getRateLimit());
+                var limit = new RateLimit(key, t.getRateLimit(), burst);
+                var prev = out.putIfAbsent(key, limit);
+                if (prev != null && !prev.equals(limit)) {
+                    throw new IllegalStateException("conflicting rateLimit for handlerKey " + key + ": " + prev + " vs " + limit);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * HANDLER_KEY는 NOT NULL → classFqn#method 바인딩이면 그 이름을 키로 사용.
+     * handler도 classFqn+method도 없으면 실행할 수 없는 태스크 → 등록 시점에 예외
+     */
+    public static String handlerKey(MajideProperties.TaskDef t) {
+        if (t.getHandler() != null) return t.getHandler();
+        if (t.getClassFqn() == null || t.getMethod() == null) {
+            throw new IllegalStateException("task " + t.getName() + " needs either handler or classFqn+method");
+        }
+        return t.getClassFqn() + "#" + t.getMethod();
+    }
+
     private void upsertJobAndTasks(MajideProperties.JobDef def) throws Exception {
         if (def.getName() == null || def.getCronExpr() == null) {
             throw new IllegalArgumentException("job.name and job.cronExpr are required");
@@ -56,8 +145,14 @@ public class CatalogRegistrar {
                 def.getDescription(),
                 def.getCronExpr(),
                 slot.nextUtc(),  // 다음 due
-                true             // enabled
+                true,            // enabled
+                def.getPriority()
         ));
+        tx.required(() -> {
+            jobs.updateShare(job.id(), def.getShareGroup(), def.getShareWeight());
+            jobs.updateOverlap(job.id(), def.getOverlapPolicy(), def.getMaxConcurrentRuns());
+            return null;
+        });
 
         // 2) TASK upsert & ID 맵
         Map<String, Long> taskIdByName = new HashMap<>();
@@ -65,10 +160,11 @@ public class CatalogRegistrar {
             Instant ts = Instant.now();
             for (var t : def.getTasks()) {
                 int indegree = (t.getDependsOn() == null) ? 0 : t.getDependsOn().size();
+                String handlerKey = handlerKey(t);
                 tasks.upsert(new Task(
-                        null, job.id(), t.getName(), t.getHandler(),
-                        null, null,
-                        null, indegree, ts, ts
+                        null, job.id(), t.getName(), handlerKey,
+                        t.getClassFqn(), t.getMethod(),
+                        null, indegree, ts, ts, t.getPriority(), t.getResourcePool(), t.getOrderingKey()
                 ));
                 var saved = tasks.findByJobAndName(job.id(), t.getName()).orElseThrow();
                 taskIdByName.put(t.getName(), saved.id());
@@ -1,5 +1,10 @@
 package net.majide.bootstrap.props;
 
+import net.majide.core.model.Job;
+import net.majide.core.runtime.HandlerBulkheads;
+import net.majide.core.service.JobTickService;
+import net.majide.core.service.TaskGraphService;
+import net.majide.core.spi.ClaimSpec;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.time.Duration;
@@ -13,6 +18,7 @@ public class MajideProperties {
     private Catalog catalog = new Catalog();
     private String zone = "UTC";
     private Scheduler scheduler = new Scheduler();
+    private Execution execution = new Execution();
 
     public Catalog getCatalog() {
         return catalog;
@@ -38,9 +44,18 @@ public class MajideProperties {
         this.scheduler = scheduler;
     }
 
+    public Execution getExecution() {
+        return execution;
+    }
+
+    public void setExecution(Execution execution) {
+        this.execution = execution;
+    }
+
     public static class Catalog {
         private boolean enabled = true;
         private List<JobDef> jobs = new ArrayList<>(); // ← 가변
+        private Map<String, Integer> resourcePools = new LinkedHashMap<>(); // 풀 이름 → 클러스터 전역 퍼밋 수
 
         public boolean isEnabled() {
             return enabled;
@@ -57,11 +72,24 @@ public class MajideProperties {
         public void setJobs(List<JobDef> jobs) {
             this.jobs = jobs;
         }
+
+        public Map<String, Integer> getResourcePools() {
+            return resourcePools;
+        }
+
+        public void setResourcePools(Map<String, Integer> resourcePools) {
+            this.resourcePools = resourcePools;
+        }
     }
     public static class JobDef {
         private String name;
         private String description;
         private String cronExpr;
+        private Integer priority;  // null = 0 (큰 값이 먼저)
+        private String shareGroup; // 공정 분배 그룹 (테넌트/네임스페이스, null = Job 단독)
+        private int shareWeight = 1;
+        private Job.OverlapPolicy overlapPolicy = Job.OverlapPolicy.ALLOW; // 이전 실행이 안 끝났을 때: allow | skip | queue | cancel-previous
+        private int maxConcurrentRuns = 1;                                 // 동시에 진행 중일 수 있는 JobRun 수 (allow면 무시)
         private List<TaskDef> tasks = new ArrayList<>(); // ← 가변
 
         public String getName() {
@@ -88,6 +116,46 @@ public class MajideProperties {
             this.cronExpr = cronExpr;
         }
 
+        public Integer getPriority() {
+            return priority;
+        }
+
+        public void setPriority(Integer priority) {
+            this.priority = priority;
+        }
+
+        public String getShareGroup() {
+            return shareGroup;
+        }
+
+        public void setShareGroup(String shareGroup) {
+            this.shareGroup = shareGroup;
+        }
+
+        public int getShareWeight() {
+            return shareWeight;
+        }
+
+        public void setShareWeight(int shareWeight) {
+            this.shareWeight = shareWeight;
+        }
+
+        public Job.OverlapPolicy getOverlapPolicy() {
+            return overlapPolicy;
+        }
+
+        public void setOverlapPolicy(Job.OverlapPolicy overlapPolicy) {
+            this.overlapPolicy = overlapPolicy;
+        }
+
+        public int getMaxConcurrentRuns() {
+            return maxConcurrentRuns;
+        }
+
+        public void setMaxConcurrentRuns(int maxConcurrentRuns) {
+            this.maxConcurrentRuns = maxConcurrentRuns;
+        }
+
         public List<TaskDef> getTasks() {
             return tasks;
         }
@@ -102,6 +170,11 @@ public class MajideProperties {
                     "name='" + name + '\'' +
                     ", description='" + description + '\'' +
                     ", cronExpr='" + cronExpr + '\'' +
+                    ", priority=" + priority +
+                    ", shareGroup='" + shareGroup + '\'' +
+                    ", shareWeight=" + shareWeight +
+                    ", overlapPolicy=" + overlapPolicy +
+                    ", maxConcurrentRuns=" + maxConcurrentRuns +
                     ", tasks=" + tasks +
                     '}';
         }
@@ -109,6 +182,15 @@ public class MajideProperties {
     public static class TaskDef {
         private String name;
         private String handler;
+        private String classFqn;   // handler 대신 classFqn#method 로 바인딩할 때
+        private String method;
+        private Integer priority;  // Job 우선순위에 더해짐 (null = 0)
+        private HandlerBulkheads.ExecutionClass executionClass; // io(가상 스레드) | cpu(고정 플랫폼 풀), null = io
+        private Integer maxConcurrency; // 노드당 이 handlerKey 동시 실행 상한 (null = 런타임 전체 상한만)
+        private String resourcePool;    // 실행마다 퍼밋 하나가 필요한 풀 (catalog.resourcePools에 정의, null = 없음)
+        private Double rateLimit;       // 클러스터 전체에서 이 handlerKey의 초당 선점 상한 (null = 없음)
+        private Integer rateBurst;      // 몰아서 선점할 수 있는 최대 토큰 (null = ceil(rateLimit))
+        private String orderingKey;     // 같은 키의 TaskRun은 클러스터 전체에서 하나씩만 RUNNING (null = 제약 없음)
         private List<String> dependsOn = new ArrayList<>();      // ← 가변
         private Map<String, String> attrs = new LinkedHashMap<>(); // ← 가변
 
@@ -128,6 +210,78 @@ public class MajideProperties {
             this.handler = handler;
         }
 
+        public String getClassFqn() {
+            return classFqn;
+        }
+
+        public void setClassFqn(String classFqn) {
+            this.classFqn = classFqn;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public Integer getPriority() {
+            return priority;
+        }
+
+        public void setPriority(Integer priority) {
+            this.priority = priority;
+        }
+
+        public HandlerBulkheads.ExecutionClass getExecutionClass() {
+            return executionClass;
+        }
+
+        public void setExecutionClass(HandlerBulkheads.ExecutionClass executionClass) {
+            this.executionClass = executionClass;
+        }
+
+        public Integer getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(Integer maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public String getResourcePool() {
+            return resourcePool;
+        }
+
+        public void setResourcePool(String resourcePool) {
+            this.resourcePool = resourcePool;
+        }
+
+        public Double getRateLimit() {
+            return rateLimit;
+        }
+
+        public void setRateLimit(Double rateLimit) {
+            this.rateLimit = rateLimit;
+        }
+
+        public Integer getRateBurst() {
+            return rateBurst;
+        }
+
+        public void setRateBurst(Integer rateBurst) {
+            this.rateBurst = rateBurst;
+        }
+
+        public String getOrderingKey() {
+            return orderingKey;
+        }
+
+        public void setOrderingKey(String orderingKey) {
+            this.orderingKey = orderingKey;
+        }
+
         public List<String> getDependsOn() {
             return dependsOn;
         }
@@ -154,6 +308,33 @@ public class MajideProperties {
         private int maxClaims = 10;
         private Duration retryBackoff = Duration.ofSeconds(10);
         private Duration finishedTtl = Duration.ofDays(30);
+        private TaskGraphService.Materialization materialization = TaskGraphService.Materialization.EAGER; // lazy: 후행 행 지연 생성
+        private int drainBatchSize = 50;                  // 틱당 due Job 배치 선점 크기 (0 = 틱당 1개)
+        private Duration drainBudget = Duration.ofSeconds(2); // 한 틱의 드레인 시간 상한
+        private int prepareParallelism = 4;               // JobRun 준비 병렬도 (DB 커넥션 풀 이하로)
+        private JobTickService.Preparation preparation = JobTickService.Preparation.INLINE; // async: 선점 후 준비 분리
+        private Duration prepareGrace = JobTickService.DEFAULT_PREPARE_GRACE; // async 준비 누락 판정/복구 주기
+        private Mode mode = Mode.NEXT_WAKE;               // 디스패치 방식
+        private Duration maxInterval = Duration.ofSeconds(30); // next-wake: 최대 대기 (예측 못 한 일감 감지 상한)
+        private Duration minBackoff = Duration.ofMillis(100);  // next-wake: 빈 선점 시 백오프 시작값
+        private boolean timingWheel = false;              // Job due 판정을 메모리 타이밍 휠로 (TB_JOB은 만기 때만 스캔)
+        private Duration wheelRefresh = Duration.ofSeconds(1);  // UPDATED_AT 증분 동기화 주기
+        private Duration wheelResync = Duration.ofMinutes(10);  // 전체 재적재 주기
+        private boolean workerSlot = true;                // 노드당 TB_WORKER_SLOT 하나 임차 (가용 슬롯 없으면 슬롯 없이 동작)
+        private Duration slotLease = Duration.ofSeconds(30);     // 슬롯 임차 lease
+        private Duration slotHeartbeat = Duration.ofSeconds(10); // 슬롯 하트비트 주기 (slotLease보다 짧게)
+        private boolean partitionedClaims = false;        // 슬롯 파티션 우선 선점 (worker-slot 필요)
+        private ClaimSpec.LeaseModel leaseModel = ClaimSpec.LeaseModel.TASK; // slot: 선점분이 슬롯 lease 상속 (worker-slot 필요)
+        private ClaimSpec.FairShare fairShare = ClaimSpec.FairShare.NONE;   // job-run/group: 같은 우선순위 안에서 가중 라운드로빈
+        private Duration rateLimitHold = Duration.ofSeconds(1); // 초당 한도 토큰을 노드에 묶어 두는 시간 (안 쓰면 반납)
+
+        /** 디스패치 방식 */
+        public enum Mode {
+            /** tick-delay-ms 고정 주기 @Scheduled 틱 */
+            FIXED_DELAY,
+            /** 다음 NEXT_DUE_AT/AVAILABLE_AT까지 자는 전용 루프 (DispatchLoop) */
+            NEXT_WAKE
+        }
 
         public boolean isEnabled() {
             return enabled;
@@ -218,5 +399,215 @@ public class MajideProperties {
         public void setFinishedTtl(Duration finishedTtl) {
             this.finishedTtl = finishedTtl;
         }
+
+        public TaskGraphService.Materialization getMaterialization() {
+            return materialization;
+        }
+
+        public void setMaterialization(TaskGraphService.Materialization materialization) {
+            this.materialization = materialization;
+        }
+
+        public int getDrainBatchSize() {
+            return drainBatchSize;
+        }
+
+        public void setDrainBatchSize(int drainBatchSize) {
+            this.drainBatchSize = drainBatchSize;
+        }
+
+        public Duration getDrainBudget() {
+            return drainBudget;
+        }
+
+        public void setDrainBudget(Duration drainBudget) {
+            this.drainBudget = drainBudget;
+        }
+
+        public int getPrepareParallelism() {
+            return prepareParallelism;
+        }
+
+        public void setPrepareParallelism(int prepareParallelism) {
+            this.prepareParallelism = prepareParallelism;
+        }
+
+        public JobTickService.Preparation getPreparation() {
+            return preparation;
+        }
+
+        public void setPreparation(JobTickService.Preparation preparation) {
+            this.preparation = preparation;
+        }
+
+        public Duration getPrepareGrace() {
+            return prepareGrace;
+        }
+
+        public void setPrepareGrace(Duration prepareGrace) {
+            this.prepareGrace = prepareGrace;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public Duration getMaxInterval() {
+            return maxInterval;
+        }
+
+        public void setMaxInterval(Duration maxInterval) {
+            this.maxInterval = maxInterval;
+        }
+
+        public Duration getMinBackoff() {
+            return minBackoff;
+        }
+
+        public void setMinBackoff(Duration minBackoff) {
+            this.minBackoff = minBackoff;
+        }
+
+        public boolean isTimingWheel() {
+            return timingWheel;
+        }
+
+        public void setTimingWheel(boolean timingWheel) {
+            this.timingWheel = timingWheel;
+        }
+
+        public Duration getWheelRefresh() {
+            return wheelRefresh;
+        }
+
+        public void setWheelRefresh(Duration wheelRefresh) {
+            this.wheelRefresh = wheelRefresh;
+        }
+
+        public Duration getWheelResync() {
+            return wheelResync;
+        }
+
+        public void setWheelResync(Duration wheelResync) {
+            this.wheelResync = wheelResync;
+        }
+
+        public boolean isWorkerSlot() {
+            return workerSlot;
+        }
+
+        public void setWorkerSlot(boolean workerSlot) {
+            this.workerSlot = workerSlot;
+        }
+
+        public Duration getSlotLease() {
+            return slotLease;
+        }
+
+        public void setSlotLease(Duration slotLease) {
+            this.slotLease = slotLease;
+        }
+
+        public Duration getSlotHeartbeat() {
+            return slotHeartbeat;
+        }
+
+        public void setSlotHeartbeat(Duration slotHeartbeat) {
+            this.slotHeartbeat = slotHeartbeat;
+        }
+
+        public boolean isPartitionedClaims() {
+            return partitionedClaims;
+        }
+
+        public void setPartitionedClaims(boolean partitionedClaims) {
+            this.partitionedClaims = partitionedClaims;
+        }
+
+        public ClaimSpec.LeaseModel getLeaseModel() {
+            return leaseModel;
+        }
+
+        public void setLeaseModel(ClaimSpec.LeaseModel leaseModel) {
+            this.leaseModel = leaseModel;
+        }
+
+        public ClaimSpec.FairShare getFairShare() {
+            return fairShare;
+        }
+
+        public void setFairShare(ClaimSpec.FairShare fairShare) {
+            this.fairShare = fairShare;
+        }
+
+        public Duration getRateLimitHold() {
+            return rateLimitHold;
+        }
+
+        public void setRateLimitHold(Duration rateLimitHold) {
+            this.rateLimitHold = rateLimitHold;
+        }
+    }
+
+    /** 내장 실행 런타임 (TaskHandler 빈 이름 = handlerKey) */
+    public static class Execution {
+        private boolean enabled = true;
+        private int maxConcurrency = 256;
+        private int prefetchWorkers = 0;                       // > 0: 로컬 선점 버퍼 + work-stealing 워커 수 (0 = 끔)
+        private int prefetchCapacity = 64;                     // 버퍼에 대기시킬 최대 선점 수
+        private Duration prefetchLeaseSafety = Duration.ofSeconds(5); // lease 만료가 이만큼 남으면 실행 대신 반납
+        private int cpuThreads = 0;                            // executionClass=cpu 풀 크기 (0 = 코어 수)
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getPrefetchWorkers() {
+            return prefetchWorkers;
+        }
+
+        public void setPrefetchWorkers(int prefetchWorkers) {
+            this.prefetchWorkers = prefetchWorkers;
+        }
+
+        public int getPrefetchCapacity() {
+            return prefetchCapacity;
+        }
+
+        public void setPrefetchCapacity(int prefetchCapacity) {
+            this.prefetchCapacity = prefetchCapacity;
+        }
+
+        public Duration getPrefetchLeaseSafety() {
+            return prefetchLeaseSafety;
+        }
+
+        public void setPrefetchLeaseSafety(Duration prefetchLeaseSafety) {
+            this.prefetchLeaseSafety = prefetchLeaseSafety;
+        }
+
+        public int getCpuThreads() {
+            return cpuThreads;
+        }
+
+        public void setCpuThreads(int cpuThreads) {
+            this.cpuThreads = cpuThreads;
+        }
     }
-}
\ No newline at end of file
+}
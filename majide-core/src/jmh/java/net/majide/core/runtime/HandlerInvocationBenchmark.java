@@ -0,0 +1,83 @@
+package net.majide.core.runtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * classFqn#methodName 핸들러 호출 비용 비교.
+ * - direct: 컴파일 타임 직접 호출 (기준선)
+ * - reflection: 매 호출 Method.invoke (기존 방식)
+ * - methodHandle: 캐시된 MethodHandle invokeExact (대체 경로)
+ * - lambda: MethodHandlerResolver가 LambdaMetafactory로 만든 TaskHandler
+ * - resolveAndInvoke: 캐시 조회 포함 (실행 런타임의 실제 경로)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class HandlerInvocationBenchmark {
+
+    public static class Target {
+        long count;
+
+        public void run(TaskContext ctx) {
+            count++;
+        }
+    }
+
+    private final TaskContext ctx = new TaskContext(null, null);
+    private Target target;
+    private Method method;
+    private TaskHandler methodHandle;
+    private TaskHandler lambda;
+    private MethodHandlerResolver resolver;
+
+    @Setup
+    public void setup() throws Throwable {
+        target = new Target();
+        method = Target.class.getMethod("run", TaskContext.class);
+
+        var lookup = MethodHandles.privateLookupIn(Target.class, MethodHandles.lookup());
+        MethodHandle direct = lookup.findVirtual(Target.class, "run", MethodType.methodType(void.class, TaskContext.class));
+        methodHandle = MethodHandlerResolver.bindWithMethodHandle(direct, target);
+        lambda = MethodHandlerResolver.bindWithLambda(lookup, direct, target);
+
+        resolver = new MethodHandlerResolver(cls -> target, Target.class.getClassLoader());
+        resolver.resolve(Target.class.getName(), "run");
+    }
+
+    @Benchmark
+    public long direct() {
+        target.run(ctx);
+        return target.count;
+    }
+
+    @Benchmark
+    public long reflection() throws Exception {
+        method.invoke(target, ctx);
+        return target.count;
+    }
+
+    @Benchmark
+    public long methodHandle() throws Exception {
+        methodHandle.handle(ctx);
+        return target.count;
+    }
+
+    @Benchmark
+    public long lambda() throws Exception {
+        lambda.handle(ctx);
+        return target.count;
+    }
+
+    @Benchmark
+    public void resolveAndInvoke(Blackhole bh) throws Exception {
+        resolver.resolve(Target.class.getName(), "run").handle(ctx);
+        bh.consume(target.count);
+    }
+}
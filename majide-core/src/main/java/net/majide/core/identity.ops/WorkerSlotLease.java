@@ -0,0 +1,93 @@
+package net.majide.core.identity.ops;
+
+import net.majide.core.model.WorkerSlot;
+import net.majide.core.spi.TxRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * 이 노드가 쥔 워커 슬롯: 시작 시 임차, 주기 하트비트, 잃으면 재임차, 종료 시 반납.
+ * 가용 슬롯이 없으면 workerId() = null (슬롯 없이 동작, 다음 주기에 재시도)
+ */
+public final class WorkerSlotLease implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(WorkerSlotLease.class);
+
+    private final WorkerSlotService slots;
+    private final TxRunner tx;
+    private final String token;
+    private final Duration lease;
+    private final Duration heartbeatInterval;
+    private volatile Integer workerId;
+    private volatile boolean running;
+    private Thread heartbeater;
+
+    public WorkerSlotLease(WorkerSlotService slots, TxRunner tx, String token, Duration lease, Duration heartbeatInterval) {
+        this.slots = slots;
+        this.tx = tx;
+        this.token = token;
+        this.lease = lease;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        renew();
+        heartbeater = Thread.ofVirtual().name("majide-slot-heartbeat").start(() -> {
+            while (running) {
+                try {
+                    Thread.sleep(heartbeatInterval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (running) renew();
+            }
+        });
+    }
+
+    /** 현재 쥔 슬롯 (null = 미임차) */
+    public Integer workerId() {
+        return workerId;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    /** 하트비트(쥔 슬롯이 그대로인지 확인) → 잃었거나 없으면 임차 시도 */
+    public void renew() {
+        try {
+            Integer id = workerId;
+            if (id != null) {
+                tx.required(() -> { slots.heartbeat(id, token, lease); return null; });
+                boolean held = tx.required(() -> slots.find(id))
+                        .map(s -> token.equals(s.instanceToken()))
+                        .orElse(false);
+                if (held) return;
+                log.warn("worker slot {} lost (reclaimed after lease expiry); leasing again", id);
+                workerId = null;
+            }
+            workerId = tx.required(() -> slots.leaseOne(token, lease)).map(WorkerSlot::workerId).orElse(null);
+            if (workerId != null) log.info("leased worker slot {} as {}", workerId, token);
+        } catch (Exception e) {
+            log.warn("worker slot renewal failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        if (heartbeater != null) heartbeater.interrupt();
+        Integer id = workerId;
+        workerId = null;
+        if (id == null) return;
+        try {
+            tx.required(() -> { slots.release(id, token); return null; });
+        } catch (Exception e) {
+            log.warn("releasing worker slot {} failed; it will be reclaimed after lease expiry", id, e);
+        }
+    }
+}
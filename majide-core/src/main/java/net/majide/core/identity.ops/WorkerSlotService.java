@@ -29,6 +29,10 @@ public final class WorkerSlotService {
         repo.release(workerId, token);
     }
 
+    public Optional<WorkerSlot> find(int workerId) throws Exception {
+        return repo.findById(workerId);
+    }
+
     /** 만료 슬롯 회수 (선택: 스케줄러에서 주기 호출) */
     public int reclaimExpired() throws Exception {
         return repo.reclaimExpired();
@@ -41,10 +41,10 @@ public final class MaintenanceService {
         Instant now = clock.now();
         MaintenanceReport r = new MaintenanceReport();
 
-        // 1) 좀비 워커 회수
+        // 1) 좀비 워커 회수 (그 슬롯의 RUNNING도 함께 재노출 → 2)의 lease 만료 스캔보다 먼저 복구)
         r.reclaimedWorkers = tx.required(() -> workers.reclaimExpired());
 
-        // 2) RUNNING lease 만료 복구 → READY(+backoff, attempt++)
+        // 2) RUNNING lease 만료 복구 → READY(+backoff, attempt++) (태스크 lease 만료 + 소유 슬롯이 죽은 슬롯 상속분)
         r.recoveredTasks = tx.required(() ->
                 taskRuns.recoverExpiredLeases(defaultBackoff, DEFAULT_EXPIRED_REASON));
 
@@ -11,9 +11,34 @@ public record Job(
         Instant leaseUntil,
         boolean enabled,
         Instant createdAt,
-        Instant updatedAt
+        Instant updatedAt,
+        OverlapPolicy overlapPolicy, // 이전 실행이 안 끝났을 때 새 슬롯 처리
+        int maxConcurrentRuns        // 동시에 진행 중일 수 있는 JobRun 수 (ALLOW면 무시)
 ) {
+    public Job(Long id, String name, String description, String cronExpr, Instant nextDueAt, Instant leaseUntil,
+               boolean enabled, Instant createdAt, Instant updatedAt) {
+        this(id, name, description, cronExpr, nextDueAt, leaseUntil, enabled, createdAt, updatedAt, OverlapPolicy.ALLOW, 1);
+    }
+
     public static Job ofNew(String name, String description, String cronExpr, Instant nextDueAt) {
         return new Job(null, name, description, cronExpr, nextDueAt, null, true, null, null);
     }
-}
\ No newline at end of file
+
+    /** 진행 중 JobRun이 maxConcurrentRuns에 도달했을 때 새 슬롯 처리 */
+    public enum OverlapPolicy {
+        /** 제한 없이 매 슬롯 JobRun 생성 (기존 동작) */
+        ALLOW,
+        /** 이번 슬롯은 건너뜀 (커서만 전진) */
+        SKIP,
+        /** 커서를 멈추고 자리가 날 때까지 같은 슬롯을 다시 시도 (슬롯 순서 유지) */
+        QUEUE,
+        /** 오래된 진행 중 JobRun부터 취소하고 새 JobRun 생성 */
+        CANCEL_PREVIOUS;
+
+        public static OverlapPolicy from(String s) {
+            if (s == null) return ALLOW;
+            try { return OverlapPolicy.valueOf(s.toUpperCase()); } catch (IllegalArgumentException e) { return ALLOW; }
+        }
+        public String code() { return name(); }
+    }
+}
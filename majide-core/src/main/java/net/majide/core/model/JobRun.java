@@ -11,8 +11,14 @@ public record JobRun (
         Instant updatedAt,
         Instant deadlineAt,
         Instant startedAt,
-        Instant finishedAt
+        Instant finishedAt,
+        Integer priority    // 이 실행의 우선순위 (null = Job 기본값)
 ) {
+    public JobRun(Long id, Long jobId, String runKey, Status status, Instant createdAt, Instant updatedAt,
+                  Instant deadlineAt, Instant startedAt, Instant finishedAt) {
+        this(id, jobId, runKey, status, createdAt, updatedAt, deadlineAt, startedAt, finishedAt, null);
+    }
+
     public enum Status {
         CREATED, RUNNING, DONE, FAILED, CANCELLED, EXPIRED, UNKNOWN;
 
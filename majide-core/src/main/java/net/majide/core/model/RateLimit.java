@@ -0,0 +1,8 @@
+package net.majide.core.model;
+
+public record RateLimit(
+        String handlerKey,
+        double permitsPerSecond, // 초당 보충 토큰
+        int burst                // 최대 적립 (한 번에 몰아 쓸 수 있는 양)
+) {
+}
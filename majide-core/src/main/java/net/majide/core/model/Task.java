@@ -12,5 +12,28 @@ public record Task(
         String description,
         Integer indegree,
         Instant createdAt,
-        Instant updatedAt
-) {}
+        Instant updatedAt,
+        Integer priority,       // 큰 값이 먼저 선점 (null = 0 / upsert 시 기존 값 유지)
+        String resourcePool,    // 실행에 퍼밋이 필요한 리소스 풀 (null = 없음)
+        String orderingKey      // 같은 키의 TaskRun은 하나씩만 실행 (null = 제약 없음)
+) {
+    public Task(Long id, Long jobId, String name, String handlerKey, String classFqn, String methodName,
+                String description, Integer indegree, Instant createdAt, Instant updatedAt) {
+        this(id, jobId, name, handlerKey, classFqn, methodName, description, indegree, createdAt, updatedAt, null, null, null);
+    }
+
+    public Task withPriority(Integer priority) {
+        return new Task(id, jobId, name, handlerKey, classFqn, methodName, description, indegree, createdAt, updatedAt,
+                priority, resourcePool, orderingKey);
+    }
+
+    public Task withResourcePool(String resourcePool) {
+        return new Task(id, jobId, name, handlerKey, classFqn, methodName, description, indegree, createdAt, updatedAt,
+                priority, resourcePool, orderingKey);
+    }
+
+    public Task withOrderingKey(String orderingKey) {
+        return new Task(id, jobId, name, handlerKey, classFqn, methodName, description, indegree, createdAt, updatedAt,
+                priority, resourcePool, orderingKey);
+    }
+}
@@ -17,8 +17,16 @@ public record TaskRun(
         Instant finishedAt,
         Instant createdAt,
         Instant updatedAt,
-        String lastError
+        String lastError,
+        String orderingKey      // 같은 키의 TaskRun은 하나씩만 실행 (null = 제약 없음). 생성 시 Task 값, 선점 전까지 바꿀 수 있음
 ) {
+    public TaskRun(Long id, Long jobRunId, Long taskId, Status status, Long attempt, Integer preCnt, Integer doneCnt,
+                   Integer workerId, Instant availableAt, Instant leaseUntil, Instant startedAt, Instant finishedAt,
+                   Instant createdAt, Instant updatedAt, String lastError) {
+        this(id, jobRunId, taskId, status, attempt, preCnt, doneCnt, workerId, availableAt, leaseUntil, startedAt, finishedAt,
+                createdAt, updatedAt, lastError, null);
+    }
+
     public enum Status {
         BLOCKED, READY, RUNNING, DONE, FAILED, SKIPPED, CANCELLED, EXPIRED, UNKNOWN;
 
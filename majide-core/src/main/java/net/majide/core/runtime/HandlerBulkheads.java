@@ -0,0 +1,78 @@
+package net.majide.core.runtime;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * handlerKey별 노드 로컬 벌크헤드: 실행 클래스(IO/CPU)와 동시 실행 상한.
+ * - 상한이 있는 키는 선점 시점에 자리를 예약(reserve)하고 실행이 끝나면 반납(release)
+ * - freeCapacity()를 선점 조건(ClaimSpec.handlerCaps)으로 넘겨 꽉 찬 핸들러의 태스크는 아예 선점하지 않음
+ * 등록되지 않은 키는 IO, 상한 없음 (런타임 전체 maxConcurrency만 적용)
+ */
+public final class HandlerBulkheads {
+    /** 실행 풀 */
+    public enum ExecutionClass {
+        /** 가상 스레드 (블로킹 I/O 위주) */
+        IO,
+        /** 고정 크기 플랫폼 스레드 풀 (CPU 위주, 코어 수를 넘겨 돌지 않음) */
+        CPU
+    }
+
+    /** maxConcurrency <= 0 = 상한 없음 */
+    public record Spec(ExecutionClass executionClass, int maxConcurrency) {
+        public static final Spec DEFAULT = new Spec(ExecutionClass.IO, 0);
+
+        public Spec {
+            if (executionClass == null) executionClass = ExecutionClass.IO;
+        }
+
+        public boolean bounded() {
+            return maxConcurrency > 0;
+        }
+    }
+
+    public static final HandlerBulkheads NONE = new HandlerBulkheads(Map.of());
+
+    private final Map<String, Spec> specs;
+    private final Map<String, Semaphore> permits = new HashMap<>();
+
+    public HandlerBulkheads(Map<String, Spec> specs) {
+        this.specs = Map.copyOf(specs);
+        this.specs.forEach((key, spec) -> {
+            if (spec.bounded()) permits.put(key, new Semaphore(spec.maxConcurrency()));
+        });
+    }
+
+    public Spec spec(String handlerKey) {
+        return handlerKey == null ? Spec.DEFAULT : specs.getOrDefault(handlerKey, Spec.DEFAULT);
+    }
+
+    /** 설정된 키가 있는지 (없으면 런타임은 키 조회 없이 바로 실행) */
+    public boolean isEmpty() {
+        return specs.isEmpty();
+    }
+
+    /** CPU 클래스로 지정된 키가 있는지 (CPU 풀 생성 여부) */
+    public boolean usesCpu() {
+        return specs.values().stream().anyMatch(s -> s.executionClass() == ExecutionClass.CPU);
+    }
+
+    /** 상한이 있는 키의 남은 자리 (선점 한도) */
+    public Map<String, Integer> freeCapacity() {
+        Map<String, Integer> out = new HashMap<>(permits.size());
+        permits.forEach((key, p) -> out.put(key, p.availablePermits()));
+        return out;
+    }
+
+    /** 자리 예약 (상한 없는 키는 no-op). 선점 한도 안에서만 호출되므로 보통 바로 통과 */
+    void reserve(String handlerKey) {
+        Semaphore p = handlerKey == null ? null : permits.get(handlerKey);
+        if (p != null) p.acquireUninterruptibly();
+    }
+
+    void release(String handlerKey) {
+        Semaphore p = handlerKey == null ? null : permits.get(handlerKey);
+        if (p != null) p.release();
+    }
+}
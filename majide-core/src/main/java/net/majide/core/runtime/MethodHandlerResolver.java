@@ -0,0 +1,130 @@
+package net.majide.core.runtime;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * TB_TASK.CLASS_FQN / METHOD_NAME → TaskHandler 바인딩 (쌍마다 1회, 이후 캐시).
+ * - 지원 시그니처: m(TaskContext) 또는 m(), static/인스턴스 모두, 반환값은 무시
+ * - 같은 이름이 여러 개면 m(TaskContext) 우선
+ * - LambdaMetafactory로 TaskHandler 구현을 직접 생성 → 호출 비용이 직접 호출 수준.
+ *   생성이 불가능한 환경(모듈 접근 제한 등)이면 asType으로 맞춘 MethodHandle 호출로 대체
+ * - 인스턴스 메서드의 수신 객체는 instances(예: Spring getBean)로 얻음
+ */
+public final class MethodHandlerResolver {
+    private final Function<Class<?>, Object> instances;
+    private final ClassLoader loader;
+    private final Map<Target, TaskHandler> cache = new ConcurrentHashMap<>();
+
+    /** 기본: 인스턴스 메서드는 public no-arg 생성자로 만든 객체에 바인딩 */
+    public MethodHandlerResolver() {
+        this(MethodHandlerResolver::newInstance, Thread.currentThread().getContextClassLoader());
+    }
+
+    public MethodHandlerResolver(Function<Class<?>, Object> instances, ClassLoader loader) {
+        this.instances = Objects.requireNonNull(instances);
+        this.loader = loader != null ? loader : MethodHandlerResolver.class.getClassLoader();
+    }
+
+    /**
+     * 바인딩 실패(클래스/메서드 없음, 시그니처 불일치, 수신 객체 생성 실패, 클래스 초기화 오류) 시 IllegalArgumentException.
+     * 실패는 캐시하지 않음 → 다음 시도에서 다시 바인딩
+     */
+    public TaskHandler resolve(String classFqn, String methodName) {
+        return cache.computeIfAbsent(new Target(classFqn, methodName), this::bind);
+    }
+
+    private TaskHandler bind(Target t) {
+        try {
+            Class<?> cls = Class.forName(t.classFqn(), true, loader);
+            Method m = findMethod(cls, t.methodName());
+            Object receiver = Modifier.isStatic(m.getModifiers()) ? null : instances.apply(cls);
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(cls, MethodHandles.lookup());
+            MethodHandle direct = lookup.unreflect(m);
+            try {
+                return bindWithLambda(lookup, direct, receiver);
+            } catch (Throwable metafactoryUnavailable) {
+                return bindWithMethodHandle(direct, receiver);
+            }
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // instances(예: Spring BeansException)/정적 초기화 실패도 바인딩 실패로 → 실행 측이 FAILED로 기록
+            throw new IllegalArgumentException("cannot bind handler " + t.classFqn() + "#" + t.methodName(), e);
+        }
+    }
+
+    private static Method findMethod(Class<?> cls, String name) throws NoSuchMethodException {
+        return Arrays.stream(cls.getDeclaredMethods())
+                .filter(m -> m.getName().equals(name) && !m.isSynthetic())
+                .filter(m -> m.getParameterCount() == 0
+                        || (m.getParameterCount() == 1 && m.getParameterTypes()[0] == TaskContext.class))
+                .max(Comparator.comparingInt(Method::getParameterCount))
+                .orElseThrow(() -> new NoSuchMethodException(
+                        cls.getName() + "#" + name + "(TaskContext) or " + name + "() not found"));
+    }
+
+    /**
+     * 구현 메서드를 직접 호출하는 TaskHandler(또는 Runnable) 클래스를 런타임 생성.
+     * 대상 클래스의 private lookup이어야 비공개 메서드/패키지 클래스도 연결 가능.
+     */
+    static TaskHandler bindWithLambda(MethodHandles.Lookup lookup, MethodHandle direct, Object receiver) throws Throwable {
+        boolean bound = receiver != null;
+        MethodType implType = direct.type();
+        MethodType captured = bound
+                ? MethodType.methodType(Object.class, implType.parameterType(0))
+                : MethodType.methodType(Object.class);
+        int arity = implType.parameterCount() - (bound ? 1 : 0);
+
+        if (arity == 1) {
+            MethodType sam = MethodType.methodType(void.class, TaskContext.class);
+            var site = LambdaMetafactory.metafactory(lookup, "handle",
+                    captured.changeReturnType(TaskHandler.class), sam, direct, sam);
+            return bound
+                    ? (TaskHandler) site.getTarget().invoke(receiver)
+                    : (TaskHandler) site.getTarget().invoke();
+        }
+        // m(): Runnable로 생성 (JVM은 checked 예외를 검사하지 않으므로 그대로 전파됨)
+        MethodType sam = MethodType.methodType(void.class);
+        var site = LambdaMetafactory.metafactory(lookup, "run",
+                captured.changeReturnType(Runnable.class), sam, direct, sam);
+        Runnable r = bound ? (Runnable) site.getTarget().invoke(receiver) : (Runnable) site.getTarget().invoke();
+        return ctx -> r.run();
+    }
+
+    /** 대체 경로: (TaskContext)void 로 맞춘 MethodHandle을 invokeExact */
+    static TaskHandler bindWithMethodHandle(MethodHandle direct, Object receiver) {
+        MethodHandle mh = receiver != null ? direct.bindTo(receiver) : direct;
+        if (mh.type().parameterCount() == 0) mh = MethodHandles.dropArguments(mh, 0, TaskContext.class);
+        final MethodHandle h = mh.asType(MethodType.methodType(void.class, TaskContext.class));
+        return ctx -> {
+            try {
+                h.invokeExact(ctx);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        };
+    }
+
+    private static Object newInstance(Class<?> cls) {
+        try {
+            var ctor = cls.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            return ctor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("no usable no-arg constructor: " + cls.getName(), e);
+        }
+    }
+
+    private record Target(String classFqn, String methodName) {}
+}
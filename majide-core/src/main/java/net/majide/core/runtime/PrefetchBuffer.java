@@ -0,0 +1,151 @@
+package net.majide.core.runtime;
+
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.TaskDispatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 노드 로컬 선점 버퍼: 배치 선점분을 담아 두고 워커 스레드가 work-stealing 덱으로 바로 가져가 실행.
+ * - 워커마다 덱 1개: 자기 덱 앞에서 꺼내고, 비면 다른 워커 덱 뒤에서 훔침
+ * - 채우기는 디스패처 몫 (freeCapacity만큼 선점 → offer), 워커는 DB를 거치지 않고 넘겨받음
+ * - 실행은 런타임 submit 경로 그대로: 적재 시 벌크헤드 자리 예약(handlerCaps에 버퍼 대기분도 반영),
+ *   워커는 런타임 실행 슬롯을 잡은 뒤에만 꺼내 실행 클래스 풀(IO/CPU)로 넘김
+ * - lease 만료가 leaseSafety 안으로 다가온 항목은 실행하지 않고 반납 (만료 후 다른 노드와 중복 실행 방지)
+ * - 넘친 항목과 종료 시 남은 항목은 lease 만료를 기다리지 않고 즉시 반납(releaseClaims)
+ * - 가득 찼던 버퍼에서 꺼내 자리가 나면 디스패치 루프를 깨움 (다음 대기까지 기다리지 않고 다시 채움)
+ */
+public final class PrefetchBuffer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(PrefetchBuffer.class);
+
+    private record Entry(TaskRun run, String bulkheadKey, long leaseDeadlineNanos) { }
+
+    private final TaskExecutionRuntime runtime;
+    private final TaskDispatchService dispatch;
+    private final int capacity;
+    private final long leaseSafetyNanos;
+    private final List<ConcurrentLinkedDeque<Entry>> deques;
+    private final List<Thread> workers;
+    private final Semaphore queued = new Semaphore(0);       // 덱 전체의 항목 수
+    private final AtomicInteger size = new AtomicInteger();  // 버퍼에 대기 중인 항목 수 (실행 중 제외)
+    private final AtomicInteger nextDeque = new AtomicInteger();
+    private volatile boolean running = true;
+
+    public PrefetchBuffer(TaskExecutionRuntime runtime, TaskDispatchService dispatch,
+                          int workerCount, int capacity, Duration leaseSafety) {
+        if (workerCount <= 0 || capacity <= 0) throw new IllegalArgumentException("workerCount, capacity must be positive");
+        this.runtime = runtime;
+        this.dispatch = dispatch;
+        this.capacity = capacity;
+        this.leaseSafetyNanos = leaseSafety.toNanos();
+        this.deques = new ArrayList<>(workerCount);
+        this.workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) deques.add(new ConcurrentLinkedDeque<>());
+        for (int i = 0; i < workerCount; i++) {
+            int self = i;
+            workers.add(Thread.ofVirtual().name("majide-prefetch-" + i).start(() -> work(self)));
+        }
+    }
+
+    /** 더 담을 수 있는 수 (디스패처는 이만큼만 선점) */
+    public int freeCapacity() {
+        return running ? Math.max(0, capacity - size.get()) : 0;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /** 선점분 적재 (lease = 선점 시 사용한 lease). 넘치거나 종료 중이면 즉시 반납 */
+    public void offer(List<TaskRun> claimed, Duration lease) {
+        long deadline = System.nanoTime() + lease.toNanos();
+        List<TaskRun> overflow = new ArrayList<>();
+        for (TaskRun tr : claimed) {
+            if (!running || size.incrementAndGet() > capacity) {
+                if (running) size.decrementAndGet();
+                overflow.add(tr);
+                continue;
+            }
+            var entry = new Entry(tr, runtime.reserve(tr), deadline);
+            deques.get(Math.floorMod(nextDeque.getAndIncrement(), deques.size())).offerLast(entry);
+            queued.release();
+        }
+        release(overflow, "overflow");
+    }
+
+    private void work(int self) {
+        while (true) {
+            try {
+                queued.acquire();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!running) return;
+            runtime.acquireSlot(); // 실행 슬롯이 날 때까지는 버퍼에 둠 (종료 시 반납 대상으로 남도록)
+            Entry e = running ? take(self) : null;
+            if (e == null) { // 종료 중이거나 close()가 먼저 비움
+                runtime.releaseSlot();
+                if (!running) return;
+                continue;
+            }
+            if (size.getAndDecrement() >= capacity) dispatch.publishCapacity();
+            if (System.nanoTime() + leaseSafetyNanos >= e.leaseDeadlineNanos()) {
+                runtime.releaseSlot();
+                runtime.unreserve(e.bulkheadKey());
+                release(List.of(e.run()), "lease nearly expired");
+                continue;
+            }
+            runtime.dispatch(e.run(), e.bulkheadKey());
+        }
+    }
+
+    /** 자기 덱 앞 → 다른 덱 뒤(steal) 순서 */
+    private Entry take(int self) {
+        Entry e = deques.get(self).pollFirst();
+        if (e != null) return e;
+        int n = deques.size();
+        for (int k = 1; k < n; k++) {
+            e = deques.get((self + k) % n).pollLast();
+            if (e != null) return e;
+        }
+        return null;
+    }
+
+    private void release(List<TaskRun> runs, String reason) {
+        if (runs.isEmpty()) return;
+        try {
+            int n = dispatch.release(runs);
+            log.debug("released {}/{} prefetched TaskRun(s): {}", n, runs.size(), reason);
+        } catch (Exception ex) {
+            log.warn("releasing {} prefetched TaskRun(s) failed; lease expiry will recover them", runs.size(), ex);
+        }
+    }
+
+    /** 신규 적재 중단 → 워커는 실행 중인 항목만 마치고 종료 → 남은 항목 일괄 반납 */
+    @Override
+    public void close() throws InterruptedException {
+        if (!running) return;
+        running = false;
+        queued.release(workers.size());
+        for (Thread t : workers) t.join(TimeUnit.SECONDS.toMillis(30));
+
+        List<TaskRun> left = new ArrayList<>();
+        for (var d : deques) {
+            Entry e;
+            while ((e = d.pollFirst()) != null) {
+                runtime.unreserve(e.bulkheadKey());
+                left.add(e.run());
+            }
+        }
+        size.addAndGet(-left.size());
+        release(left, "shutdown");
+    }
+}
@@ -0,0 +1,11 @@
+package net.majide.core.runtime;
+
+import net.majide.core.model.Task;
+import net.majide.core.model.TaskRun;
+
+/** 핸들러에 전달되는 실행 컨텍스트 (선점된 TaskRun + 태스크 정의) */
+public record TaskContext(TaskRun taskRun, Task task) {
+    public long taskRunId() { return taskRun.id(); }
+    public long jobRunId() { return taskRun.jobRunId(); }
+    public long attempt() { return taskRun.attempt(); }
+}
@@ -0,0 +1,288 @@
+package net.majide.core.runtime;
+
+import net.majide.core.model.Task;
+import net.majide.core.model.TaskRun;
+import net.majide.core.service.TaskDispatchService;
+import net.majide.core.spi.TaskRepository;
+import net.majide.core.spi.TaskRunRepository;
+import net.majide.core.spi.TxRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 선점된 TaskRun을 handlerKey(또는 classFqn#methodName)로 찾은 핸들러에 태워 실행하는 런타임.
+ * - 실행은 가상 스레드(태스크당 1개), 동시 실행 수는 maxConcurrency로 제한
+ * - bulkheads에 등록된 handlerKey는 키별 상한 + 실행 클래스(IO = 가상 스레드, CPU = 고정 플랫폼 스레드 풀) 적용
+ * - 정상 반환 → markDone, 예외 → failAndRetry(RetryPolicy 백오프)
+ * - leaseRenewal이 있으면 실행 중인 TaskRun의 lease를 주기적으로 연장 (긴 핸들러가 만기 복구로 중복 실행되지 않도록)
+ * - 상태 전이 자체가 실패하면 lease 만료 후 maintenance가 복구
+ */
+public final class TaskExecutionRuntime implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TaskExecutionRuntime.class);
+    private static final int MAX_ERROR_LENGTH = 2000; // TB_TASK_RUN.LAST_ERROR
+
+    private final TaskHandlerRegistry registry;
+    private final TaskRepository tasks;
+    private final TaskDispatchService dispatch;
+    private final TxRunner tx;
+    private final ExecutorService executor;     // IO
+    private final ExecutorService cpuExecutor;  // CPU (벌크헤드 없으면 executor와 같음)
+    private final HandlerBulkheads bulkheads;
+    private final Semaphore permits;
+    private final Map<Long, String> handlerKeyByTask = new ConcurrentHashMap<>(); // 벌크헤드 판정용 (태스크 정의 수만큼)
+    private final Map<Long, TaskRun> inFlight = new ConcurrentHashMap<>();        // lease 연장 대상 (실행 중)
+    private final Duration lease;        // null = 연장 안 함
+    private final Duration renewEvery;
+    private final Thread renewer;
+    private volatile boolean running = true;
+
+    /**
+     * 실행 옵션 (of(maxConcurrency)에서 with*로 조립).
+     * - maxConcurrency: 노드 전체 동시 실행 상한
+     * - bulkheads: handlerKey별 상한 + 실행 클래스
+     * - cpuThreads: CPU 클래스 풀 크기 (<= 0이면 코어 수), CPU 키가 없으면 풀을 만들지 않음
+     * - executor: IO 실행 풀 (null = 태스크당 가상 스레드)
+     * - cpuExecutor: CPU 클래스 실행 풀 (null = CPU 키가 있으면 cpuThreads 크기 풀, 없으면 executor 공용)
+     * - lease/renewEvery: 실행 중인 TaskRun을 renewEvery마다 lease만큼 연장 (null = 연장 안 함, 슬롯 lease 상속분은 건너뜀)
+     */
+    public record Settings(
+            int maxConcurrency,
+            HandlerBulkheads bulkheads,
+            int cpuThreads,
+            ExecutorService executor,
+            ExecutorService cpuExecutor,
+            Duration lease,
+            Duration renewEvery
+    ) {
+        public static Settings of(int maxConcurrency) {
+            return new Settings(maxConcurrency, HandlerBulkheads.NONE, 0, null, null, null, null);
+        }
+
+        public Settings withBulkheads(HandlerBulkheads bulkheads) {
+            return new Settings(maxConcurrency, bulkheads, cpuThreads, executor, cpuExecutor, lease, renewEvery);
+        }
+
+        public Settings withCpuThreads(int cpuThreads) {
+            return new Settings(maxConcurrency, bulkheads, cpuThreads, executor, cpuExecutor, lease, renewEvery);
+        }
+
+        public Settings withExecutor(ExecutorService executor) {
+            return new Settings(maxConcurrency, bulkheads, cpuThreads, executor, cpuExecutor, lease, renewEvery);
+        }
+
+        public Settings withCpuExecutor(ExecutorService cpuExecutor) {
+            return new Settings(maxConcurrency, bulkheads, cpuThreads, executor, cpuExecutor, lease, renewEvery);
+        }
+
+        /** 선점 lease와 같은 값으로, 만료 전에 몇 번은 연장되도록 renewEvery는 lease보다 충분히 짧게 */
+        public Settings withLeaseRenewal(Duration lease, Duration renewEvery) {
+            return new Settings(maxConcurrency, bulkheads, cpuThreads, executor, cpuExecutor, lease, renewEvery);
+        }
+    }
+
+    public TaskExecutionRuntime(TaskHandlerRegistry registry,
+                                TaskRepository tasks,
+                                TaskDispatchService dispatch,
+                                TxRunner tx,
+                                Settings settings) {
+        if (settings.maxConcurrency() <= 0) throw new IllegalArgumentException("maxConcurrency must be positive");
+        this.registry = registry;
+        this.tasks = tasks;
+        this.dispatch = dispatch;
+        this.tx = tx;
+        this.bulkheads = settings.bulkheads() == null ? HandlerBulkheads.NONE : settings.bulkheads();
+        this.executor = settings.executor() != null ? settings.executor()
+                : Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("majide-task-", 0).factory());
+        this.cpuExecutor = settings.cpuExecutor() != null ? settings.cpuExecutor()
+                : bulkheads.usesCpu() ? newCpuPool(settings.cpuThreads()) : executor;
+        this.permits = new Semaphore(settings.maxConcurrency());
+        this.lease = settings.lease();
+        this.renewEvery = settings.renewEvery() != null ? settings.renewEvery()
+                : lease != null ? lease.dividedBy(3) : null;
+        this.renewer = lease == null ? null
+                : Thread.ofVirtual().name("majide-lease-renewal").start(this::renewLoop);
+    }
+
+    /** renewEvery마다 실행 중인 TaskRun lease 연장 (실패는 다음 주기에 재시도, 그 사이 만료되면 복구가 가져감) */
+    private void renewLoop() {
+        while (running) {
+            try {
+                Thread.sleep(renewEvery);
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (TaskRun tr : inFlight.values()) {
+                try {
+                    dispatch.heartbeat(tr, lease);
+                } catch (Exception e) {
+                    log.warn("TaskRun {} lease renewal failed", tr.id(), e);
+                }
+            }
+        }
+    }
+
+    private static ExecutorService newCpuPool(int threads) {
+        int n = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(n, Thread.ofPlatform().name("majide-cpu-", 0).daemon().factory());
+    }
+
+    /** 지금 더 받을 수 있는 실행 수 (디스패처는 이만큼만 선점) */
+    public int availableSlots() {
+        return permits.availablePermits();
+    }
+
+    /** 상한이 있는 handlerKey의 남은 자리 (선점 한도, 없으면 빈 맵) */
+    public Map<String, Integer> handlerCaps() {
+        return bulkheads.freeCapacity();
+    }
+
+    /** 이 노드가 실행 가능한 handlerKey 집합 (선점 필터) */
+    public Set<String> handlerKeys() {
+        return registry.keys();
+    }
+
+    /** CLASS_FQN/METHOD_NAME 바인딩 태스크도 실행 가능한지 */
+    public boolean resolvesMethods() {
+        return registry.resolvesMethods();
+    }
+
+    public void submitAll(List<TaskRun> runs) {
+        for (TaskRun tr : runs) submit(tr);
+    }
+
+    /** 슬롯이 없으면 빌 때까지 대기 후 제출 (벌크헤드 키면 키 자리도 예약, 실행 클래스 풀로) */
+    public void submit(TaskRun tr) {
+        acquireSlot();
+        dispatch(tr, reserve(tr));
+    }
+
+    // --- submit 단계별 (PrefetchBuffer: 적재 시 벌크헤드 예약, 실행 슬롯을 잡은 뒤에만 버퍼에서 꺼냄) ---
+
+    /** 벌크헤드 자리 예약 → 예약한 키 (상한 없는 키/벌크헤드 없음이면 null 또는 no-op) */
+    String reserve(TaskRun tr) {
+        String key = bulkheads.isEmpty() ? null : handlerKeyOf(tr);
+        bulkheads.reserve(key);
+        return key;
+    }
+
+    void unreserve(String key) {
+        bulkheads.release(key);
+    }
+
+    /** 전체 동시 실행 슬롯 하나 (빌 때까지 대기) */
+    void acquireSlot() {
+        permits.acquireUninterruptibly();
+    }
+
+    void releaseSlot() {
+        permits.release();
+    }
+
+    /** 슬롯 + 벌크헤드 예약을 쥔 채로 실행 클래스 풀에 제출 (끝나면 둘 다 반납) */
+    void dispatch(TaskRun tr, String key) {
+        var pool = bulkheads.spec(key).executionClass() == HandlerBulkheads.ExecutionClass.CPU ? cpuExecutor : executor;
+        try {
+            pool.execute(() -> {
+                try {
+                    execute(tr);
+                } finally {
+                    bulkheads.release(key);
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bulkheads.release(key);
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** TaskRun → HANDLER_KEY (태스크 정의는 거의 안 바뀌므로 캐시). 조회 실패면 null = 기본 벌크헤드 */
+    private String handlerKeyOf(TaskRun tr) {
+        String cached = handlerKeyByTask.get(tr.taskId());
+        if (cached != null) return cached;
+        try {
+            String key = tx.required(() -> tasks.findById(tr.taskId())).map(Task::handlerKey).orElse(null);
+            if (key != null) handlerKeyByTask.put(tr.taskId(), key);
+            return key;
+        } catch (Exception e) {
+            log.warn("TaskRun {} handler lookup failed; running it outside its bulkhead", tr.id(), e);
+            return null;
+        }
+    }
+
+    void execute(TaskRun tr) {
+        inFlight.put(tr.id(), tr);
+        try {
+            Task task = tx.required(() -> tasks.findById(tr.taskId())).orElse(null);
+            if (task == null) {
+                fail(tr, "task definition not found: taskId=" + tr.taskId());
+                return;
+            }
+            TaskHandler handler;
+            try {
+                handler = registry.resolve(task).orElse(null);
+            } catch (RuntimeException e) { // 바인딩 실패는 재시도 정책대로 기록 (상태 전이 실패로 삼키면 만기 복구마다 반복)
+                fail(tr, describe(e));
+                return;
+            }
+            if (handler == null) {
+                fail(tr, "no handler registered for handlerKey=" + task.handlerKey());
+                return;
+            }
+
+            try {
+                handler.handle(new TaskContext(tr, task));
+            } catch (Throwable t) {
+                if (t instanceof InterruptedException) Thread.currentThread().interrupt();
+                fail(tr, describe(t));
+                return;
+            }
+            if (dispatch.markDone(tr) == TaskRunRepository.LOST_CLAIM) lost(tr);
+        } catch (Exception e) {
+            log.warn("TaskRun {} state transition failed; lease expiry will recover it", tr.id(), e);
+        } finally {
+            inFlight.remove(tr.id());
+        }
+    }
+
+    private void fail(TaskRun tr, String error) throws Exception {
+        if (!dispatch.failAndRetry(tr, error)) lost(tr);
+    }
+
+    /** 실행 도중 만기 복구/재선점/취소됨 → 결과는 버림 (지금 주인이 다시 실행하거나 이미 끝냄) */
+    private static void lost(TaskRun tr) {
+        log.info("TaskRun {} (attempt {}) lost its claim while running; result dropped", tr.id(), tr.attempt());
+    }
+
+    private static String describe(Throwable t) {
+        String s = t.getClass().getName() + (t.getMessage() == null ? "" : ": " + t.getMessage());
+        return s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /** 신규 제출 중단 → 실행 중인 핸들러 종료 대기 → 시간 초과 시 인터럽트 */
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        cpuExecutor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        if (!cpuExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            cpuExecutor.shutdownNow();
+        }
+        running = false;
+        if (renewer != null) renewer.interrupt();
+    }
+}
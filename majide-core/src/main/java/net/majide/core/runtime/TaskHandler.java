@@ -0,0 +1,7 @@
+package net.majide.core.runtime;
+
+/** 태스크 실행 핸들러. 정상 반환 = DONE, 예외 = 실패(백오프 재시도) */
+@FunctionalInterface
+public interface TaskHandler {
+    void handle(TaskContext ctx) throws Exception;
+}
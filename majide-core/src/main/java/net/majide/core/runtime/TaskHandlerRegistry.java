@@ -0,0 +1,64 @@
+package net.majide.core.runtime;
+
+import net.majide.core.model.Task;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Task.handlerKey → TaskHandler 레지스트리.
+ * resolver가 있으면 등록되지 않은 태스크는 CLASS_FQN/METHOD_NAME으로 바인딩
+ */
+public final class TaskHandlerRegistry {
+    private final Map<String, TaskHandler> handlers = new ConcurrentHashMap<>();
+    private final MethodHandlerResolver resolver; // null = handlerKey 등록분만
+
+    public TaskHandlerRegistry() {
+        this.resolver = null;
+    }
+
+    public TaskHandlerRegistry(Map<String, ? extends TaskHandler> initial) {
+        this(initial, null);
+    }
+
+    public TaskHandlerRegistry(Map<String, ? extends TaskHandler> initial, MethodHandlerResolver resolver) {
+        this.resolver = resolver;
+        initial.forEach(this::register);
+    }
+
+    /** 같은 키가 이미 있으면 예외 (조용한 덮어쓰기 방지) */
+    public TaskHandlerRegistry register(String handlerKey, TaskHandler handler) {
+        if (handlerKey == null || handler == null) throw new IllegalArgumentException("handlerKey and handler are required");
+        var prev = handlers.putIfAbsent(handlerKey, handler);
+        if (prev != null) throw new IllegalStateException("duplicate handlerKey: " + handlerKey);
+        return this;
+    }
+
+    public Optional<TaskHandler> find(String handlerKey) {
+        return handlerKey == null ? Optional.empty() : Optional.ofNullable(handlers.get(handlerKey));
+    }
+
+    /**
+     * 태스크 실행 핸들러: handlerKey 등록분 우선, 없으면 classFqn#methodName 바인딩.
+     * 바인딩 실패는 IllegalArgumentException
+     */
+    public Optional<TaskHandler> resolve(Task task) {
+        var byKey = find(task.handlerKey());
+        if (byKey.isPresent() || resolver == null || task.classFqn() == null || task.methodName() == null) {
+            return byKey;
+        }
+        return Optional.of(resolver.resolve(task.classFqn(), task.methodName()));
+    }
+
+    /** CLASS_FQN 지정 태스크도 실행 가능한지 (선점 필터용) */
+    public boolean resolvesMethods() {
+        return resolver != null;
+    }
+
+    /** 이 노드가 실행 가능한 handlerKey 집합 (선점 필터용) */
+    public Set<String> keys() {
+        return Set.copyOf(handlers.keySet());
+    }
+}
@@ -0,0 +1,146 @@
+package net.majide.core.schedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * 계층형 타이밍 휠 (id → 만기 시각 ms). 레벨 L의 칸 폭 = tickMs * wheelSize^L.
+ * 만기가 가까워지면 상위 레벨 칸이 비워지면서 하위 레벨로 내려오고, 최하위에서 due <= now가 되면 만료.
+ * 범위를 넘는 먼 미래는 far에 두었다가 최상위 범위에 들어오면 내려보냄.
+ * 스레드 안전하지 않음 — 호출측에서 동기화
+ */
+public final class TimingWheel {
+    private record Slot(int level, int bucket) { }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] levelTick;
+    private final List<List<Map<Long, Long>>> levels = new ArrayList<>(); // 레벨 → 칸(wheelSize개)
+    private final Map<Long, Slot> index = new HashMap<>();
+    private final Map<Long, Long> far = new HashMap<>();
+    private long now;
+
+    public TimingWheel(long tickMs, int wheelSize, int levelCount, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1 || levelCount <= 0) {
+            throw new IllegalArgumentException("tickMs > 0, wheelSize > 1, levelCount > 0 required");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levelTick = new long[levelCount];
+        long t = tickMs;
+        for (int l = 0; l < levelCount; l++) {
+            levelTick[l] = t;
+            List<Map<Long, Long>> buckets = new ArrayList<>(wheelSize);
+            for (int b = 0; b < wheelSize; b++) buckets.add(new HashMap<>());
+            levels.add(buckets);
+            t = Math.multiplyExact(t, wheelSize);
+        }
+        this.now = startMs;
+    }
+
+    /** 등록 또는 재등록 (같은 id의 이전 만기는 대체). 이미 지난 만기는 다음 advance에서 만료 */
+    public void schedule(long id, long dueMs) {
+        cancel(id);
+        place(id, dueMs);
+    }
+
+    public boolean cancel(long id) {
+        Slot s = index.remove(id);
+        if (s != null) return levels.get(s.level()).get(s.bucket()).remove(id) != null;
+        return far.remove(id) != null;
+    }
+
+    /** 시계를 nowMs로 전진시키며 만기(due <= nowMs)된 id를 expired로 넘김 (만료된 id는 휠에서 제거) */
+    public void advance(long nowMs, LongConsumer expired) {
+        long prev = now;
+        if (nowMs > now) now = nowMs;
+
+        // 최하위는 지나온 칸 + 현재 칸(칸 안에서 만기가 지난 항목), 상위 레벨은 하위가 한 바퀴 돌아
+        // 그 레벨의 칸이 바뀌었을 때만 새로 들어선 칸까지를 꺼내 새 시각 기준으로 재배치 (상위 현재 칸은 매 틱 다시 보지 않음)
+        Map<Long, Long> drained = new HashMap<>();
+        boolean topMoved = false;
+        for (int l = 0; l < levelTick.length; l++) {
+            long from = Math.floorDiv(prev, levelTick[l]);
+            long to = Math.floorDiv(now, levelTick[l]);
+            if (l > 0 && to == from) break; // 이 레벨이 안 바뀌었으면 더 위도 그대로
+            if (l == levelTick.length - 1 && to > from) topMoved = true;
+            long crossed = Math.min(wheelSize, l == 0 ? to - from + 1 : to - from);
+            List<Map<Long, Long>> buckets = levels.get(l);
+            for (long k = 0; k < crossed; k++) {
+                Map<Long, Long> bucket = buckets.get(Math.floorMod(to - k, wheelSize));
+                if (bucket.isEmpty()) continue;
+                drained.putAll(bucket);
+                for (Long id : bucket.keySet()) index.remove(id);
+                bucket.clear();
+            }
+        }
+        if (topMoved && !far.isEmpty()) {
+            long horizon = horizon(levelTick.length - 1);
+            for (Iterator<Map.Entry<Long, Long>> it = far.entrySet().iterator(); it.hasNext(); ) {
+                var e = it.next();
+                if (e.getValue() < horizon) {
+                    drained.put(e.getKey(), e.getValue());
+                    it.remove();
+                }
+            }
+        }
+        for (var e : drained.entrySet()) {
+            if (e.getValue() <= now) expired.accept(e.getKey());
+            else place(e.getKey(), e.getValue());
+        }
+    }
+
+    /** 가장 이른 만기 (비었으면 Long.MAX_VALUE). 레벨마다 현재 칸부터 처음 나오는 비지 않은 칸만 본다 */
+    public long nextDueMs() {
+        long min = Long.MAX_VALUE;
+        for (int l = 0; l < levelTick.length; l++) {
+            List<Map<Long, Long>> buckets = levels.get(l);
+            long cur = Math.floorDiv(now, levelTick[l]);
+            for (int k = 0; k < wheelSize; k++) {
+                Map<Long, Long> bucket = buckets.get(Math.floorMod(cur + k, wheelSize));
+                if (bucket.isEmpty()) continue;
+                for (long due : bucket.values()) min = Math.min(min, due);
+                break;
+            }
+        }
+        for (long due : far.values()) min = Math.min(min, due);
+        return min;
+    }
+
+    public int size() {
+        return index.size() + far.size();
+    }
+
+    public void clear() {
+        for (List<Map<Long, Long>> buckets : levels) for (Map<Long, Long> b : buckets) b.clear();
+        index.clear();
+        far.clear();
+    }
+
+    public long tickMs() {
+        return tickMs;
+    }
+
+    private void place(long id, long dueMs) {
+        for (int l = 0; l < levelTick.length; l++) {
+            if (dueMs < horizon(l)) {
+                // 이미 지난 만기는 현재 칸에 (다음 advance에서 만료)
+                long slot = Math.floorDiv(Math.max(dueMs, now), levelTick[l]);
+                int b = Math.floorMod(slot, wheelSize);
+                levels.get(l).get(b).put(id, dueMs);
+                index.put(id, new Slot(l, b));
+                return;
+            }
+        }
+        far.put(id, dueMs);
+    }
+
+    /** 레벨 l이 담을 수 있는 만기 상한(배타) */
+    private long horizon(int l) {
+        return Math.floorDiv(now, levelTick[l]) * levelTick[l] + levelTick[l] * wheelSize;
+    }
+}
@@ -0,0 +1,175 @@
+package net.majide.core.schedule;
+
+import net.majide.core.model.Job;
+import net.majide.core.spi.Clock;
+import net.majide.core.spi.JobRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * 타이밍 휠로 due 판정을 메모리에서 하는 JobRepository 데코레이터.
+ * - 활성 Job의 만기(NEXT_DUE_AT, 선점 중이면 LEASE_UNTIL까지)를 한 번 적재하고, 이후엔 UPDATED_AT 증분만 읽음
+ * - 휠에서 만기가 난 경우에만 위임 repo의 선점(ORDER BY NEXT_DUE_AT 스캔)을 실행, 아니면 DB를 건드리지 않음
+ * - 선점/커서 전진은 UPDATED_AT을 갱신하므로 다음 증분에서 새 만기로 재등록됨
+ * - 선점이 비어 온 만기(다른 노드가 잡는 중, 시계 차이로 이른 만기)는 recheck 후 다시 확인
+ * 판정은 노드 시계 기준. 증분은 커밋 지연을 고려해 lag만큼 겹쳐 읽고, resync 주기로 전체 재적재.
+ * 호출은 위임 repo와 같이 TxContext 안에서
+ */
+public final class WheelGatedJobRepository implements JobRepository {
+    /** 휠/증분 설정 */
+    public record Settings(Duration tick, int wheelSize, int levels,
+                           Duration refreshInterval, Duration lag, Duration resyncInterval, Duration recheck) {
+        public static final Settings DEFAULT = new Settings(Duration.ofMillis(100), 64, 4,
+                Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofMinutes(10), Duration.ofSeconds(1));
+    }
+
+    private final JobRepository delegate;
+    private final Clock clock;
+    private final Settings settings;
+    private final TimingWheel wheel;
+    private final Set<Long> pending = new HashSet<>(); // 만기가 났지만 아직 선점 확인이 안 된 id
+    private Instant watermark;           // 마지막으로 본 UPDATED_AT (null = 미적재)
+    private Instant nextRefreshAt = Instant.EPOCH;
+    private Instant nextResyncAt = Instant.EPOCH;
+
+    public WheelGatedJobRepository(JobRepository delegate, Clock clock) {
+        this(delegate, clock, Settings.DEFAULT);
+    }
+
+    public WheelGatedJobRepository(JobRepository delegate, Clock clock, Settings settings) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.settings = settings;
+        this.wheel = new TimingWheel(settings.tick().toMillis(), settings.wheelSize(), settings.levels(),
+                clock.now().toEpochMilli());
+    }
+
+    @Override
+    public synchronized Optional<Job> claimDueJob(Duration lease, String owner) throws Exception {
+        if (!collectDue()) return Optional.empty();
+        Optional<Job> picked = delegate.claimDueJob(lease, owner);
+        settle(picked.map(List::of).orElse(List.of()), 1);
+        return picked;
+    }
+
+    @Override
+    public synchronized List<Job> claimDueJobs(int limit, Duration lease, String owner) throws Exception {
+        if (limit <= 0 || !collectDue()) return List.of();
+        List<Job> picked = delegate.claimDueJobs(limit, lease, owner);
+        settle(picked, limit);
+        return picked;
+    }
+
+    @Override
+    public synchronized Optional<Duration> timeUntilNextDue() throws Exception {
+        if (collectDue()) return Optional.of(Duration.ZERO);
+        long next = wheel.nextDueMs();
+        if (next == Long.MAX_VALUE) return Optional.empty();
+        return Optional.of(Duration.ofMillis(next - clock.now().toEpochMilli()));
+    }
+
+    /** 휠에 등록된 Job 수 (만기 대기 + 선점 확인 대기) */
+    public synchronized int tracked() {
+        return wheel.size() + pending.size();
+    }
+
+    /** 증분 반영 후 휠을 현재 시각으로 전진. 선점해 볼 만기가 있으면 true */
+    private boolean collectDue() throws Exception {
+        refreshIfStale();
+        Instant now = clock.now();
+        wheel.advance(now.toEpochMilli(), pending::add);
+        return !pending.isEmpty();
+    }
+
+    /**
+     * 선점 결과 반영: 잡은 Job은 pending에서 제거 (UPDATED_AT 증분으로 새 만기가 들어옴).
+     * 한도를 못 채웠으면 남은 due가 없다는 뜻 → 나머지 pending은 recheck 뒤 다시 확인
+     */
+    private void settle(List<Job> picked, int limit) {
+        for (Job j : picked) pending.remove(j.id());
+        if (picked.size() >= limit) return;
+        long recheckAt = clock.now().plus(settings.recheck()).toEpochMilli();
+        for (Long id : pending) wheel.schedule(id, recheckAt);
+        pending.clear();
+    }
+
+    private void refreshIfStale() throws Exception {
+        Instant now = clock.now();
+        if (watermark == null || !now.isBefore(nextResyncAt)) {
+            wheel.clear();
+            pending.clear();
+            watermark = null;
+            apply(delegate.findUpdatedSince(Instant.EPOCH));
+            nextResyncAt = now.plus(settings.resyncInterval());
+            nextRefreshAt = now.plus(settings.refreshInterval());
+            return;
+        }
+        if (now.isBefore(nextRefreshAt)) return;
+        apply(delegate.findUpdatedSince(watermark.minus(settings.lag())));
+        nextRefreshAt = now.plus(settings.refreshInterval());
+    }
+
+    private void apply(List<Job> changed) {
+        for (Job j : changed) {
+            if (watermark == null || j.updatedAt().isAfter(watermark)) watermark = j.updatedAt();
+            pending.remove(j.id());
+            if (!j.enabled()) {
+                wheel.cancel(j.id());
+                continue;
+            }
+            Instant due = j.leaseUntil() != null && j.leaseUntil().isAfter(j.nextDueAt()) ? j.leaseUntil() : j.nextDueAt();
+            wheel.schedule(j.id(), due.toEpochMilli());
+        }
+        if (watermark == null) watermark = Instant.EPOCH;
+    }
+
+    // --- 나머지는 위임 ---
+
+    @Override
+    public List<Job> findUpdatedSince(Instant since) throws Exception {
+        return delegate.findUpdatedSince(since);
+    }
+
+    @Override
+    public void advanceCursor(long jobId, Instant nextDueAt) throws Exception {
+        delegate.advanceCursor(jobId, nextDueAt);
+    }
+
+    @Override
+    public void deferClaim(long jobId, Duration recheck) throws Exception {
+        delegate.deferClaim(jobId, recheck);
+    }
+
+    @Override
+    public Optional<Job> findById(long id) throws Exception {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Job> findByName(String name) throws Exception {
+        return delegate.findByName(name);
+    }
+
+    @Override
+    public void save(Job job) throws Exception {
+        delegate.save(job);
+    }
+
+    @Override
+    public Job upsert(String name, String description, String cronExpr, Instant nextDueAt, boolean enabled,
+                      Integer priority) throws Exception {
+        return delegate.upsert(name, description, cronExpr, nextDueAt, enabled, priority);
+    }
+
+    @Override
+    public void updateShare(long jobId, String shareGroup, int shareWeight) throws Exception {
+        delegate.updateShare(jobId, shareGroup, shareWeight);
+    }
+
+    @Override
+    public void updateOverlap(long jobId, Job.OverlapPolicy policy, int maxConcurrentRuns) throws Exception {
+        delegate.updateOverlap(jobId, policy, maxConcurrentRuns);
+    }
+}
@@ -0,0 +1,189 @@
+package net.majide.core.service;
+
+import net.majide.core.spi.JobRepository;
+import net.majide.core.spi.TaskRunRepository;
+import net.majide.core.spi.TxRunner;
+import net.majide.core.spi.WakeupBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정 주기 폴링 대신 다음 일감 시각까지 정확히 자는 디스패치 루프 (전용 스레드 1개).
+ * - 선점이 한도를 꽉 채우면 바로 다시 돈다
+ * - 일감이 있었으면 가장 이른 NEXT_DUE_AT / AVAILABLE_AT까지 잔다 (maxInterval 상한, AVAILABLE_AT은 이 노드가 선점할 수 있는 태스크만)
+ * - due인데 선점이 비어 오면(다른 노드 선점, 이 노드에 없는 핸들러 등) minBackoff부터 지수 백오프
+ * - WakeupBus 알림(완료로 후행 READY/슬롯 반납)이 오면 대기 중이어도 바로 깨어남
+ * - 예측 못 한 일감(알림이 닿지 않는 다른 노드의 생성/완료)은 maxInterval 안에 잡힘
+ */
+public final class DispatchLoop implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(DispatchLoop.class);
+
+    /**
+     * 루프 옵션 (DEFAULT에서 with*로 조립).
+     * - maxInterval: 대기 상한 (알림이 닿지 않는 일감도 이 안에 잡힘)
+     * - minBackoff: 빈 선점 시 지수 백오프 시작값
+     * - wakeups: 완료/반납 알림을 받으면 대기 중이어도 바로 깨어남
+     */
+    public record Settings(Duration maxInterval, Duration minBackoff, WakeupBus wakeups) {
+        public static final Settings DEFAULT = new Settings(Duration.ofSeconds(30), Duration.ofMillis(100), WakeupBus.NOOP);
+
+        public Settings withMaxInterval(Duration maxInterval) {
+            return new Settings(maxInterval, minBackoff, wakeups);
+        }
+
+        public Settings withMinBackoff(Duration minBackoff) {
+            return new Settings(maxInterval, minBackoff, wakeups);
+        }
+
+        public Settings withWakeups(WakeupBus wakeups) {
+            return new Settings(maxInterval, minBackoff, wakeups);
+        }
+    }
+
+    private final Orchestrator orchestrator;
+    private final JobRepository jobs;
+    private final TaskRunRepository taskRuns;
+    private final TxRunner tx;
+    private final Duration jobLease;
+    private final Duration taskLease;
+    private final int maxClaims;
+    private final Duration maxInterval;
+    private final Duration minBackoff;
+    private final WakeupBus wakeups;
+    private WakeupBus.Subscription subscription;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wake = lock.newCondition();
+    private boolean woken; // lock 보호
+    private volatile boolean running;
+    private Thread thread;
+    private int emptyStreak;
+
+    public DispatchLoop(Orchestrator orchestrator, JobRepository jobs, TaskRunRepository taskRuns, TxRunner tx,
+                        Duration jobLease, Duration taskLease, int maxClaims) {
+        this(orchestrator, jobs, taskRuns, tx, jobLease, taskLease, maxClaims, Settings.DEFAULT);
+    }
+
+    public DispatchLoop(Orchestrator orchestrator, JobRepository jobs, TaskRunRepository taskRuns, TxRunner tx,
+                        Duration jobLease, Duration taskLease, int maxClaims, Settings settings) {
+        this.orchestrator = orchestrator;
+        this.jobs = jobs;
+        this.taskRuns = taskRuns;
+        this.tx = tx;
+        this.jobLease = jobLease;
+        this.taskLease = taskLease;
+        this.maxClaims = maxClaims;
+        this.maxInterval = settings.maxInterval();
+        this.minBackoff = settings.minBackoff();
+        this.wakeups = settings.wakeups() == null ? WakeupBus.NOOP : settings.wakeups();
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        subscription = wakeups.subscribe(this::wakeup);
+        thread = Thread.ofPlatform().name("majide-dispatch").daemon(true).start(this::run);
+    }
+
+    /** 대기 중이면 즉시 깨워 다음 틱을 돌림 (대기 중이 아니면 다음 대기를 건너뜀) */
+    public void wakeup() {
+        lock.lock();
+        try {
+            woken = true;
+            wake.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            Duration wait;
+            try {
+                wait = step();
+            } catch (Exception e) {
+                log.warn("dispatch tick failed", e);
+                wait = backoff(++emptyStreak);
+            }
+            if (!wait.isZero()) await(wait);
+        }
+    }
+
+    /** 틱 1회 + 다음 대기 시간 계산 */
+    Duration step() throws Exception {
+        Orchestrator.TickResult r = orchestrator.tick(jobLease, taskLease, maxClaims);
+        if (r.saturated()) {
+            emptyStreak = 0;
+            return Duration.ZERO;
+        }
+        Optional<Duration> untilNext = timeUntilNextWork();
+        if (untilNext.isEmpty()) {
+            emptyStreak = 0;
+            return maxInterval;
+        }
+        Duration until = untilNext.get();
+        if (until.isNegative() || until.isZero()) {
+            // 이미 가용한 일감이 남아 있음: 진척이 있었으면 바로, 없었으면 백오프
+            if (r.progressed()) {
+                emptyStreak = 0;
+                return Duration.ZERO;
+            }
+            return backoff(++emptyStreak);
+        }
+        emptyStreak = 0;
+        return until.compareTo(maxInterval) < 0 ? until : maxInterval;
+    }
+
+    private Optional<Duration> timeUntilNextWork() throws Exception {
+        return tx.requiresNew(() -> {
+            Optional<Duration> job = jobs.timeUntilNextDue();
+            Optional<Duration> task = taskRuns.timeUntilNextReady(orchestrator.handlerKeys(), orchestrator.resolvesMethods());
+            if (job.isEmpty()) return task;
+            if (task.isEmpty()) return job;
+            return Optional.of(job.get().compareTo(task.get()) <= 0 ? job.get() : task.get());
+        });
+    }
+
+    private Duration backoff(int streak) {
+        int shift = Math.min(Math.max(streak - 1, 0), 20);
+        Duration d = minBackoff.multipliedBy(1L << shift);
+        return d.compareTo(maxInterval) < 0 ? d : maxInterval;
+    }
+
+    private void await(Duration wait) {
+        lock.lock();
+        try {
+            long nanos = wait.toNanos();
+            while (!woken && running && nanos > 0) nanos = wake.awaitNanos(nanos);
+            woken = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        Thread t;
+        synchronized (this) {
+            if (!running) return;
+            running = false;
+            t = thread;
+            subscription.close();
+        }
+        wakeup();
+        if (t != null) t.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
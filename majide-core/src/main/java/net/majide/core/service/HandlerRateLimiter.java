@@ -0,0 +1,228 @@
+package net.majide.core.service;
+
+import net.majide.core.model.RateLimit;
+import net.majide.core.model.TaskRun;
+import net.majide.core.spi.Clock;
+import net.majide.core.spi.RateLimitRepository;
+import net.majide.core.spi.TaskRepository;
+import net.majide.core.spi.TxRunner;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * handlerKey별 초당 토큰 한도를 선점 시점에 적용 (DB 토큰 버킷 TB_RATE_LIMIT + 노드 로컬 토큰 캐시).
+ * - 선점 전 reserve: 로컬 토큰에서 이번 선점 몫을 떼어 ClaimSpec.handlerCaps로 넘김 → 한도 초과분은 선점 자체를 안 함
+ * - 로컬이 비면 DB 버킷에서 hold 동안 쓸 만큼(최대 burst) 묶어서 가져옴 → 선점마다 버킷 행을 건드리지 않음
+ * - 선점 후 settle: 못 쓴 몫은 로컬로 되돌림
+ * - hold 동안 하나도 안 쓴 로컬 토큰은 DB로 반납하고 hold만큼 쉬었다가 다시 가져옴 (유휴 노드가 버킷을 쥐고 있지 않도록)
+ * - DB 버킷이 비었으면 토큰 하나가 보충될 때까지 다시 묻지 않음
+ * 정의는 refreshInterval마다 DB에서 다시 읽음
+ * 로컬 상태는 락 안에서 계산/병합만 하고, DB 왕복(take/refund/정의·handlerKey 조회)은 락 밖에서 →
+ * 느린 DB가 다른 스레드의 reserve/settle을 붙잡지 않음 (같은 키의 take는 fetching으로 한 번에 하나만)
+ */
+public final class HandlerRateLimiter {
+    /** hold: 가져온 로컬 토큰의 유효 시간, refreshInterval: 한도 정의 재조회 주기 */
+    public record Settings(Duration hold, Duration refreshInterval) {
+        public static final Settings DEFAULT = new Settings(Duration.ofSeconds(1), Duration.ofSeconds(30));
+    }
+
+    private static final class Bucket {
+        int tokens;
+        boolean used;                          // 이번 묶음에서 하나라도 선점했는지
+        boolean fetching;                      // 락 밖에서 DB take 진행 중
+        Instant expiresAt = Instant.EPOCH;
+        Instant nextFetchAt = Instant.EPOCH;
+    }
+
+    private final RateLimitRepository limits;
+    private final TaskRepository tasks;
+    private final TxRunner tx;
+    private final Clock clock;
+    private final Settings settings;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Bucket> buckets = new HashMap<>();   // lock
+    private final Map<Long, String> handlerKeyByTask = new ConcurrentHashMap<>();
+    private volatile Map<String, RateLimit> defs = Map.of();
+    private volatile Instant nextRefreshAt = Instant.EPOCH;
+
+    public HandlerRateLimiter(RateLimitRepository limits, TaskRepository tasks, TxRunner tx, Clock clock) {
+        this(limits, tasks, tx, clock, Settings.DEFAULT);
+    }
+
+    public HandlerRateLimiter(RateLimitRepository limits, TaskRepository tasks, TxRunner tx, Clock clock, Settings settings) {
+        this.limits = limits;
+        this.tasks = tasks;
+        this.tx = tx;
+        this.clock = clock;
+        this.settings = settings;
+    }
+
+    /**
+     * 이번 선점에 쓸 토큰을 키별로 예약. 한도가 정의된 키는 전부 결과에 들어감 (0 = 이번엔 선점 불가).
+     * handlerKeys가 주어지면 그 밖의 키는 토큰을 가져오지 않고 0, handlerCaps가 있으면 그 이상은 예약하지 않음
+     */
+    public Map<String, Integer> reserve(int maxCount, Set<String> handlerKeys,
+                                        Map<String, Integer> handlerCaps) throws Exception {
+        refreshIfStale();
+        Map<String, RateLimit> defs = this.defs;
+        if (defs.isEmpty()) return Map.of();
+        Instant now = clock.now();
+
+        // 1) 락 안: 만료분 정리 + 키별 필요량, DB에서 더 가져올 양 계산
+        Map<String, Integer> needs = new HashMap<>(defs.size());
+        Map<RateLimit, Integer> wants = new HashMap<>();
+        Map<String, Integer> refunds;
+        lock.lock();
+        try {
+            refunds = expire(now);
+            for (RateLimit def : defs.values()) {
+                String key = def.handlerKey();
+                int need = maxCount;
+                if (handlerKeys != null && !handlerKeys.contains(key)) need = 0;
+                if (handlerCaps != null && handlerCaps.containsKey(key)) need = Math.min(need, handlerCaps.get(key));
+                needs.put(key, need);
+                Bucket b = buckets.computeIfAbsent(key, k -> new Bucket());
+                if (need <= b.tokens || b.fetching || now.isBefore(b.nextFetchAt)) continue;
+                int want = fetchSize(def, need) - b.tokens;
+                if (want <= 0) continue;
+                b.fetching = true;
+                wants.put(def, want);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // 2) 락 밖: DB 버킷 take / 반납
+        Map<RateLimit, Integer> got = new HashMap<>(wants.size());
+        try {
+            for (var e : wants.entrySet()) {
+                got.put(e.getKey(), tx.requiresNew(() -> limits.take(e.getKey().handlerKey(), e.getValue())));
+            }
+        } finally {
+            // 3) 락 안: 가져온 토큰 병합 후 예약 (take 실패 시에도 fetching은 풀어 둠)
+            lock.lock();
+            try {
+                for (RateLimit def : wants.keySet()) {
+                    Bucket b = buckets.get(def.handlerKey());
+                    if (b == null) { // 그 사이 정의가 빠짐 → 가져온 건 반납
+                        int n = got.getOrDefault(def, 0);
+                        if (n > 0) refunds.merge(def.handlerKey(), n, Integer::sum);
+                        continue;
+                    }
+                    b.fetching = false;
+                    if (got.containsKey(def)) merge(def, b, got.get(def), now);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        Map<String, Integer> reserved = new HashMap<>(needs.size());
+        lock.lock();
+        try {
+            needs.forEach((key, need) -> {
+                Bucket b = buckets.get(key);
+                int r = b == null ? 0 : Math.max(0, Math.min(need, b.tokens));
+                if (b != null) b.tokens -= r;
+                reserved.put(key, r);
+            });
+        } finally {
+            lock.unlock();
+        }
+        refund(refunds);
+        return reserved;
+    }
+
+    /** 예약분 중 선점하지 못한 만큼 로컬로 되돌림 */
+    public void settle(Map<String, Integer> reserved, List<TaskRun> claimed) throws Exception {
+        if (reserved.isEmpty()) return;
+        List<String> claimedKeys = new ArrayList<>(claimed.size());
+        for (TaskRun tr : claimed) claimedKeys.add(handlerKeyOf(tr.taskId())); // 락 밖 (캐시 미스면 DB 조회)
+        Map<String, Integer> left = new HashMap<>(reserved);
+        lock.lock();
+        try {
+            for (String key : claimedKeys) {
+                if (key != null && left.computeIfPresent(key, (k, v) -> v - 1) != null) {
+                    Bucket b = buckets.get(key);
+                    if (b != null) b.used = true;
+                }
+            }
+            left.forEach((key, n) -> {
+                Bucket b = buckets.get(key);
+                if (b != null && n > 0) b.tokens += n;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** DB 버킷에서 한 번에 가져올 목표 보유량: hold 동안 쓸 만큼 (최소 need, 최대 burst) */
+    private int fetchSize(RateLimit def, int need) {
+        int perHold = (int) Math.ceil(def.permitsPerSecond() * settings.hold().toMillis() / 1000.0);
+        return Math.min(def.burst(), Math.max(need, perHold));
+    }
+
+    /** 가져온 토큰 병합 (lock 보유) */
+    private void merge(RateLimit def, Bucket b, int got, Instant now) {
+        if (got == 0) {
+            // 토큰 하나가 보충될 때까지 (최대 hold)
+            long waitMs = Math.min(settings.hold().toMillis(), (long) Math.ceil(1000 / def.permitsPerSecond()));
+            b.nextFetchAt = now.plusMillis(waitMs);
+            return;
+        }
+        if (b.tokens == 0) b.used = false;
+        b.tokens += got;
+        b.expiresAt = now.plus(settings.hold());
+    }
+
+    /** hold가 지난 로컬 토큰: 그동안 썼으면 계속 보유, 안 썼으면 반납 목록으로 (hold 동안 다시 가져오지 않음, lock 보유) */
+    private Map<String, Integer> expire(Instant now) {
+        Map<String, Integer> refunds = new HashMap<>();
+        buckets.forEach((key, b) -> {
+            if (b.tokens <= 0 || now.isBefore(b.expiresAt)) return;
+            if (!b.used) {
+                refunds.put(key, b.tokens);
+                b.tokens = 0;
+                b.nextFetchAt = now.plus(settings.hold());
+            }
+            b.used = false;
+            b.expiresAt = now.plus(settings.hold());
+        });
+        return refunds;
+    }
+
+    private void refund(Map<String, Integer> refunds) throws Exception {
+        if (refunds.isEmpty()) return;
+        tx.requiresNew(() -> {
+            for (var e : refunds.entrySet()) limits.refund(e.getKey(), e.getValue());
+            return null;
+        });
+    }
+
+    /** 정의 재조회는 락 밖, 교체만 락 안 (동시에 둘이 읽어도 같은 결과로 덮을 뿐) */
+    private void refreshIfStale() throws Exception {
+        Instant now = clock.now();
+        if (now.isBefore(nextRefreshAt)) return;
+        Map<String, RateLimit> fresh = new HashMap<>();
+        for (RateLimit l : tx.required(limits::findAll)) fresh.put(l.handlerKey(), l);
+        lock.lock();
+        try {
+            defs = fresh;
+            buckets.keySet().retainAll(fresh.keySet());
+            nextRefreshAt = now.plus(settings.refreshInterval());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String handlerKeyOf(long taskId) throws Exception {
+        String key = handlerKeyByTask.get(taskId);
+        if (key != null) return key;
+        key = tx.required(() -> tasks.findById(taskId)).map(t -> t.handlerKey()).orElse(null);
+        if (key != null) handlerKeyByTask.put(taskId, key);
+        return key;
+    }
+}
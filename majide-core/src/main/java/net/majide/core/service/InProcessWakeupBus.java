@@ -0,0 +1,32 @@
+package net.majide.core.service;
+
+import net.majide.core.spi.WakeupBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** 같은 JVM 안의 구독자에게 publish 스레드에서 바로 전달 (구독자는 깨우기만 하고 즉시 반환할 것) */
+public final class InProcessWakeupBus implements WakeupBus {
+    private static final Logger log = LoggerFactory.getLogger(InProcessWakeupBus.class);
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish() {
+        for (Runnable l : listeners) {
+            try {
+                l.run();
+            } catch (RuntimeException e) {
+                log.warn("wakeup listener failed", e);
+            }
+        }
+    }
+
+    @Override
+    public Subscription subscribe(Runnable listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+}
@@ -3,57 +3,347 @@ package net.majide.core.service;
 import net.majide.core.model.Job;
 import net.majide.core.model.JobRun;
 import net.majide.core.spi.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 public final class JobTickService {
+    private static final Logger log = LoggerFactory.getLogger(JobTickService.class);
+
+    /**
+     * 드레인 틱 설정: due Job을 batchSize개씩 선점해 소진될 때까지(또는 budget 초과까지) 처리.
+     * batchSize <= 0 이면 드레인 없이 tickOnce
+     */
+    public record Drain(int batchSize, Duration budget) {
+        public static final Drain DISABLED = new Drain(0, Duration.ZERO);
+
+        public boolean enabled() {
+            return batchSize > 0;
+        }
+    }
+
     private final JobRepository jobs;
     private final JobRunRepository jobRuns;
     private final TaskGraphService taskGraph;
     private final TxRunner tx;
     private final Clock clock;
     private final CronCalculator cron;
+    /** JobRun 준비 시점 */
+    public enum Preparation {
+        /** 선점 트랜잭션 안에서 JobRun 생성 + 그래프 준비 + 커서 전진 */
+        INLINE,
+        /** JobRun 생성 + 커서 전진만 짧게 커밋, 그래프 준비는 prepareExecutor에서 별도 트랜잭션 */
+        ASYNC
+    }
+
+    /** ASYNC에서 준비가 누락된 JobRun으로 보기까지의 유예 (복구 주기 겸용) */
+    public static final Duration DEFAULT_PREPARE_GRACE = Duration.ofSeconds(60);
+    /** 겹침 정책 QUEUE로 대기한 슬롯을 다시 판정하기까지의 간격 */
+    public static final Duration DEFAULT_QUEUE_RECHECK = Duration.ofSeconds(5);
+    private static final int RECOVERY_BATCH = 100;
+
+    /**
+     * 틱 옵션 (DEFAULT에서 with*로 조립).
+     * - drain: due Job 드레인 (DISABLED = 단건 틱)
+     * - prepareExecutor: 드레인/ASYNC 준비 풀 (null = 호출 스레드에서 순차 처리)
+     * - preparation: JobRun 준비 시점
+     * - prepareGrace: ASYNC에서 준비 누락으로 보기까지의 유예 (복구 주기 겸용)
+     * - queueRecheck: QUEUE로 대기한 슬롯의 재판정 간격 (Job lease를 이만큼만 쥐고 놓음)
+     */
+    public record Settings(Drain drain, ExecutorService prepareExecutor, Preparation preparation, Duration prepareGrace,
+                           Duration queueRecheck) {
+        public static final Settings DEFAULT = new Settings(Drain.DISABLED, null, Preparation.INLINE, DEFAULT_PREPARE_GRACE,
+                DEFAULT_QUEUE_RECHECK);
+
+        public Settings(Drain drain, ExecutorService prepareExecutor, Preparation preparation, Duration prepareGrace) {
+            this(drain, prepareExecutor, preparation, prepareGrace, DEFAULT_QUEUE_RECHECK);
+        }
+
+        public Settings withDrain(Drain drain) {
+            return new Settings(drain, prepareExecutor, preparation, prepareGrace, queueRecheck);
+        }
+
+        public Settings withPrepareExecutor(ExecutorService prepareExecutor) {
+            return new Settings(drain, prepareExecutor, preparation, prepareGrace, queueRecheck);
+        }
+
+        public Settings withPreparation(Preparation preparation) {
+            return new Settings(drain, prepareExecutor, preparation, prepareGrace, queueRecheck);
+        }
+
+        public Settings withPrepareGrace(Duration prepareGrace) {
+            return new Settings(drain, prepareExecutor, preparation, prepareGrace, queueRecheck);
+        }
+
+        public Settings withQueueRecheck(Duration queueRecheck) {
+            return new Settings(drain, prepareExecutor, preparation, prepareGrace, queueRecheck);
+        }
+    }
+
+    private final Drain drain;
+    private final ExecutorService prepareExecutor; // null = 호출 스레드에서 순차 처리
+    private final Preparation preparation;
+    private final Duration prepareGrace;
+    private final Duration queueRecheck;
+    private volatile Instant nextRecoveryAt = Instant.EPOCH;
+
+    /** ASYNC 드레인 한 배치: 선점한 Job 수 + 겹침 정책을 통과해 생성된 JobRun */
+    private record Created(int claimed, List<JobRun> runs) {}
 
     public JobTickService(JobRepository jobs,
                           JobRunRepository jobRuns,
                           TaskGraphService taskGraph,
                           TxRunner tx, Clock clock, CronCalculator cron) {
+        this(jobs, jobRuns, taskGraph, tx, clock, cron, Settings.DEFAULT);
+    }
+
+    public JobTickService(JobRepository jobs,
+                          JobRunRepository jobRuns,
+                          TaskGraphService taskGraph,
+                          TxRunner tx, Clock clock, CronCalculator cron,
+                          Settings settings) {
         this.jobs = jobs;
         this.jobRuns = jobRuns;
         this.taskGraph = taskGraph;
         this.tx = tx;
         this.clock = clock;
         this.cron = cron;
+        this.drain = settings.drain();
+        this.prepareExecutor = settings.prepareExecutor();
+        this.preparation = settings.preparation();
+        this.prepareGrace = settings.prepareGrace();
+        this.queueRecheck = settings.queueRecheck();
     }
 
-    /** due인 Job 하나를 선점 → JobRun 멱등 생성 → Task 그래프를 준비 → 커서 전진 */
-    public void tickOnce(Duration lease) throws Exception {
-        tx.requiresNew(() -> {
+    /**
+     * 설정에 따라 드레인 또는 단건 틱 (ASYNC면 주기적으로 준비 누락 복구)
+     * @return 선점한 Job 수
+     */
+    public int tick(Duration lease) throws Exception {
+        int claimed = drain.enabled()
+                ? drain(lease, drain.batchSize(), drain.budget())
+                : (tickOnce(lease) ? 1 : 0);
+
+        if (preparation == Preparation.ASYNC && !clock.now().isBefore(nextRecoveryAt)) {
+            nextRecoveryAt = clock.now().plus(prepareGrace);
+            recoverUnprepared(prepareGrace, RECOVERY_BATCH);
+        }
+        return claimed;
+    }
+
+    /**
+     * due인 Job 하나를 선점 → JobRun 멱등 생성 → Task 그래프를 준비 → 커서 전진
+     * @return 선점한 Job이 있었는지
+     */
+    public boolean tickOnce(Duration lease) throws Exception {
+        if (preparation == Preparation.ASYNC) {
+            List<JobRun> created = tx.requiresNew(() -> {
+                var opt = jobs.claimDueJob(lease, "dispatcher");
+                JobRun run = opt.isEmpty() ? null : createRunAndAdvance(opt.get());
+                return run == null ? List.<JobRun>of() : List.of(run);
+            });
+            prepareAsync(created);
+            return !created.isEmpty();
+        }
+        return tx.requiresNew(() -> {
             var opt = jobs.claimDueJob(lease, "dispatcher"); // FOR UPDATE SKIP LOCKED 내부
-            if (opt.isEmpty()) return null;
+            if (opt.isEmpty()) return false;
+            fire(opt.get());
+            return true;
+        });
+    }
 
-            Job job = opt.get();
-            // 1) runKey 계산 (예: 'yyyy-MM-dd'T'HH:mm' 같은 정책)
-            String runKey = computeRunKey(clock.now(), job);
+    /**
+     * due Job이 없거나 budget이 다할 때까지 batchSize개씩 선점해 처리.
+     * - INLINE: 선점은 짧은 트랜잭션으로 커밋 → 이후 중복 선점은 LEASE_UNTIL이 막음 (lease >= Job 하나 처리 시간).
+     *   각 Job은 자기 트랜잭션에서 fire, prepareExecutor가 있으면 병렬
+     * - ASYNC: 선점 + JobRun 생성 + 커서 전진을 한 트랜잭션으로 커밋, 준비는 prepareExecutor로 넘기고 기다리지 않음
+     * - 실패한 Job은 lease 만료 후 다시 선점됨 (runKey가 슬롯 기준이라 JobRun 중복 없음)
+     * - 겹침 정책으로 JobRun을 만들지 않은 Job도 선점 수에는 포함 (ASYNC 반환값에서는 제외)
+     * @return 처리(ASYNC는 JobRun 생성)한 Job 수
+     */
+    public int drain(Duration lease, int batchSize, Duration budget) throws Exception {
+        long deadline = System.nanoTime() + budget.toNanos();
+        int fired = 0;
+        while (true) {
+            int claimed;
+            if (preparation == Preparation.ASYNC) {
+                Created created = tx.requiresNew(() -> {
+                    List<JobRun> out = new ArrayList<>();
+                    List<Job> batch = jobs.claimDueJobs(batchSize, lease, "dispatcher");
+                    for (Job job : batch) {
+                        JobRun run = createRunAndAdvance(job);
+                        if (run != null) out.add(run);
+                    }
+                    return new Created(batch.size(), out);
+                });
+                prepareAsync(created.runs());
+                claimed = created.claimed();
+                fired += created.runs().size();
+            } else {
+                List<Job> batch = tx.requiresNew(() -> jobs.claimDueJobs(batchSize, lease, "dispatcher"));
+                claimed = batch.size();
+                fired += fireAll(batch);
+            }
+            if (claimed < batchSize || System.nanoTime() >= deadline) break;
+        }
+        return fired;
+    }
 
-            // 2) 멱등 JobRun upsert (CREATED 또는 유지)
-            JobRun run = jobRuns.upsert(job.id(), runKey, JobRun.Status.CREATED);
+    /**
+     * 준비 누락 JobRun 복구: CREATED + TaskRun 없음 + grace 경과분을 잠그고 다시 준비.
+     * 준비는 멱등(MERGE)이라 실제로는 진행 중이던 준비와 겹쳐도 결과가 같음
+     * @return 다시 준비한 JobRun 수
+     */
+    public int recoverUnprepared(Duration grace, int limit) throws Exception {
+        return tx.requiresNew(() -> {
+            List<JobRun> runs = jobRuns.claimUnprepared(grace, limit);
+            for (JobRun run : runs) taskGraph.prepareFor(run.jobId(), run.id());
+            if (!runs.isEmpty()) log.info("re-prepared {} JobRun(s) left without TaskRuns", runs.size());
+            return runs.size();
+        });
+    }
 
-            // 3) 태스크 그래프 준비: BLOCKED/READY 세팅, preCnt/doneCnt 초기화
-            taskGraph.prepareFor(job.id(), run.id());
+    private int fireAll(List<Job> batch) throws InterruptedException {
+        if (prepareExecutor == null) {
+            int ok = 0;
+            for (Job job : batch) if (fireInOwnTx(job)) ok++;
+            return ok;
+        }
+        List<Future<Boolean>> futures = new ArrayList<>(batch.size());
+        for (Job job : batch) futures.add(prepareExecutor.submit(() -> fireInOwnTx(job)));
+        int ok = 0;
+        for (Future<Boolean> f : futures) {
+            try {
+                if (f.get()) ok++;
+            } catch (ExecutionException e) {
+                log.warn("job fire task failed", e.getCause());
+            }
+        }
+        return ok;
+    }
 
-            // 4) 커서 전진(nextDueAt)
-            Instant next = cron.next(job.nextDueAt(), job.cronExpr(), ZoneId.systemDefault());
-            jobs.advanceCursor(job.id(), next);
+    private boolean fireInOwnTx(Job job) {
+        try {
+            tx.requiresNew(() -> { fire(job); return null; });
+            return true;
+        } catch (Exception e) {
+            log.warn("Job {} fire failed; lease expiry will retry it", job.id(), e);
+            return false;
+        }
+    }
 
-            return null;
+    /**
+     * 수동 실행: runKey로 JobRun 멱등 생성(우선순위 지정 시 Job 기본값 대신 사용) → 그래프 준비.
+     * 커서는 건드리지 않음. 같은 runKey 재호출은 같은 JobRun에 그래프를 다시 준비 (fire와 같은 멱등 규칙).
+     * 겹침 정책은 적용하지 않음 (수동 실행은 항상 생성)
+     */
+    public JobRun trigger(long jobId, String runKey, Integer priority) throws Exception {
+        return tx.requiresNew(() -> {
+            JobRun run = jobRuns.upsert(jobId, runKey, JobRun.Status.CREATED, priority);
+            taskGraph.prepareFor(jobId, run.id());
+            return run;
         });
     }
 
+    /** ASYNC: 커밋된 JobRun들의 그래프 준비를 풀로 넘김 (실패분은 recoverUnprepared가 처리) */
+    private void prepareAsync(List<JobRun> created) {
+        for (JobRun run : created) {
+            Runnable prepare = () -> {
+                try {
+                    taskGraph.prepareFor(run.jobId(), run.id());
+                } catch (Exception e) {
+                    log.warn("JobRun {} prepare failed; recovery will re-prepare it", run.id(), e);
+                }
+            };
+            if (prepareExecutor == null) {
+                prepare.run();
+                continue;
+            }
+            try {
+                prepareExecutor.execute(prepare);
+            } catch (RejectedExecutionException e) {
+                log.warn("JobRun {} prepare rejected; recovery will re-prepare it", run.id());
+            }
+        }
+    }
+
+    /**
+     * ASYNC의 짧은 트랜잭션 부분: JobRun 멱등 생성 + 커서 전진 (호출측 트랜잭션 안)
+     * @return 생성(또는 재사용)한 JobRun, 겹침 정책으로 만들지 않았으면 null
+     */
+    private JobRun createRunAndAdvance(Job job) throws Exception {
+        String runKey = computeRunKey(clock.now(), job);
+        if (!admit(job, runKey)) return null;
+        JobRun run = jobRuns.upsert(job.id(), runKey, JobRun.Status.CREATED);
+        advance(job);
+        return run;
+    }
+
+    /** JobRun 멱등 생성 → 태스크 그래프 준비 → 커서 전진 (호출측 트랜잭션 안) */
+    private void fire(Job job) throws Exception {
+        // 1) runKey = 이번 슬롯(NEXT_DUE_AT) → 같은 슬롯 재처리 시 같은 JobRun
+        String runKey = computeRunKey(clock.now(), job);
+
+        // 2) 겹침 정책: 진행 중 JobRun이 한도면 건너뜀(SKIP) / 대기(QUEUE) / 이전 실행 취소(CANCEL_PREVIOUS)
+        if (!admit(job, runKey)) return;
+
+        // 3) 멱등 JobRun upsert (CREATED 또는 유지)
+        JobRun run = jobRuns.upsert(job.id(), runKey, JobRun.Status.CREATED);
+
+        // 4) 태스크 그래프 준비: BLOCKED/READY 세팅, preCnt/doneCnt 초기화
+        taskGraph.prepareFor(job.id(), run.id());
+
+        // 5) 커서 전진(nextDueAt) + lease 해제
+        advance(job);
+    }
+
+    /**
+     * 겹침 정책 판정 (호출측 트랜잭션 안). Job lease를 쥔 동안이라 같은 Job의 판정은 노드 간에도 직렬.
+     * 같은 슬롯의 JobRun(재처리)은 진행 중 수에서 제외
+     * @return 이번 슬롯의 JobRun을 만들어도 되는지 (SKIP은 커서를 넘기고, QUEUE는 queueRecheck 뒤 같은 슬롯 재시도)
+     */
+    private boolean admit(Job job, String runKey) throws Exception {
+        if (job.overlapPolicy() == Job.OverlapPolicy.ALLOW) return true;
+        List<JobRun> active = jobRuns.findActive(job.id(), runKey);
+        int excess = active.size() - job.maxConcurrentRuns() + 1;
+        if (excess <= 0) return true;
+        switch (job.overlapPolicy()) {
+            case SKIP -> {
+                advance(job);
+                log.info("Job {} slot {} skipped: {} run(s) still active", job.id(), runKey, active.size());
+                return false;
+            }
+            case QUEUE -> {
+                jobs.deferClaim(job.id(), queueRecheck); // lease 만료까지 쥐고 있지 않음
+                log.debug("Job {} slot {} queued behind {} active run(s)", job.id(), runKey, active.size());
+                return false;
+            }
+            default -> {
+                for (JobRun prev : active.subList(0, excess)) jobRuns.cancel(prev.id());
+                log.info("Job {} slot {} cancelled {} previous run(s)", job.id(), runKey, excess);
+                return true;
+            }
+        }
+    }
+
+    /** 커서 전진(nextDueAt) + lease 해제 */
+    private void advance(Job job) throws Exception {
+        Instant next = cron.next(job.nextDueAt(), job.cronExpr(), ZoneId.systemDefault());
+        jobs.advanceCursor(job.id(), next);
+    }
+
     private String computeRunKey(Instant now, Job job) {
-        // 팀 규칙에 맞는 포맷으로. 예: cron 슬롯 시작시각을 키로.
-        return now.toString(); // 예시. 실제로는 Truncated/rounded 시각 or 슬롯 키 계산.
+        // cron 슬롯 시작시각(NEXT_DUE_AT)을 키로: 재선점/재시도에도 같은 키
+        return job.nextDueAt() != null ? job.nextDueAt().toString() : now.toString();
     }
 }
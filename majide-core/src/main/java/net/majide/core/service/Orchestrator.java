@@ -1,21 +1,81 @@
 package net.majide.core.service;
 
+import net.majide.core.model.TaskRun;
+import net.majide.core.runtime.PrefetchBuffer;
+import net.majide.core.runtime.TaskExecutionRuntime;
+
 import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 
 public final class Orchestrator {
     private final JobTickService jobTick;
     private final TaskDispatchService taskDispatch;
+    private final TaskExecutionRuntime runtime; // null = 실행은 외부 어댑터 몫
+    private final PrefetchBuffer prefetch;      // null = 여유 슬롯만큼 선점해 바로 실행
+
+    /** 틱 결과: 선점한 Job/TaskRun 수와 이번 틱의 태스크 선점 한도 */
+    public record TickResult(int jobsClaimed, int tasksClaimed, int taskCapacity) {
+        /** 선점 한도를 꽉 채움 → 더 남아 있을 수 있음 */
+        public boolean saturated() {
+            return taskCapacity > 0 && tasksClaimed >= taskCapacity;
+        }
+
+        public boolean progressed() {
+            return jobsClaimed > 0 || tasksClaimed > 0;
+        }
+    }
 
     public Orchestrator(JobTickService jobTick, TaskDispatchService taskDispatch) {
+        this(jobTick, taskDispatch, null);
+    }
+
+    public Orchestrator(JobTickService jobTick, TaskDispatchService taskDispatch, TaskExecutionRuntime runtime) {
+        this(jobTick, taskDispatch, runtime, null);
+    }
+
+    /** prefetch: 선점분을 로컬 버퍼에 채우고 버퍼 워커가 실행 (runtime 필요) */
+    public Orchestrator(JobTickService jobTick, TaskDispatchService taskDispatch, TaskExecutionRuntime runtime,
+                        PrefetchBuffer prefetch) {
+        if (prefetch != null && runtime == null) throw new IllegalArgumentException("prefetch requires a runtime");
         this.jobTick = jobTick;
         this.taskDispatch = taskDispatch;
+        this.runtime = runtime;
+        this.prefetch = prefetch;
+    }
+
+
+    /** 이 노드가 선점하는 handlerKey (null = 필터 없음, 실행을 외부 어댑터가 맡을 때) */
+    public Set<String> handlerKeys() {
+        return runtime == null ? null : runtime.handlerKeys();
     }
 
+    /** CLASS_FQN/METHOD_NAME 바인딩 태스크도 선점하는지 */
+    public boolean resolvesMethods() {
+        return runtime != null && runtime.resolvesMethods();
+    }
 
     // TODO Job Run Status 변화. Fetch Ready Job Run. Fetch Readt Task Run... ...
-    /** 한 번의 틱: (1) Job 커서 전진/JobRun 준비 (2) 태스크 디스패치  */
-    public void tick(Duration jobLease, Duration taskLease, int maxTaskClaimsPerTick) throws Exception {
-        jobTick.tickOnce(jobLease);
-        taskDispatch.claimAndStartUpTo(maxTaskClaimsPerTick, taskLease);
+    /** 한 번의 틱: (1) Job 커서 전진/JobRun 준비 (드레인 설정 시 due 전체) (2) 태스크 디스패치  */
+    public TickResult tick(Duration jobLease, Duration taskLease, int maxTaskClaimsPerTick) throws Exception {
+        int jobs = jobTick.tick(jobLease);
+        if (runtime == null) {
+            int started = taskDispatch.claimAndStartUpTo(maxTaskClaimsPerTick, taskLease);
+            return new TickResult(jobs, started, maxTaskClaimsPerTick);
+        }
+        if (prefetch != null) {
+            // 버퍼 빈자리만큼, 벌크헤드 자리(버퍼 대기분 예약 포함)가 있는 핸들러만 선점해 채움 → 버퍼 워커가 런타임으로 넘겨 실행
+            int capacity = Math.min(maxTaskClaimsPerTick, prefetch.freeCapacity());
+            List<TaskRun> claimed = taskDispatch.claimUpTo(capacity, taskLease, runtime.handlerKeys(), runtime.resolvesMethods(),
+                    runtime.handlerCaps());
+            prefetch.offer(claimed, taskLease);
+            return new TickResult(jobs, claimed.size(), capacity);
+        }
+        // 런타임 여유 슬롯만큼, 이 노드에 핸들러가 있고 그 핸들러 벌크헤드에 자리가 있는 태스크만 선점해 바로 실행
+        int capacity = Math.min(maxTaskClaimsPerTick, runtime.availableSlots());
+        List<TaskRun> claimed = taskDispatch.claimUpTo(capacity, taskLease, runtime.handlerKeys(), runtime.resolvesMethods(),
+                runtime.handlerCaps());
+        runtime.submitAll(claimed);
+        return new TickResult(jobs, claimed.size(), capacity);
     }
 }
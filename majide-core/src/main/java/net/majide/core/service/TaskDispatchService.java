@@ -1,50 +1,221 @@
 package net.majide.core.service;
 
+import net.majide.core.identity.ops.WorkerSlotLease;
 import net.majide.core.model.TaskRun;
+import net.majide.core.spi.ClaimSpec;
 import net.majide.core.spi.TaskRunRepository;
 import net.majide.core.spi.TxRunner;
+import net.majide.core.spi.WakeupBus;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 public final class TaskDispatchService {
+
+    /**
+     * 선점/완료 옵션 (ClaimSpec처럼 DEFAULT에서 with*로 조립).
+     * - graph: TaskRun 생성 모드(EAGER/LAZY)에 맞춰 완료 처리 (null = EAGER 전파(markDoneAndCascade))
+     * - wakeups: 완료(후행 READY 또는 실행 슬롯 반납)를 커밋 후 알림
+     * - slot: 선점에 이 노드의 워커 슬롯을 실음 (null = 슬롯 없이 선점)
+     * - partitioned: 슬롯 파티션 우선 선점 (SKIP LOCKED 경합 분산)
+     * - leaseModel: SLOT이면 선점분이 슬롯 lease를 상속 → 태스크별 heartbeat 불필요 (슬롯 heartbeat가 대신함)
+     * - fairShare: 같은 우선순위 안에서 배치를 JobRun/공유 그룹별 가중치만큼 나눠 선점 (큰 JobRun의 독점 방지)
+     * - resourcePools: RESOURCE_POOL이 지정된 태스크는 그 풀의 빈 퍼밋이 있을 때만 선점 (클러스터 전역 동시 실행 상한)
+     * - rateLimiter: handlerKey별 초당 토큰만큼만 선점 (토큰이 없으면 실패/재시도 대신 READY로 대기, null = 한도 없음)
+     */
+    public record Settings(
+            TaskGraphService graph,
+            WakeupBus wakeups,
+            WorkerSlotLease slot,
+            boolean partitioned,
+            ClaimSpec.LeaseModel leaseModel,
+            ClaimSpec.FairShare fairShare,
+            boolean resourcePools,
+            HandlerRateLimiter rateLimiter
+    ) {
+        public static final Settings DEFAULT = new Settings(null, WakeupBus.NOOP, null, false,
+                ClaimSpec.LeaseModel.TASK, ClaimSpec.FairShare.NONE, false, null);
+
+        public Settings withGraph(TaskGraphService graph) {
+            return new Settings(graph, wakeups, slot, partitioned, leaseModel, fairShare, resourcePools, rateLimiter);
+        }
+
+        public Settings withWakeups(WakeupBus wakeups) {
+            return new Settings(graph, wakeups, slot, partitioned, leaseModel, fairShare, resourcePools, rateLimiter);
+        }
+
+        public Settings withSlot(WorkerSlotLease slot) {
+            return new Settings(graph, wakeups, slot, partitioned, leaseModel, fairShare, resourcePools, rateLimiter);
+        }
+
+        public Settings withPartitioned(boolean partitioned) {
+            return new Settings(graph, wakeups, slot, partitioned, leaseModel, fairShare, resourcePools, rateLimiter);
+        }
+
+        public Settings withLeaseModel(ClaimSpec.LeaseModel leaseModel) {
+            return new Settings(graph, wakeups, slot, partitioned, leaseModel, fairShare, resourcePools, rateLimiter);
+        }
+
+        public Settings withFairShare(ClaimSpec.FairShare fairShare) {
+            return new Settings(graph, wakeups, slot, partitioned, leaseModel, fairShare, resourcePools, rateLimiter);
+        }
+
+        public Settings withResourcePools(boolean resourcePools) {
+            return new Settings(graph, wakeups, slot, partitioned, leaseModel, fairShare, resourcePools, rateLimiter);
+        }
+
+        public Settings withRateLimiter(HandlerRateLimiter rateLimiter) {
+            return new Settings(graph, wakeups, slot, partitioned, leaseModel, fairShare, resourcePools, rateLimiter);
+        }
+    }
+
     private final TaskRunRepository taskRuns;
     private final TxRunner tx;
     private final RetryPolicy retry;
+    private final TaskGraphService graph; // null = EAGER 전파(markDoneAndCascade)
+    private final WakeupBus wakeups;
+    private final WorkerSlotLease slot;   // null = 슬롯 없이 선점
+    private final boolean partitioned;    // 슬롯 몫 파티션 우선 선점
+    private final ClaimSpec.LeaseModel leaseModel;
+    private final ClaimSpec.FairShare fairShare;
+    private final boolean resourcePools;  // 리소스 풀 퍼밋과 함께 선점
+    private final HandlerRateLimiter rateLimiter; // null = 초당 한도 없음
+    private final String token;           // 선점 소유권 (CLAIMED_BY): 슬롯 토큰, 없으면 인스턴스마다 고유
 
     public TaskDispatchService(TaskRunRepository taskRuns, TxRunner tx, RetryPolicy retry) {
+        this(taskRuns, tx, retry, Settings.DEFAULT);
+    }
+
+    public TaskDispatchService(TaskRunRepository taskRuns, TxRunner tx, RetryPolicy retry, Settings settings) {
         this.taskRuns = taskRuns; this.tx = tx; this.retry = retry;
+        this.graph = settings.graph();
+        this.wakeups = settings.wakeups() == null ? WakeupBus.NOOP : settings.wakeups();
+        this.slot = settings.slot();
+        this.partitioned = settings.partitioned();
+        this.leaseModel = settings.leaseModel();
+        this.fairShare = settings.fairShare();
+        this.resourcePools = settings.resourcePools();
+        this.rateLimiter = settings.rateLimiter();
+        this.token = slot != null ? slot.token() : "worker-" + UUID.randomUUID();
+    }
+
+    /** 이 디스패처가 선점에 쓰는 워커 토큰 (완료/재시도는 같은 토큰으로 선점한 행만) */
+    public String token() {
+        return token;
     }
 
     /** READY를 최대 N개까지 클레임하여 RUNNING으로 전환 (워크 플로우 시작) */
     public int claimAndStartUpTo(int maxCount, Duration lease) throws Exception {
-        int claimed = 0;
-        for (; claimed < maxCount; claimed++) {
-            var picked = tx.requiresNew(() -> taskRuns.claimReady(lease, "worker")); // worker 토큰은 바깥에서 주입해도 됨
-            if (picked.isEmpty()) break;
+        // 여기서 실제 실행 트리거(큐에 enqueue 등)는 외부 어댑터에서 처리.
+        // 코어는 상태 전이만 책임.
+        return claimUpTo(maxCount, lease, null).size();
+    }
+
+    /**
+     * READY를 최대 N개까지 한 트랜잭션 / 한 번의 배치로 선점해 반환.
+     * handlerKeys가 주어지면 해당 핸들러의 태스크만 선점 (null = 전체)
+     */
+    public List<TaskRun> claimUpTo(int maxCount, Duration lease, Set<String> handlerKeys) throws Exception {
+        return claimUpTo(maxCount, lease, handlerKeys, false);
+    }
+
+    /** methodBound = CLASS_FQN/METHOD_NAME으로 바인딩되는 태스크도 함께 선점 */
+    public List<TaskRun> claimUpTo(int maxCount, Duration lease, Set<String> handlerKeys, boolean methodBound) throws Exception {
+        return claimUpTo(maxCount, lease, handlerKeys, methodBound, null);
+    }
+
+    /** handlerCaps: handlerKey별 이번 선점 상한 (노드 벌크헤드의 남은 자리) → 꽉 찬 핸들러의 태스크는 선점하지 않음 */
+    public List<TaskRun> claimUpTo(int maxCount, Duration lease, Set<String> handlerKeys, boolean methodBound,
+                                   Map<String, Integer> handlerCaps) throws Exception {
+        if (maxCount <= 0) return List.of();
+        if (rateLimiter == null) {
+            var spec = claimSpec(maxCount, lease, handlerKeys, methodBound).withHandlerCaps(handlerCaps);
+            return tx.requiresNew(() -> taskRuns.claimReadyBatch(spec));
+        }
+        // 토큰 예약분을 핸들러 한도로 (벌크헤드 한도보다 작거나 같음), 못 쓴 토큰은 로컬로 되돌림
+        Map<String, Integer> reserved = rateLimiter.reserve(maxCount, handlerKeys, handlerCaps);
+        Map<String, Integer> caps = new HashMap<>();
+        if (handlerCaps != null) caps.putAll(handlerCaps);
+        caps.putAll(reserved);
+        var spec = claimSpec(maxCount, lease, handlerKeys, methodBound).withHandlerCaps(caps);
+        List<TaskRun> claimed = List.of();
+        try {
+            claimed = tx.requiresNew(() -> taskRuns.claimReadyBatch(spec));
+            return claimed;
+        } finally {
+            rateLimiter.settle(reserved, claimed);
+        }
+    }
 
-            TaskRun tr = picked.get();
-            // 여기서 실제 실행 트리거(큐에 enqueue 등)는 외부 어댑터에서 처리.
-            // 코어는 상태 전이만 책임.
+    private ClaimSpec claimSpec(int maxCount, Duration lease, Set<String> handlerKeys, boolean methodBound) {
+        // 슬롯이 있으면 슬롯 토큰/id로 선점 (TB_TASK_RUN.WORKER_ID 기록 → 슬롯 회수 시 바로 재노출)
+        if (slot == null) {
+            return ClaimSpec.of(maxCount, lease, token).withHandlerKeys(handlerKeys).withMethodBound(methodBound)
+                    .withFairShare(fairShare).withResourcePools(resourcePools);
         }
-        return claimed;
+        return ClaimSpec.of(maxCount, lease, token).withHandlerKeys(handlerKeys).withMethodBound(methodBound)
+                .withWorkerId(slot.workerId()).withPartitioned(partitioned).withLeaseModel(leaseModel)
+                .withFairShare(fairShare).withResourcePools(resourcePools);
     }
 
-    /** 하트비트 (실행 중인 태스크의 lease 연장) */
+    /** 실행하지 않은 선점분 반납 → READY (다른 노드/다음 틱이 바로 가져갈 수 있도록 알림) */
+    public int release(List<TaskRun> claimed) throws Exception {
+        if (claimed.isEmpty()) return 0;
+        int released = tx.requiresNew(() -> taskRuns.releaseClaims(claimed, token));
+        if (released > 0) wakeups.publish();
+        return released;
+    }
+
+    /** 하트비트 (실행 중인 태스크의 lease 연장, 슬롯 lease를 상속한 태스크는 DB에서 무시됨) */
     public void heartbeat(long taskRunId, Duration lease) throws Exception {
         tx.required(() -> { taskRuns.heartbeat(taskRunId, lease); return null; });
     }
 
-    /** 성공 완료 */
-    public void markDone(long taskRunId) throws Exception {
-        tx.required(() -> { taskRuns.markDone(taskRunId); return null; });
+    /** 선점 결과 기준 하트비트: 슬롯 lease를 상속했으면(leaseUntil = null) DB 쓰기 없이 끝 */
+    public void heartbeat(TaskRun claimed, Duration lease) throws Exception {
+        if (claimed.leaseUntil() == null) return;
+        heartbeat(claimed.id(), lease);
+    }
+
+    /**
+     * 성공 완료 + 후행 전파(같은 트랜잭션): 후행 DONE_CNT++, 충족 시 READY 승격 (LAZY면 후행 행 생성).
+     * Maintenance의 promoteUnblockedToReady는 누락 보정용으로만 남음.
+     * 이 디스패처가 선점한 그대로일 때만 완료 (그새 만기 복구/재선점/취소되었으면 아무것도 바꾸지 않음)
+     * @return DONE_CNT를 올린 후행 수 (소유권을 잃었으면 TaskRunRepository.LOST_CLAIM)
+     */
+    public int markDone(TaskRun claimed) throws Exception {
+        long attempt = attemptOf(claimed);
+        int touched = graph != null
+                ? graph.onTaskDone(claimed.id(), token, attempt)
+                : tx.required(() -> taskRuns.markDoneAndCascade(claimed.id(), token, attempt));
+        // 후행이 없어도 이 노드의 실행 슬롯이 비었음 (후행이 있으면 graph가 이미 알림)
+        if (graph == null || touched <= 0) wakeups.publish();
+        return touched;
+    }
+
+    /**
+     * 실패 → 백오프로 READY 재전환 (선점 소유권 조건은 markDone과 같음).
+     * 이 노드의 실행 슬롯이 비었으므로 완료와 같이 알림 (재시도 시각은 대기 계산이 다시 봄)
+     * @return 되돌렸으면 true (소유권을 잃었으면 false)
+     */
+    public boolean failAndRetry(TaskRun claimed, String error) throws Exception {
+        long attempt = attemptOf(claimed);
+        boolean retried = tx.required(() ->
+                taskRuns.retryWithBackoff(claimed.id(), token, attempt, retry.nextBackoff(attempt), error));
+        wakeups.publish();
+        return retried;
+    }
+
+    /** 커밋된 상태 전이 없이 이 노드에 선점 여유가 생김 (로컬 버퍼에서 꺼냄 등) → 디스패치 루프를 깨움 */
+    public void publishCapacity() {
+        wakeups.publish();
     }
 
-    /** 실패 → 백오프로 READY 재전환 */
-    public void failAndRetry(long taskRunId, long attempt, String error) throws Exception {
-        tx.required(() -> {
-            var backoff = retry.nextBackoff(attempt);
-            taskRuns.retryWithBackoff(taskRunId, backoff, error);
-            return null;
-        });
+    private static long attemptOf(TaskRun claimed) {
+        return claimed.attempt() == null ? 1 : claimed.attempt();
     }
 }
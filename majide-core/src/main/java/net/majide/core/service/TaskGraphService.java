@@ -1,52 +1,107 @@
 package net.majide.core.service;
 
-import net.majide.core.model.Task;
-import net.majide.core.model.TaskRun;
 import net.majide.core.spi.*;
 
-import java.util.List;
+import java.util.Map;
 
 public final class TaskGraphService {
-    private final TaskRepository tasks;
-    private final TaskDependencyRepository deps;
+    /** TaskRun 생성 시점 */
+    public enum Materialization {
+        /** 준비 시 전체 태스크 행 생성(BLOCKED/READY), 완료 시 DONE_CNT 전파 */
+        EAGER,
+        /** 준비 시 루트만 생성, 후행은 선행이 모두 DONE이 되는 순간 READY로 생성 */
+        LAZY
+    }
+
+    /**
+     * 그래프 옵션 (DEFAULT에서 with*로 조립).
+     * - materialization: TaskRun 생성 시점 (EAGER = 준비 시 전체, LAZY = 루트만)
+     * - wakeups: 후행이 READY가 되면 커밋 후 알림
+     */
+    public record Settings(Materialization materialization, WakeupBus wakeups) {
+        public static final Settings DEFAULT = new Settings(Materialization.EAGER, WakeupBus.NOOP);
+
+        public Settings withMaterialization(Materialization materialization) {
+            return new Settings(materialization, wakeups);
+        }
+
+        public Settings withWakeups(WakeupBus wakeups) {
+            return new Settings(materialization, wakeups);
+        }
+    }
+
     private final TaskRunRepository taskRuns;
     private final TxRunner tx;
-    private final Clock clock;
+    private final Materialization materialization;
+    private final WakeupBus wakeups;
 
+    /** 기존 호출 호환 — 준비/전파가 집합 SQL(TaskRunRepository)로 옮겨가 tasks/deps/clock은 쓰지 않음 */
     public TaskGraphService(TaskRepository tasks,
                             TaskDependencyRepository deps,
                             TaskRunRepository taskRuns,
                             TxRunner tx,
                             Clock clock) {
-        this.tasks = tasks;
-        this.deps = deps;
+        this(taskRuns, tx, Settings.DEFAULT);
+    }
+
+    public TaskGraphService(TaskRunRepository taskRuns, TxRunner tx) {
+        this(taskRuns, tx, Settings.DEFAULT);
+    }
+
+    public TaskGraphService(TaskRunRepository taskRuns, TxRunner tx, Settings settings) {
         this.taskRuns = taskRuns;
         this.tx = tx;
-        this.clock = clock;
+        this.materialization = settings.materialization();
+        this.wakeups = settings.wakeups() == null ? WakeupBus.NOOP : settings.wakeups();
+    }
+
+    public Materialization materialization() {
+        return materialization;
     }
 
-    /** 새 JobRun에 대해 TaskRun들을 생성/초기화: 선행 있으면 BLOCKED, 없으면 READY */
+    /**
+     * 새 JobRun에 대해 TaskRun들을 생성/초기화: 선행 있으면 BLOCKED, 없으면 READY.
+     * 태스크 수와 무관하게 집합 단위 한 번 (태스크당 MERGE 반복 없음). LAZY면 루트만
+     */
     public void prepareFor(long jobId, long jobRunId) throws Exception {
+        tx.required(() -> materialization == Materialization.LAZY
+                ? taskRuns.createRootsForJobRun(jobRunId, jobId)
+                : taskRuns.createAllForJobRun(jobRunId, jobId));
+    }
+
+    /**
+     * prepareFor + 이번 JobRun에서만 쓸 순서 키를 같은 트랜잭션에서 지정 (taskId → key, 없는 태스크는 Task.orderingKey 그대로).
+     * 예: 같은 고객 파티션을 처리하는 JobRun끼리만 직렬화. LAZY면 지금 생성되는 루트에만 적용 (후행은 생성 후 assignOrderingKeys)
+     */
+    public void prepareFor(long jobId, long jobRunId, Map<Long, String> orderingKeys) throws Exception {
         tx.required(() -> {
-            List<Task> taskList = tasks.findAllByJob(jobId);
-            for (Task t : taskList) {
-                int pre = t.indegree() == null ? 0 : t.indegree();
-                // (여기선 단순화: TaskRun upsert는 TaskRunRepository 내부 정책으로 처리 가능하다고 가정)
-                if (pre > 0) {
-                    // BLOCKED, preCnt = pre, doneCnt=0
-                    // AVAILABLE_AT null
-                    taskRuns.createOrReset(jobRunId, t.id(), pre, TaskRun.Status.BLOCKED, null);
-                } else {
-                    // READY, available_at = now
-                    taskRuns.createOrReset(jobRunId, t.id(), pre, TaskRun.Status.READY, clock.now());
-                }
-            }
-            return null;
+            if (materialization == Materialization.LAZY) taskRuns.createRootsForJobRun(jobRunId, jobId);
+            else taskRuns.createAllForJobRun(jobRunId, jobId);
+            return taskRuns.assignOrderingKeys(jobRunId, orderingKeys);
         });
     }
 
+    /** 선점 전 TaskRun의 순서 키 변경 (호출자 지정, taskId → key) @return 바뀐 행 수 */
+    public int assignOrderingKeys(long jobRunId, Map<Long, String> orderingKeys) throws Exception {
+        return tx.required(() -> taskRuns.assignOrderingKeys(jobRunId, orderingKeys));
+    }
+
+    /**
+     * 태스크 완료 + 후행 반영 (모드별): EAGER는 DONE_CNT 전파, LAZY는 충족된 후행 행 생성.
+     * LAZY → EAGER 전환 시에는 진행 중인 LAZY JobRun이 끝난 뒤 바꿀 것 (EAGER 완료는 행을 만들지 않음)
+     * @return 전파/생성된 후행 수 (선점 소유권을 잃었으면 TaskRunRepository.LOST_CLAIM)
+     */
+    public int onTaskDone(long taskRunId, String workerToken, long attempt) throws Exception {
+        int touched = tx.required(() -> materialization == Materialization.LAZY
+                ? taskRuns.markDoneAndMaterialize(taskRunId, workerToken, attempt)
+                : taskRuns.markDoneAndCascade(taskRunId, workerToken, attempt));
+        if (touched > 0) wakeups.publish();
+        return touched;
+    }
+
     /** 선행 완료 반영: doneCnt 증가, preCnt 도달 시 READY 승격(available_at=now) */
     public void onPredecessorDone(long taskRunId) throws Exception {
         tx.required(() -> { taskRuns.incrementDoneCount(taskRunId); return null; });
+        wakeups.publish();
     }
 }
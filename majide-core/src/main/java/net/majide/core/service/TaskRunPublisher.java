@@ -0,0 +1,194 @@
+package net.majide.core.service;
+
+import net.majide.core.model.TaskRun;
+import net.majide.core.spi.WakeupBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 수요 기반 디스패치: 구독자가 request(n)한 만큼만 READY를 선점해 onNext로 넘긴다.
+ * - 구독마다 전용 가상 스레드 1개가 선점/전달 (신호는 직렬)
+ * - 선점 크기 = min(남은 수요, maxBatch) → 소비 여력 이상으로 lease를 쥐지 않음
+ * - 선점할 것이 없으면 pollInterval(또는 WakeupBus 알림)까지 대기, 선점 실패는 로그 후 재시도
+ * - cancel 시 선점했지만 넘기지 못한 TaskRun은 즉시 반납
+ * 넘겨받은 TaskRun의 완료/실패 처리(markDone/failAndRetry)는 구독자 몫
+ */
+public final class TaskRunPublisher implements Flow.Publisher<TaskRun>, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TaskRunPublisher.class);
+
+    private final TaskDispatchService dispatch;
+    private final Duration lease;
+    private final Set<String> handlerKeys; // null = 전체
+    private final boolean methodBound;
+    private final int maxBatch;
+    private final Duration pollInterval;
+    private final WakeupBus wakeups;
+    private final List<DemandSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public TaskRunPublisher(TaskDispatchService dispatch, Duration lease, Set<String> handlerKeys, int maxBatch) {
+        this(dispatch, lease, handlerKeys, false, maxBatch, Duration.ofSeconds(1), WakeupBus.NOOP);
+    }
+
+    public TaskRunPublisher(TaskDispatchService dispatch, Duration lease, Set<String> handlerKeys, boolean methodBound,
+                            int maxBatch, Duration pollInterval, WakeupBus wakeups) {
+        if (maxBatch <= 0) throw new IllegalArgumentException("maxBatch must be positive");
+        this.dispatch = dispatch;
+        this.lease = lease;
+        this.handlerKeys = handlerKeys;
+        this.methodBound = methodBound;
+        this.maxBatch = maxBatch;
+        this.pollInterval = pollInterval;
+        this.wakeups = wakeups;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super TaskRun> subscriber) {
+        var s = new DemandSubscription(subscriber);
+        subscriptions.add(s);
+        s.start();
+    }
+
+    /** 모든 구독 종료 (onComplete) */
+    @Override
+    public void close() {
+        for (DemandSubscription s : subscriptions) s.complete();
+    }
+
+    private final class DemandSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super TaskRun> subscriber;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition signal = lock.newCondition();
+        private long demand;          // lock 보호
+        private boolean woken;        // lock 보호
+        private volatile boolean done;
+        private volatile boolean completeRequested;
+        private volatile Throwable invalidRequest;
+        private WakeupBus.Subscription wakeup;
+
+        DemandSubscription(Flow.Subscriber<? super TaskRun> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void start() {
+            Thread.ofVirtual().name("majide-publisher").start(this::pump);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // §3.9: onError는 pump 스레드에서 (신호 직렬화)
+                invalidRequest = new IllegalArgumentException("request must be positive: " + n);
+                nudge();
+                return;
+            }
+            lock.lock();
+            try {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                signal.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            nudge();
+        }
+
+        void complete() {
+            completeRequested = true;
+            nudge();
+        }
+
+        private void nudge() {
+            lock.lock();
+            try {
+                woken = true;
+                signal.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void pump() {
+            wakeup = wakeups.subscribe(this::nudge);
+            try {
+                subscriber.onSubscribe(this);
+                while (!done && !completeRequested && invalidRequest == null) {
+                    long want = awaitDemand();
+                    if (want == 0) continue;
+                    List<TaskRun> claimed;
+                    try {
+                        claimed = dispatch.claimUpTo((int) Math.min(want, maxBatch), lease, handlerKeys, methodBound);
+                    } catch (Exception e) {
+                        log.warn("claim for subscriber failed; retrying", e);
+                        awaitWake(pollInterval);
+                        continue;
+                    }
+                    if (claimed.isEmpty()) {
+                        awaitWake(pollInterval);
+                        continue;
+                    }
+                    deliver(claimed);
+                }
+                if (invalidRequest != null && !done) subscriber.onError(invalidRequest);
+                else if (completeRequested && !done) subscriber.onComplete();
+            } catch (Throwable t) {
+                if (!done) subscriber.onError(t);
+            } finally {
+                done = true;
+                wakeup.close();
+                subscriptions.remove(this);
+            }
+        }
+
+        private void deliver(List<TaskRun> claimed) throws Exception {
+            for (int i = 0; i < claimed.size(); i++) {
+                if (done) {
+                    // 취소됨: 넘기지 못한 선점분 반납
+                    dispatch.release(new ArrayList<>(claimed.subList(i, claimed.size())));
+                    return;
+                }
+                lock.lock();
+                try {
+                    if (demand != Long.MAX_VALUE) demand--;
+                } finally {
+                    lock.unlock();
+                }
+                subscriber.onNext(claimed.get(i));
+            }
+        }
+
+        /** 수요가 생길 때까지 대기 → 남은 수요 (취소/종료면 0) */
+        private long awaitDemand() throws InterruptedException {
+            lock.lock();
+            try {
+                while (demand == 0 && !done && !completeRequested && invalidRequest == null) signal.await();
+                return done || completeRequested || invalidRequest != null ? 0 : demand;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void awaitWake(Duration wait) throws InterruptedException {
+            lock.lock();
+            try {
+                long nanos = wait.toNanos();
+                while (!woken && !done && !completeRequested && nanos > 0) nanos = signal.awaitNanos(nanos);
+                woken = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
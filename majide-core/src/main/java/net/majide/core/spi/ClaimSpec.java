@@ -0,0 +1,117 @@
+package net.majide.core.spi;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TaskRun 배치 선점 조건.
+ * - maxCount: 최대 선점 개수
+ * - handlerKeys: null이면 전체, 아니면 해당 HANDLER_KEY의 태스크만 선점
+ * - methodBound: handlerKeys 필터와 함께 CLASS_FQN이 지정된 태스크도 선점 (리플렉티브 바인딩)
+ * - workerId: 선점하는 워커 슬롯 (null = 슬롯 없음)
+ * - partitioned: 슬롯 몫의 파티션을 먼저 선점하고, 비었을 때만 다른 파티션에서 가져옴 (workerId 필요)
+ * - leaseModel: SLOT이면 TaskRun 자체 lease 없이 슬롯 lease를 상속 (workerId 필요, 없으면 TASK로 동작)
+ * - fairShare: 같은 PRIORITY 안에서 FIFO 대신 JobRun/공유 그룹별 가중 라운드로빈으로 나눠 선점
+ * - handlerCaps: HANDLER_KEY → 이번 선점에서 받을 수 있는 최대 수 (노드 벌크헤드의 남은 자리, 없는 키는 maxCount까지)
+ * - resourcePools: TB_TASK.RESOURCE_POOL이 지정된 태스크는 그 풀의 퍼밋을 함께 임차해야 선점 (퍼밋 없으면 READY 유지)
+ */
+public record ClaimSpec(
+        int maxCount,
+        Duration lease,
+        String workerToken,
+        Set<String> handlerKeys,
+        boolean methodBound,
+        Integer workerId,
+        boolean partitioned,
+        LeaseModel leaseModel,
+        FairShare fairShare,
+        Map<String, Integer> handlerCaps,
+        boolean resourcePools
+) {
+    /** RUNNING TaskRun의 생존 판정 기준 */
+    public enum LeaseModel {
+        /** TaskRun.LEASE_UNTIL (태스크마다 heartbeat) */
+        TASK,
+        /** 선점한 워커 슬롯의 LEASE_UNTIL (LEASE_UNTIL = NULL, 노드당 슬롯 heartbeat 한 번) */
+        SLOT
+    }
+
+    /**
+     * 배치 안에서 READY를 나누는 기준 (같은 PRIORITY 레인 안에서만, 레인 간에는 항상 PRIORITY 우선).
+     * 그룹마다 k번째 후보의 순번 = k / 가중치(TB_JOB.SHARE_WEIGHT) → 순번 작은 것부터 = 가중 라운드로빈
+     */
+    public enum FairShare {
+        /** 전역 FIFO (AVAILABLE_AT, ID) */
+        NONE,
+        /** JobRun마다 한 몫 */
+        JOB_RUN,
+        /** TB_JOB.SHARE_GROUP(테넌트/네임스페이스, 없으면 Job 이름)마다 한 몫, 그룹 가중치 = 소속 Job 중 최대값 */
+        GROUP
+    }
+
+    public ClaimSpec(int maxCount, Duration lease, String workerToken, Set<String> handlerKeys, boolean methodBound) {
+        this(maxCount, lease, workerToken, handlerKeys, methodBound, null, false, LeaseModel.TASK, FairShare.NONE, null, false);
+    }
+
+    public static ClaimSpec of(int maxCount, Duration lease, String workerToken) {
+        return new ClaimSpec(maxCount, lease, workerToken, null, false);
+    }
+
+    public ClaimSpec withHandlerKeys(Set<String> keys) {
+        return new ClaimSpec(maxCount, lease, workerToken, keys == null ? null : Set.copyOf(keys), methodBound, workerId, partitioned, leaseModel, fairShare, handlerCaps, resourcePools);
+    }
+
+    public ClaimSpec withMethodBound(boolean methodBound) {
+        return new ClaimSpec(maxCount, lease, workerToken, handlerKeys, methodBound, workerId, partitioned, leaseModel, fairShare, handlerCaps, resourcePools);
+    }
+
+    public ClaimSpec withWorkerId(Integer workerId) {
+        return new ClaimSpec(maxCount, lease, workerToken, handlerKeys, methodBound, workerId, partitioned, leaseModel, fairShare, handlerCaps, resourcePools);
+    }
+
+    public ClaimSpec withPartitioned(boolean partitioned) {
+        return new ClaimSpec(maxCount, lease, workerToken, handlerKeys, methodBound, workerId, partitioned, leaseModel, fairShare, handlerCaps, resourcePools);
+    }
+
+    public ClaimSpec withLeaseModel(LeaseModel leaseModel) {
+        return new ClaimSpec(maxCount, lease, workerToken, handlerKeys, methodBound, workerId, partitioned, leaseModel, fairShare, handlerCaps, resourcePools);
+    }
+
+    public ClaimSpec withFairShare(FairShare fairShare) {
+        return new ClaimSpec(maxCount, lease, workerToken, handlerKeys, methodBound, workerId, partitioned, leaseModel, fairShare, handlerCaps, resourcePools);
+    }
+
+    public ClaimSpec withHandlerCaps(Map<String, Integer> caps) {
+        return new ClaimSpec(maxCount, lease, workerToken, handlerKeys, methodBound, workerId, partitioned, leaseModel, fairShare,
+                caps == null || caps.isEmpty() ? null : Map.copyOf(caps), resourcePools);
+    }
+
+    public ClaimSpec withResourcePools(boolean resourcePools) {
+        return new ClaimSpec(maxCount, lease, workerToken, handlerKeys, methodBound, workerId, partitioned, leaseModel, fairShare, handlerCaps, resourcePools);
+    }
+
+    public boolean filtersHandlers() {
+        return handlerKeys != null;
+    }
+
+    /** 슬롯 lease 상속 적용 여부 */
+    public boolean inheritsSlotLease() {
+        return leaseModel == LeaseModel.SLOT && workerId != null;
+    }
+
+    /** 핸들러별 한도 적용 여부 */
+    public boolean capsHandlers() {
+        return handlerCaps != null && !handlerCaps.isEmpty();
+    }
+
+    /** 공정 분배 선점 적용 여부 */
+    public boolean fairShared() {
+        return fairShare != null && fairShare != FairShare.NONE;
+    }
+
+    /** 파티션 선점 적용 여부 */
+    public boolean partitionedBySlot() {
+        return partitioned && workerId != null;
+    }
+}
@@ -4,20 +4,71 @@ import net.majide.core.model.Job;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public interface JobRepository {
     Optional<Job> claimDueJob(Duration lease, String owner) throws Exception;  // FOR UPDATE SKIP LOCKED
+
+    /**
+     * due Job을 최대 limit개 선점(LEASE_UNTIL 설정). 커밋 후에는 lease가 다른 노드의 중복 선점을 막음.
+     * 기본 구현은 claimDueJob 반복 — 어댑터에서 집합 기반으로 재정의 권장.
+     */
+    default List<Job> claimDueJobs(int limit, Duration lease, String owner) throws Exception {
+        List<Job> out = new ArrayList<>(Math.max(limit, 0));
+        for (int i = 0; i < limit; i++) {
+            var picked = claimDueJob(lease, owner);
+            if (picked.isEmpty()) break;
+            out.add(picked.get());
+        }
+        return out;
+    }
     void advanceCursor(long jobId, Instant nextDueAt) throws Exception;        // 커서 전진 + lease 해제
+
+    /** 커서는 그대로 두고 lease만 지금 + recheck로 줄임 → recheck 뒤 같은 슬롯을 다시 선점 (겹침 정책 QUEUE 대기) */
+    void deferClaim(long jobId, Duration recheck) throws Exception;
+
+    /**
+     * 다음 Job이 선점 가능해질 때까지 남은 시간 (DB 시계 기준, 이미 due면 0 이하).
+     * 활성 Job이 없으면 empty. 선점 중인 Job은 NEXT_DUE_AT과 LEASE_UNTIL 중 늦은 쪽 기준
+     */
+    Optional<Duration> timeUntilNextDue() throws Exception;
+
+    /** UPDATED_AT >= since 인 Job 전부 (비활성 포함, UPDATED_AT 오름차순) — 스케줄 증분 동기화용 */
+    List<Job> findUpdatedSince(Instant since) throws Exception;
     Optional<Job> findById(long id) throws Exception;
     Optional<Job> findByName(String name) throws Exception;
     void save(Job job) throws Exception; // 생성/업데이트(필요 시)
 
+    /** 기존 Job의 PRIORITY는 유지 (신규는 0) */
+    default Job upsert(String name,
+                       String description,
+                       String cronExpr,
+                       Instant nextDueAt,
+                       boolean enabled) throws Exception {
+        return upsert(name, description, cronExpr, nextDueAt, enabled, null);
+    }
+
+    /** priority: Job 기본 우선순위 (TaskRun 우선순위 = Task + Job/JobRun), null이면 유지 */
     Job upsert(String name,
                String description,
                String cronExpr,
                Instant nextDueAt,
-               boolean enabled) throws Exception;
+               boolean enabled,
+               Integer priority) throws Exception;
+
+    /**
+     * 공정 분배 설정: shareGroup = 테넌트/네임스페이스 (null = Job 이름 단독 그룹), shareWeight = 몫 (> 0).
+     * 진행 중인 READY에도 다음 선점부터 바로 반영
+     */
+    void updateShare(long jobId, String shareGroup, int shareWeight) throws Exception;
+
+    /**
+     * 겹침 정책: 진행 중 JobRun이 maxConcurrentRuns (> 0)에 도달하면 새 슬롯을 policy대로 처리.
+     * ALLOW면 maxConcurrentRuns는 무시. 다음 틱부터 반영
+     */
+    void updateOverlap(long jobId, Job.OverlapPolicy policy, int maxConcurrentRuns) throws Exception;
 
     default Job upsert(String name,
                        String description,
@@ -2,13 +2,39 @@ package net.majide.core.spi;
 
 import net.majide.core.model.JobRun;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 public interface JobRunRepository {
-    JobRun upsert(long jobId, String runKey, JobRun.Status initialStatus) throws Exception;
+    default JobRun upsert(long jobId, String runKey, JobRun.Status initialStatus) throws Exception {
+        return upsert(jobId, runKey, initialStatus, null);
+    }
+
+    /** priority: 이 실행의 TaskRun 우선순위(Job 기본값 대신). null이면 Job 기본값, 이미 있으면 지정 시에만 갱신 */
+    JobRun upsert(long jobId, String runKey, JobRun.Status initialStatus, Integer priority) throws Exception;
 
     Optional<JobRun> findByJobAndRunKey(long jobId, String runKey) throws Exception;
 
     void markStarted(long jobRunId) throws Exception;
     void markFinished(long jobRunId, boolean success) throws Exception; // DONE/FAILED 중 택
+
+    /**
+     * 준비가 누락된 JobRun 선점(FOR UPDATE SKIP LOCKED): CREATED이고 생성 후 grace가 지났는데
+     * TaskRun이 하나도 없는 것 (태스크 없는 Job 제외). 비동기 준비 중 장애 복구용
+     */
+    List<JobRun> claimUnprepared(Duration grace, int limit) throws Exception;
+
+    /**
+     * Job의 진행 중 JobRun (오래된 순, exceptRunKey 제외): 끝나지 않은 상태이고
+     * BLOCKED/READY/RUNNING TaskRun이 남았거나 아직 준비 전(DEADLINE_AT 전, TaskRun 없음)인 것
+     */
+    List<JobRun> findActive(long jobId, String exceptRunKey) throws Exception;
+
+    /**
+     * JobRun 취소: CANCELLED 전환 + 남은 BLOCKED/READY/RUNNING TaskRun도 CANCELLED.
+     * 실행 중이던 워커의 완료/재시도는 이후 반영되지 않음
+     * @return 취소한 TaskRun 수
+     */
+    int cancel(long jobRunId) throws Exception;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package net.majide.core.spi;
+
+import net.majide.core.model.RateLimit;
+
+import java.util.List;
+
+/**
+ * handlerKey별 토큰 버킷 (TB_RATE_LIMIT). 보충은 타임스탬프로 지연 계산.
+ * 노드는 take로 토큰을 묶음으로 가져가 로컬에서 쓰고, 못 쓴 것은 refund로 돌려줌 (HandlerRateLimiter)
+ */
+public interface RateLimitRepository {
+    /** 정의(멱등): 새로 만들면 버킷을 가득 채움, 기존 버킷은 잔량을 새 burst에서 자름 */
+    void define(String handlerKey, double permitsPerSecond, int burst) throws Exception;
+
+    List<RateLimit> findAll() throws Exception;
+
+    /** 보충 후 최대 wanted개를 가져감 (행 락은 이 호출 동안만) @return 받은 토큰 수 (정의 없으면 0) */
+    int take(String handlerKey, int wanted) throws Exception;
+
+    /** 쓰지 않은 토큰 반납 (burst에서 자름) */
+    void refund(String handlerKey, int tokens) throws Exception;
+}
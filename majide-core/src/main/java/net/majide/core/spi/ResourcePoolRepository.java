@@ -0,0 +1,17 @@
+package net.majide.core.spi;
+
+/**
+ * 리소스 풀 = 클러스터 전역 세마포어 (TB_RESOURCE_POOL / TB_RESOURCE_PERMIT).
+ * 퍼밋은 선점(claimReadyBatch, ClaimSpec.resourcePools)에서 TaskRun과 함께 임차되고,
+ * TaskRun이 RUNNING을 벗어나거나 퍼밋 lease가 만료되면 자동으로 빈 자리가 됨
+ */
+public interface ResourcePoolRepository {
+    /**
+     * 풀 정의(멱등): 퍼밋 행을 0..maxPermits-1로 맞춤.
+     * 줄이면 비어 있는 초과 퍼밋만 삭제 — 보유 중인 초과 퍼밋은 그 실행이 끝날 때까지 inUse에 남고(은퇴) 다시 임차되지 않음
+     */
+    void define(String pool, int maxPermits) throws Exception;
+
+    /** 현재 보유 중인 퍼밋 수 */
+    int inUse(String pool) throws Exception;
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 
 public interface TaskRepository {
+    Optional<Task> findById(long id) throws Exception;
     Optional<Task> findByJobAndName(long jobId, String taskName) throws Exception;
     List<Task> findAllByJob(long jobId) throws Exception;
 
@@ -4,20 +4,99 @@ import net.majide.core.model.TaskRun;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface TaskRunRepository {
+    /** 완료 시 선점 소유권을 잃었음 (다시 큐잉되었거나 재선점/취소됨) → 상태 전이/후행 전파 없음 */
+    int LOST_CLAIM = -1;
+
     /** READY + available_at<=now 중 하나를 선점(RUNNING 전환, lease_until 설정) */
     Optional<TaskRun> claimReady(Duration lease, String workerToken) throws Exception;
 
-    /** 하트비트: lease 연장 */
+    /**
+     * READY + available_at<=now 중 최대 n개를 한 번에 선점(RUNNING 전환, lease_until 설정).
+     * 락이 걸린 행은 건너뛰므로 n개 미만이 반환될 수 있음.
+     */
+    default List<TaskRun> claimReadyBatch(int n, Duration lease, String workerToken) throws Exception {
+        return claimReadyBatch(ClaimSpec.of(n, lease, workerToken));
+    }
+
+    /**
+     * 조건부 배치 선점 (handlerKeys 필터 등).
+     * 기본 구현은 claimReady 반복 — 조건(필터/한도/슬롯/공정 분배/리소스 풀)을 못 지키므로 하나라도 걸려 있으면
+     * 조용히 무시하지 않고 UnsupportedOperationException. 어댑터에서 집합 기반으로 재정의 권장.
+     */
+    default List<TaskRun> claimReadyBatch(ClaimSpec spec) throws Exception {
+        List<String> unsupported = new ArrayList<>();
+        if (spec.filtersHandlers() || spec.methodBound()) unsupported.add("handlerKeys/methodBound");
+        if (spec.capsHandlers()) unsupported.add("handlerCaps");
+        if (spec.workerId() != null || spec.partitioned()) unsupported.add("workerId/partitioned");
+        if (spec.leaseModel() == ClaimSpec.LeaseModel.SLOT) unsupported.add("leaseModel=SLOT");
+        if (spec.fairShared()) unsupported.add("fairShare");
+        if (spec.resourcePools()) unsupported.add("resourcePools");
+        if (!unsupported.isEmpty()) {
+            throw new UnsupportedOperationException(unsupported + " not supported by " + getClass().getName());
+        }
+        List<TaskRun> out = new ArrayList<>(Math.max(spec.maxCount(), 0));
+        for (int i = 0; i < spec.maxCount(); i++) {
+            var picked = claimReady(spec.lease(), spec.workerToken());
+            if (picked.isEmpty()) break;
+            out.add(picked.get());
+        }
+        return out;
+    }
+
+    /** 가장 이른 READY TaskRun의 available_at까지 남은 시간 (DB 시계 기준, 이미 가용이면 0 이하). 없으면 empty */
+    Optional<Duration> timeUntilNextReady() throws Exception;
+
+    /**
+     * 핸들러 필터(claimReadyBatch와 같은 조건)를 건 timeUntilNextReady (handlerKeys null = 전체).
+     * 기본 구현은 필터 없이 — 일찍 깨어날 뿐 일감을 놓치지는 않음
+     */
+    default Optional<Duration> timeUntilNextReady(Set<String> handlerKeys, boolean methodBound) throws Exception {
+        return timeUntilNextReady();
+    }
+
+    /**
+     * 선점했지만 실행하지 않은 TaskRun을 READY로 되돌림 (attempt 유지, lease/슬롯 해제).
+     * markDone/failAndRetry와 같은 소유권 조건(RUNNING + 같은 ATTEMPT/CLAIMED_BY)인 행만 =
+     * 만료 복구 후 다시 잡힌 행은 건드리지 않음 (하트비트로 lease가 연장된 행은 그대로 반납)
+     * @return 되돌린 행 수
+     */
+    int releaseClaims(List<TaskRun> claimed, String workerToken) throws Exception;
+
+    /** 하트비트: lease 연장 (슬롯 lease 상속분(LEASE_UNTIL NULL)은 건드리지 않음) */
     void heartbeat(long taskRunId, Duration lease) throws Exception;
 
     void markDone(long taskRunId) throws Exception;
 
-    /** 실패 후 백오프 재시도: READY로 되돌리고 available_at = now + backoff, attempt++ */
-    void retryWithBackoff(long taskRunId, Duration backoff, String lastError) throws Exception;
+    /**
+     * 완료 + 후행 전파를 한 번에: DONE 전환 후 같은 JobRun의 후행(TB_TASK_DEP) DONE_CNT++,
+     * 충족(DONE_CNT >= PRE_CNT)된 BLOCKED는 READY 승격(available_at=now).
+     * 선점 당시 그대로(RUNNING + 같은 attempt + workerToken으로 선점)인 행만 완료 — 늦게 끝난 옛 실행이
+     * 다시 큐잉/재선점된 행을 끝내거나 후행을 일찍 풀지 않도록 (중복 완료도 같은 이유로 무시)
+     * @return DONE_CNT를 올린 후행 수 (소유권을 잃었으면 LOST_CLAIM)
+     */
+    int markDoneAndCascade(long taskRunId, String workerToken, long attempt) throws Exception;
+
+    /**
+     * 지연 생성 모드의 완료: DONE 전환 후, 같은 JobRun에서 선행이 모두 DONE이 된 후행을
+     * READY 행으로 바로 생성 (이미 있는 후행 행은 markDoneAndCascade와 같이 전파).
+     * 같은 JobRun의 완료는 직렬화되어 동시 완료에도 후행이 정확히 한 번 생성됨.
+     * 소유권 조건은 markDoneAndCascade와 같음
+     * @return 전파/생성된 후행 수 (소유권을 잃었으면 LOST_CLAIM)
+     */
+    int markDoneAndMaterialize(long taskRunId, String workerToken, long attempt) throws Exception;
+
+    /**
+     * 실패 후 백오프 재시도: READY로 되돌리고 available_at = now + backoff, attempt++ (소유권 조건은 완료와 같음)
+     * @return 되돌렸으면 true (소유권을 잃었으면 false)
+     */
+    boolean retryWithBackoff(long taskRunId, String workerToken, long attempt, Duration backoff, String lastError) throws Exception;
 
     /** 선행 완료 반영: doneCnt 증가 → preCnt 도달 시 READY 승격(available_at=now) */
     void incrementDoneCount(long taskRunId) throws Exception;
@@ -28,8 +107,29 @@ public interface TaskRunRepository {
     /**  멱등 생성/초기화: preCnt=given, doneCnt=0, status=BLOCKED, available_at=NULL, attempt=1 */
     void createOrReset(long jobRunId, long taskId, int preCnt, TaskRun.Status status, Instant available) throws Exception;
 
+    /**
+     * Job의 모든 태스크에 대해 TaskRun을 집합 단위로 멱등 생성/초기화.
+     * preCnt = 선행 간선 수, 0이면 READY(available_at=now) 아니면 BLOCKED
+     * @return 생성/초기화된 행 수
+     */
+    int createAllForJobRun(long jobRunId, long jobId) throws Exception;
+
+    /** 지연 생성 모드: 선행 없는 루트 태스크만 READY로 멱등 생성 */
+    int createRootsForJobRun(long jobRunId, long jobId) throws Exception;
+
+    /**
+     * JobRun의 TaskRun별 순서 키 지정 (taskId → key, null = 제약 해제). 생성 시 복사된 Task.orderingKey를 덮어씀.
+     * 아직 선점 전(BLOCKED/READY)인 행만 — 실행 중/끝난 행과 아직 생성되지 않은 행(LAZY 후행)은 건너뜀
+     * @return 바뀐 행 수
+     */
+    int assignOrderingKeys(long jobRunId, Map<Long, String> keysByTask) throws Exception;
+
     // ★ Maintenance용 (추가)
-    /** lease_until 만료된 RUNNING을 READY로 되돌리고 available_at=now, attempt+1, last_error 세팅 */
+    /**
+     * 죽은 RUNNING을 READY로 되돌리고 available_at=now+backoff, attempt+1, last_error 세팅.
+     * - 태스크 lease: lease_until 만료
+     * - 슬롯 lease 상속(lease_until NULL): WORKER_ID 슬롯이 미임차/만료 (또는 WORKER_ID 없음)
+     */
     int recoverExpiredLeases(Duration backoff, String reason) throws Exception;
 
     /** BLOCKED인데 doneCnt >= preCnt인 태스크를 READY로 승격(available_at=now) */
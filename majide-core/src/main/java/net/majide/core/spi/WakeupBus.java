@@ -0,0 +1,24 @@
+package net.majide.core.spi;
+
+/**
+ * 새 작업(READY 승격/생성, 실행 슬롯 반납) 알림 버스: 구독 중인 디스패치 루프를 다음 폴링 전에 깨운다.
+ * 알림은 best-effort — 유실돼도 폴링(다음 NEXT_DUE_AT/AVAILABLE_AT 대기)이 보정.
+ * 기본은 같은 JVM 안에서만 전달, 노드 간 전달은 별도 구현으로 교체
+ */
+public interface WakeupBus {
+    /** 알림 없음 (폴링만) */
+    WakeupBus NOOP = new WakeupBus() {
+        @Override public void publish() { }
+        @Override public Subscription subscribe(Runnable listener) { return () -> { }; }
+    };
+
+    /** 상태 전이가 커밋된 뒤 호출. 구독자가 없으면 무시 */
+    void publish();
+
+    Subscription subscribe(Runnable listener);
+
+    interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
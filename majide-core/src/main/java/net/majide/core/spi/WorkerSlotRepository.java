@@ -10,9 +10,14 @@ public interface WorkerSlotRepository {
 
     void heartbeat(int workerId, String token, Duration lease) throws Exception;       // 연장
 
-    void release(int workerId, String token) throws Exception;                         // 반납
+    /** 반납 (토큰 일치 시에만). 같은 패스에서 이 슬롯 lease를 상속한 RUNNING TaskRun(LEASE_UNTIL NULL)을 READY(attempt+1)로 재노출 */
+    void release(int workerId, String token) throws Exception;
 
-    /** lease_until 지난 슬롯 회수(instance_token/lease_until NULL) */
+    /**
+     * lease_until 지난 슬롯 회수(instance_token/lease_until NULL).
+     * 같은 패스에서 그 슬롯(WORKER_ID)이 선점해 둔 RUNNING TaskRun을 READY(attempt+1)로 재노출
+     * @return 회수한 슬롯 수
+     */
     int reclaimExpired() throws Exception;                                             // 만료 회수(옵션)
 
     Optional<WorkerSlot> findById(int workerId) throws Exception;
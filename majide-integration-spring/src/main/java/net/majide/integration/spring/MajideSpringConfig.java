@@ -4,6 +4,7 @@ import net.majide.adapter.jdbc.repo.*;
 import net.majide.core.spi.*;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 import javax.sql.DataSource;
 
@@ -17,12 +18,14 @@ public class MajideSpringConfig {
         return new net.majide.integration.spring.tx.SpringTxRunner(tm, ds);
     }
     // Repository 구현 등록 (adapter-jdbc 재사용)
-    @Bean public JobRepository jobRepository(DataSource ds) { return new JdbcJobRepository(ds); }
+    @Bean @Primary public JobRepository jobRepository(DataSource ds) { return new JdbcJobRepository(ds); } // 틱 전용 데코레이터와 구분
     @Bean public JobRunRepository jobRunRepository(DataSource ds) { return new JdbcJobRunRepository(ds); }
     @Bean public TaskRepository taskRepository(DataSource ds) { return new JdbcTaskRepository(ds); }
     @Bean public TaskDependencyRepository taskDependencyRepository(DataSource ds) { return new JdbcTaskDependencyRepository(ds); }
     @Bean public TaskRunRepository taskRunRepository(DataSource ds) { return new JdbcTaskRunRepository(ds); }
     @Bean public WorkerSlotRepository workerSlotRepository(DataSource ds) { return new JdbcWorkerSlotRepository(ds); }
+    @Bean public ResourcePoolRepository resourcePoolRepository(DataSource ds) { return new JdbcResourcePoolRepository(ds); }
+    @Bean public RateLimitRepository rateLimitRepository(DataSource ds) { return new JdbcRateLimitRepository(ds); }
 
     // Clock/CronCalculator는 앱에서 주입하거나, 기본 구현 빈을 여기서 제공해도 됨.
     // 예: 기본 Clock
@@ -15,6 +15,7 @@ public class MajideSchedulers {
     private int maxClaims = 10;
     private Duration maintBackoff = Duration.ofSeconds(10);
     private Duration finishedTtl = Duration.ofDays(30);
+    private boolean tickEnabled = true; // false = 디스패치는 DispatchLoop 몫, 유지보수만 수행
 
     public MajideSchedulers(Orchestrator orchestrator, MaintenanceService maintenance) {
         this.orchestrator = orchestrator;
@@ -24,6 +25,7 @@ public class MajideSchedulers {
     // TODO.. <-- add logics ..
     @Scheduled(fixedDelayString = "${majide.scheduler.tick-delay-ms:3000}")
     public void tick() throws Exception {
+        if (!tickEnabled) return;
         orchestrator.tick(jobLease, taskLease, maxClaims);
     }
 
@@ -51,4 +53,8 @@ public class MajideSchedulers {
     public void setFinishedTtl(Duration finishedTtl) {
         this.finishedTtl = finishedTtl;
     }
+
+    public void setTickEnabled(boolean tickEnabled) {
+        this.tickEnabled = tickEnabled;
+    }
 }